@@ -12,6 +12,8 @@ import io.tatum.utils.BaseUrl;
 import java.io.IOException;
 import java.util.concurrent.ExecutionException;
 
+import static io.tatum.constants.Constant.UTXO_SPENT_ERROR_CODE;
+
 /**
  * The type Bitcoin.
  */
@@ -84,6 +86,21 @@ public final class Bitcoin {
         return Async.get(uri, BtcUTXO.class);
     }
 
+    /**
+     * Whether the transaction output is unspent. A spent or unknown output is reported as false,
+     * any other failure of the API fails instead.
+     *
+     * @param hash the hash
+     * @param i    the index of the output
+     * @return the boolean
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public boolean btcIsUTXOUnspent(String hash, long i) throws ExecutionException, InterruptedException {
+        String uri = BaseUrl.getInstance().getUrl() + "/v3/bitcoin/utxo/" + hash + "/" + i;
+        return Async.exists(uri, UTXO_SPENT_ERROR_CODE);
+    }
+
     /**
      * For more details, see <a href="https://tatum.io/apidoc#operation/BtcGetRawTransaction" target="_blank">Tatum API documentation</a>
      *
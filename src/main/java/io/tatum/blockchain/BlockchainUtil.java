@@ -1,11 +1,15 @@
 package io.tatum.blockchain;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.tatum.model.request.Currency;
+import io.tatum.model.response.common.BlockchainFee;
 import io.tatum.model.response.common.TransactionHash;
 import io.tatum.utils.Async;
+import io.tatum.utils.BaseUrl;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 /**
@@ -25,6 +29,19 @@ public class BlockchainUtil {
      * @throws InterruptedException the interrupted exception
      */
     public static TransactionHash broadcast (String uri, String txData, String signatureId) throws IOException, ExecutionException, InterruptedException {
+        return broadcastAsync(uri, txData, signatureId).get();
+    }
+
+    /**
+     * Broadcast without waiting for the response. The request is issued before the method returns.
+     *
+     * @param uri         the uri
+     * @param txData      the tx data
+     * @param signatureId the signature id
+     * @return the transaction hash, completed with null if the broadcast was rejected
+     * @throws IOException the io exception
+     */
+    public static CompletableFuture<TransactionHash> broadcastAsync(String uri, String txData, String signatureId) throws IOException {
         var values = new HashMap<String, String>() {{
             put("txData", txData);
         }};
@@ -34,7 +51,19 @@ public class BlockchainUtil {
 
         var objectMapper = new ObjectMapper();
         String requestBody = objectMapper.writeValueAsString(values);
-        return Async.post(uri, requestBody, TransactionHash.class);
+        return Async.postAsync(uri, requestBody, TransactionHash.class);
     }
 
+    /**
+     * For more details, see <a href="https://tatum.io/apidoc#operation/GetBlockchainFee" target="_blank">Tatum API documentation</a>
+     *
+     * @param chain the chain
+     * @return the recommended fee rates
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public static BlockchainFee getBlockchainFee(Currency chain) throws ExecutionException, InterruptedException {
+        String uri = BaseUrl.getInstance().getUrl() + "/v3/blockchain/fee/" + chain.getCurrency();
+        return Async.get(uri, BlockchainFee.class);
+    }
 }
@@ -0,0 +1,458 @@
+package io.tatum.blockchain;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.tatum.model.request.Currency;
+import io.tatum.model.response.btc.BtcBlock;
+import io.tatum.model.response.btc.BtcInfo;
+import io.tatum.model.response.btc.BtcTx;
+import io.tatum.model.response.common.BlockHash;
+import io.tatum.model.response.common.Confirmation;
+import io.tatum.model.response.eth.EthBlock;
+import io.tatum.model.response.eth.EthTx;
+import io.tatum.model.response.tron.TronBlock;
+import io.tatum.model.response.tron.TronInfo;
+import io.tatum.model.response.tron.TronTransaction;
+import io.tatum.model.response.vet.VetBlock;
+import io.tatum.model.response.vet.VetTxReceipt;
+import lombok.extern.log4j.Log4j2;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks pending transactions of several chains until they reach the requested number of confirmations.
+ * <p>
+ * All registered transactions are driven from one scheduler. On every tick the current block of each chain
+ * is read once and new blocks are scanned for the pending hashes. Transactions which are not found that way,
+ * e.g. because they were mined before they were registered, are looked up one by one with an exponential backoff.
+ * Before a transaction is reported confirmed, its block is read again; a transaction which left the block
+ * in a reorganization is searched for again.
+ */
+@Log4j2
+public class ConfirmationTracker implements AutoCloseable {
+
+    /**
+     * The constant DEFAULT_TICK_MILLIS.
+     */
+    public static final long DEFAULT_TICK_MILLIS = 3000;
+
+    /**
+     * The constant DEFAULT_MAX_BLOCKS_PER_TICK. If more blocks were produced since the last tick,
+     * they are not scanned and the pending transactions are looked up one by one instead.
+     */
+    public static final int DEFAULT_MAX_BLOCKS_PER_TICK = 10;
+
+    /**
+     * The constant MIN_POLL_MILLIS.
+     */
+    public static final long MIN_POLL_MILLIS = 5000;
+
+    /**
+     * The constant MAX_POLL_MILLIS.
+     */
+    public static final long MAX_POLL_MILLIS = 5 * 60 * 1000;
+
+    private final Map<Currency, ChainState> chains = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final int maxBlocksPerTick;
+
+    /**
+     * Instantiates a new Confirmation tracker with sources for BTC, ETH, VET and TRON.
+     */
+    public ConfirmationTracker() {
+        this(DEFAULT_TICK_MILLIS, DEFAULT_MAX_BLOCKS_PER_TICK);
+        register(Currency.BTC, btc(new Bitcoin()));
+        register(Currency.ETH, eth(new Ethereum()));
+        register(Currency.VET, vet(new VET()));
+        register(Currency.TRON, tron(new Tron()));
+    }
+
+    /**
+     * Instantiates a new Confirmation tracker without any chain source.
+     *
+     * @param tickMillis       the interval between two ticks
+     * @param maxBlocksPerTick the maximum number of new blocks scanned per chain and tick
+     */
+    public ConfirmationTracker(long tickMillis, int maxBlocksPerTick) {
+        this.maxBlocksPerTick = maxBlocksPerTick;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("confirmation-tracker-%d").setDaemon(true).build());
+        this.scheduler.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Register the source of blockchain data for the chain.
+     *
+     * @param chain  the chain
+     * @param source the source
+     */
+    public void register(Currency chain, ChainSource source) {
+        chains.put(chain, new ChainState(chain, source));
+    }
+
+    /**
+     * Track the transaction until it reaches the requested number of confirmations.
+     * Inclusion in a block counts as the first confirmation.
+     *
+     * @param chain         the chain
+     * @param hash          the transaction hash
+     * @param confirmations the number of confirmations
+     * @return the future completed once the transaction is deep enough
+     */
+    public CompletableFuture<Confirmation> track(Currency chain, String hash, int confirmations) {
+        ChainState state = chains.get(chain);
+        if (state == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Unsupported chain " + chain));
+        }
+        Pending pending = state.pending.computeIfAbsent(normalize(hash),
+                key -> new Pending(hash, Math.max(confirmations, 1)));
+        return pending.future;
+    }
+
+    /**
+     * Stop tracking the transaction, its future is cancelled.
+     *
+     * @param chain the chain
+     * @param hash  the transaction hash
+     */
+    public void untrack(Currency chain, String hash) {
+        ChainState state = chains.get(chain);
+        if (state != null) {
+            Pending pending = state.pending.remove(normalize(hash));
+            if (pending != null) {
+                pending.future.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Number of transactions still being tracked.
+     *
+     * @return the int
+     */
+    public int size() {
+        return chains.values().stream().mapToInt(state -> state.pending.size()).sum();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Run one tick for all chains. Called by the scheduler.
+     */
+    void tick() {
+        long now = System.currentTimeMillis();
+        for (ChainState state : chains.values()) {
+            try {
+                state.tick(now);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unable to track " + state.chain + " transactions: " + e.getMessage());
+            }
+        }
+    }
+
+    private static String normalize(String hash) {
+        String lower = hash.toLowerCase();
+        return lower.startsWith("0x") ? lower.substring(2) : lower;
+    }
+
+    private class ChainState {
+        private final Currency chain;
+        private final ChainSource source;
+        private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+        private long scannedHeight = -1;
+
+        private ChainState(Currency chain, ChainSource source) {
+            this.chain = chain;
+            this.source = source;
+        }
+
+        private void tick(long now) throws ExecutionException, InterruptedException {
+            if (pending.isEmpty()) {
+                scannedHeight = -1;
+                return;
+            }
+
+            long tip = source.currentHeight();
+            if (scannedHeight >= 0 && tip - scannedHeight > maxBlocksPerTick) {
+                // skipped blocks are not scanned, look the transactions up directly instead
+                pending.values().forEach(p -> p.nextPollAt = now);
+            }
+            if (scannedHeight < 0 || tip - scannedHeight > maxBlocksPerTick) {
+                scannedHeight = tip - 1;
+            }
+            for (long height = scannedHeight + 1; height <= tip; height++) {
+                for (String hash : source.blockTransactions(height)) {
+                    Pending p = hash != null ? pending.get(normalize(hash)) : null;
+                    if (p != null && p.blockNumber < 0) {
+                        p.blockNumber = height;
+                    }
+                }
+                scannedHeight = height;
+            }
+
+            for (Map.Entry<String, Pending> entry : pending.entrySet()) {
+                Pending p = entry.getValue();
+                if (p.future.isDone()) {
+                    pending.remove(entry.getKey());
+                    continue;
+                }
+                if (p.blockNumber < 0 && now >= p.nextPollAt) {
+                    Long height = source.transactionHeight(p.hash);
+                    if (height != null && height >= 0) {
+                        p.blockNumber = height;
+                    } else {
+                        p.nextPollAt = now + p.backoff;
+                        p.backoff = Math.min(p.backoff * 2, MAX_POLL_MILLIS);
+                    }
+                }
+                if (p.blockNumber >= 0) {
+                    long confirmations = tip - p.blockNumber + 1;
+                    if (confirmations < p.confirmations) {
+                        continue;
+                    }
+                    if (!includes(p.blockNumber, entry.getKey())) {
+                        // the block was reorganized away, find the transaction again
+                        log.warn("{} transaction {} left block {}.", chain, p.hash, p.blockNumber);
+                        p.blockNumber = -1;
+                        p.nextPollAt = now;
+                        p.backoff = MIN_POLL_MILLIS;
+                        continue;
+                    }
+                    pending.remove(entry.getKey());
+                    p.future.complete(new Confirmation(chain, p.hash, p.blockNumber, confirmations));
+                }
+            }
+        }
+
+        private boolean includes(long height, String hash) throws ExecutionException, InterruptedException {
+            for (String included : source.blockTransactions(height)) {
+                if (included != null && normalize(included).equals(hash)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static class Pending {
+        private final String hash;
+        private final int confirmations;
+        private final CompletableFuture<Confirmation> future = new CompletableFuture<>();
+        private long blockNumber = -1;
+        private long nextPollAt;
+        private long backoff = MIN_POLL_MILLIS;
+
+        private Pending(String hash, int confirmations) {
+            this.hash = hash;
+            this.confirmations = confirmations;
+        }
+    }
+
+    /**
+     * Source of blockchain data for one chain.
+     */
+    public interface ChainSource {
+
+        /**
+         * Current block height of the chain.
+         *
+         * @return the long
+         * @throws ExecutionException   the execution exception
+         * @throws InterruptedException the interrupted exception
+         */
+        long currentHeight() throws ExecutionException, InterruptedException;
+
+        /**
+         * Hashes of the transactions in the block.
+         *
+         * @param height the height
+         * @return the collection
+         * @throws ExecutionException   the execution exception
+         * @throws InterruptedException the interrupted exception
+         */
+        Collection<String> blockTransactions(long height) throws ExecutionException, InterruptedException;
+
+        /**
+         * Height of the block which includes the transaction.
+         *
+         * @param hash the hash
+         * @return the height, null if the transaction is not in a block yet
+         * @throws ExecutionException   the execution exception
+         * @throws InterruptedException the interrupted exception
+         */
+        Long transactionHeight(String hash) throws ExecutionException, InterruptedException;
+    }
+
+    /**
+     * Bitcoin chain source.
+     *
+     * @param bitcoin the bitcoin
+     * @return the chain source
+     */
+    public static ChainSource btc(Bitcoin bitcoin) {
+        return new ChainSource() {
+            @Override
+            public long currentHeight() throws ExecutionException, InterruptedException {
+                BtcInfo info = bitcoin.btcGetCurrentBlock();
+                if (info == null) {
+                    throw new ExecutionException(new IllegalStateException("Unable to get current BTC block."));
+                }
+                return info.getBlocks();
+            }
+
+            @Override
+            public Collection<String> blockTransactions(long height) throws ExecutionException, InterruptedException {
+                BlockHash hash = bitcoin.btcGetBlockHash(height);
+                BtcBlock block = hash != null ? bitcoin.btcGetBlock(hash.getHash()) : null;
+                if (block == null || block.getTxs() == null) {
+                    return Collections.emptySet();
+                }
+                Set<String> result = new HashSet<>();
+                for (BtcTx tx : block.getTxs()) {
+                    result.add(tx.getHash());
+                }
+                return result;
+            }
+
+            @Override
+            public Long transactionHeight(String hash) throws ExecutionException, InterruptedException {
+                BtcTx tx = bitcoin.btcGetTransaction(hash);
+                return tx != null && tx.getHeight() > 0 ? tx.getHeight() : null;
+            }
+        };
+    }
+
+    /**
+     * Ethereum chain source.
+     *
+     * @param ethereum the ethereum
+     * @return the chain source
+     */
+    public static ChainSource eth(Ethereum ethereum) {
+        return new ChainSource() {
+            @Override
+            public long currentHeight() throws ExecutionException, InterruptedException {
+                BigDecimal current = ethereum.ethGetCurrentBlock();
+                if (current == null) {
+                    throw new ExecutionException(new IllegalStateException("Unable to get current ETH block."));
+                }
+                return current.longValue();
+            }
+
+            @Override
+            public Collection<String> blockTransactions(long height) throws ExecutionException, InterruptedException {
+                EthBlock block = ethereum.ethGetBlock(String.valueOf(height));
+                if (block == null || block.getTransactions() == null) {
+                    return Collections.emptySet();
+                }
+                Set<String> result = new HashSet<>();
+                for (EthTx tx : block.getTransactions()) {
+                    result.add(tx.getTransactionHash());
+                }
+                return result;
+            }
+
+            @Override
+            public Long transactionHeight(String hash) throws ExecutionException, InterruptedException {
+                EthTx tx = ethereum.ethGetTransaction(hash);
+                return tx != null && tx.getBlockNumber() != null ? tx.getBlockNumber().longValue() : null;
+            }
+        };
+    }
+
+    /**
+     * VeChain chain source.
+     *
+     * @param vet the vet
+     * @return the chain source
+     */
+    public static ChainSource vet(VET vet) {
+        return new ChainSource() {
+            @Override
+            public long currentHeight() throws ExecutionException, InterruptedException {
+                BigInteger current = vet.vetGetCurrentBlock();
+                if (current == null) {
+                    throw new ExecutionException(new IllegalStateException("Unable to get current VET block."));
+                }
+                return current.longValue();
+            }
+
+            @Override
+            public Collection<String> blockTransactions(long height) throws ExecutionException, InterruptedException {
+                VetBlock block = vet.vetGetBlock(String.valueOf(height));
+                if (block == null || block.getTransactions() == null) {
+                    return Collections.emptySet();
+                }
+                return new HashSet<>(Arrays.asList(block.getTransactions()));
+            }
+
+            @Override
+            public Long transactionHeight(String hash) throws ExecutionException, InterruptedException {
+                VetTxReceipt receipt = vet.vetGetTransactionReceipt(hash);
+                if (receipt == null) {
+                    return null;
+                }
+                if (receipt.getMeta() != null && receipt.getMeta().getBlockNumber() != null) {
+                    return receipt.getMeta().getBlockNumber().longValue();
+                }
+                return receipt.getBlockNumber() != null ? receipt.getBlockNumber().longValue() : null;
+            }
+        };
+    }
+
+    /**
+     * Tron chain source.
+     *
+     * @param tron the tron
+     * @return the chain source
+     */
+    public static ChainSource tron(Tron tron) {
+        return new ChainSource() {
+            @Override
+            public long currentHeight() throws ExecutionException, InterruptedException {
+                TronInfo info = tron.tronGetCurrentBlock();
+                if (info == null) {
+                    throw new ExecutionException(new IllegalStateException("Unable to get current TRON block."));
+                }
+                return info.getBlockNumber();
+            }
+
+            @Override
+            public Collection<String> blockTransactions(long height) throws ExecutionException, InterruptedException {
+                TronBlock block = tron.tronGetBlock(String.valueOf(height));
+                if (block == null || block.getTransactions() == null) {
+                    return Collections.emptySet();
+                }
+                Set<String> result = new HashSet<>();
+                for (TronTransaction tx : block.getTransactions()) {
+                    result.add(tx.getTxID());
+                }
+                return result;
+            }
+
+            @Override
+            public Long transactionHeight(String hash) throws ExecutionException, InterruptedException {
+                TronTransaction tx = tron.tronGetTransaction(hash);
+                return tx != null ? tx.getBlockNumber() : null;
+            }
+        };
+    }
+}
@@ -10,6 +10,7 @@ import io.tatum.utils.BaseUrl;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 /**
@@ -32,6 +33,20 @@ public final class Ethereum {
         return BlockchainUtil.broadcast(uri, txData, signatureId);
     }
 
+    /**
+     * Broadcast without waiting for the response. The request is issued before the method returns.
+     * For more details, see <a href="https://tatum.io/apidoc#operation/EthBroadcast" target="_blank">Tatum API documentation</a>
+     *
+     * @param txData      the tx data
+     * @param signatureId the signature id
+     * @return the transaction hash, completed with null if the broadcast was rejected
+     * @throws IOException the io exception
+     */
+    public CompletableFuture<TransactionHash> ethBroadcastAsync(final String txData, final String signatureId) throws IOException {
+        String uri = BaseUrl.getInstance().getUrl() + "/v3/ethereum/broadcast";
+        return BlockchainUtil.broadcastAsync(uri, txData, signatureId);
+    }
+
     /**
      * For more details, see <a href="https://tatum.io/apidoc#operation/EthGetTransactionCount" target="_blank">Tatum API documentation</a>
      *
@@ -13,6 +13,8 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.concurrent.ExecutionException;
 
+import static io.tatum.constants.Constant.UTXO_SPENT_ERROR_CODE;
+
 /**
  * The type Litecoin.
  */
@@ -85,6 +87,21 @@ public final class Litecoin {
         return Async.get(uri, LtcUTXO.class);
     }
 
+    /**
+     * Whether the transaction output is unspent. A spent or unknown output is reported as false,
+     * any other failure of the API fails instead.
+     *
+     * @param txHash the hash
+     * @param i      the index of the output
+     * @return the boolean
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public boolean ltcIsUTXOUnspent(String txHash, BigDecimal i) throws ExecutionException, InterruptedException {
+        String uri = BaseUrl.getInstance().getUrl() + "/v3/litecoin/utxo/" + txHash + "/" + i;
+        return Async.exists(uri, UTXO_SPENT_ERROR_CODE);
+    }
+
     /**
      * For more details, see <a href="https://tatum.io/apidoc#operation/LtcGetTxByAddress" target="_blank">Tatum API documentation</a>
      *
@@ -2,6 +2,8 @@ package io.tatum.blockchain;
 
 import io.tatum.model.response.common.TransactionHash;
 import io.tatum.model.response.xlm.Account;
+import io.tatum.model.response.xlm.XlmLedger;
+import io.tatum.model.response.xlm.XlmTx;
 import io.tatum.utils.Async;
 import io.tatum.utils.BaseUrl;
 
@@ -71,51 +73,51 @@ public class XLM {
      * For more details, see <a href="https://tatum.io/apidoc#operation/XlmGetLedger" target="_blank">Tatum API documentation</a>
      *
      * @param sequence the sequence
-     * @return the string
+     * @return the xlm ledger
      * @throws ExecutionException   the execution exception
      * @throws InterruptedException the interrupted exception
      */
-    public String xlmGetLedger(BigInteger sequence) throws ExecutionException, InterruptedException {
+    public XlmLedger xlmGetLedger(BigInteger sequence) throws ExecutionException, InterruptedException {
         String uri = BaseUrl.getInstance().getUrl() + "/v3/xlm/ledger/" + sequence;
-        return Async.get(uri);
+        return Async.get(uri, XlmLedger.class);
     }
 
     /**
      * For more details, see <a href="https://tatum.io/apidoc#operation/XlmGetLedgerTx" target="_blank">Tatum API documentation</a>
      *
      * @param sequence the sequence
-     * @return the string
+     * @return the xlm tx [ ]
      * @throws ExecutionException   the execution exception
      * @throws InterruptedException the interrupted exception
      */
-    public String xlmGetLedgerTx(BigDecimal sequence) throws ExecutionException, InterruptedException {
+    public XlmTx[] xlmGetLedgerTx(BigDecimal sequence) throws ExecutionException, InterruptedException {
         String uri = BaseUrl.getInstance().getUrl() + "/v3/xlm/ledger/" + sequence + "/transaction";
-        return Async.get(uri);
+        return Async.get(uri, XlmTx[].class);
     }
 
     /**
      * For more details, see <a href="https://tatum.io/apidoc#operation/XlmGetTransaction" target="_blank">Tatum API documentation</a>
      *
      * @param hash the hash
-     * @return the string
+     * @return the xlm tx
      * @throws ExecutionException   the execution exception
      * @throws InterruptedException the interrupted exception
      */
-    public String xlmGetTransaction(String hash) throws ExecutionException, InterruptedException {
+    public XlmTx xlmGetTransaction(String hash) throws ExecutionException, InterruptedException {
         String uri = BaseUrl.getInstance().getUrl() + "/v3/xlm/transaction/" + hash;
-        return Async.get(uri);
+        return Async.get(uri, XlmTx.class);
     }
 
     /**
      * For more details, see <a href="https://tatum.io/apidoc#operation/XlmGetAccountTx" target="_blank">Tatum API documentation</a>
      *
      * @param address the address
-     * @return the string
+     * @return the xlm tx [ ]
      * @throws ExecutionException   the execution exception
      * @throws InterruptedException the interrupted exception
      */
-    public String xlmGetAccountTransactions(String address) throws ExecutionException, InterruptedException {
+    public XlmTx[] xlmGetAccountTransactions(String address) throws ExecutionException, InterruptedException {
         String uri = BaseUrl.getInstance().getUrl() + "/v3/xlm/account/tx/" + address;
-        return Async.get(uri);
+        return Async.get(uri, XlmTx[].class);
     }
 }
@@ -2,8 +2,15 @@ package io.tatum.blockchain;
 
 import io.tatum.model.response.common.TransactionHash;
 import io.tatum.model.response.xrp.AccountData;
+import io.tatum.model.response.xrp.XrpAccountInfo;
+import io.tatum.model.response.xrp.XrpAccountTransactions;
+import io.tatum.model.response.xrp.XrpFee;
+import io.tatum.model.response.xrp.XrpLedger;
+import io.tatum.model.response.xrp.XrpMarker;
+import io.tatum.model.response.xrp.XrpTx;
 import io.tatum.utils.Async;
 import io.tatum.utils.BaseUrl;
+import io.tatum.utils.MapperFactory;
 import org.json.JSONObject;
 
 import java.io.IOException;
@@ -42,11 +49,9 @@ public class XRP {
      */
     public BigDecimal xrpGetFee() throws ExecutionException, InterruptedException {
         String uri = BaseUrl.getInstance().getUrl() + "/v3/xrp/fee";
-        var res = Async.get(uri);
-        if (res != null) {
-            JSONObject jsonObject = new JSONObject(res);
-            JSONObject drops = jsonObject.getJSONObject("drops");
-            return drops.getBigDecimal("base_fee");
+        XrpFee res = Async.get(uri, XrpFee.class);
+        if (res != null && res.getDrops() != null) {
+            return res.getDrops().getBaseFee();
         }
         return null;
     }
@@ -61,17 +66,15 @@ public class XRP {
      */
     public AccountData xrpGetAccountInfo(String address) throws ExecutionException, InterruptedException {
         String uri = BaseUrl.getInstance().getUrl() + "/v3/xrp/account/" + address;
-        var res = Async.get(uri);
-        if (res != null) {
+        XrpAccountInfo res = Async.get(uri, XrpAccountInfo.class);
+        if (res != null && res.getAccountData() != null) {
             AccountData accountData = new AccountData();
-            JSONObject jsonObject = new JSONObject(res);
-            JSONObject account_data = jsonObject.getJSONObject("account_data");
-            accountData.setSequence(account_data.getInt("Sequence"));
-            accountData.setLedgerCurrentIndex(jsonObject.getInt("ledger_current_index"));
-            accountData.setAccount(jsonObject.getString("Account"));
+            accountData.setSequence(res.getAccountData().getSequence());
+            accountData.setLedgerCurrentIndex(res.getLedgerCurrentIndex());
+            accountData.setAccount(res.getAccountData().getAccount());
             return accountData;
         }
-        return Async.get(uri, AccountData.class);
+        return null;
     }
 
     /**
@@ -95,13 +98,13 @@ public class XRP {
      * For more details, see <a href="https://tatum.io/apidoc#operation/XrpGetLedger" target="_blank">Tatum API documentation</a>
      *
      * @param ledgerIndex the ledger index
-     * @return the string
+     * @return the xrp ledger
      * @throws ExecutionException   the execution exception
      * @throws InterruptedException the interrupted exception
      */
-    public String xrpGetLedger(BigInteger ledgerIndex) throws ExecutionException, InterruptedException {
+    public XrpLedger xrpGetLedger(BigInteger ledgerIndex) throws ExecutionException, InterruptedException {
         String uri = BaseUrl.getInstance().getUrl() + "/v3/xrp/ledger/" + ledgerIndex;
-        return Async.get(uri);
+        return Async.get(uri, XrpLedger.class);
     }
 
     /**
@@ -126,13 +129,13 @@ public class XRP {
      * For more details, see <a href="https://tatum.io/apidoc#operation/XrpGetTransaction" target="_blank">Tatum API documentation</a>
      *
      * @param hash the hash
-     * @return the string
+     * @return the xrp tx
      * @throws ExecutionException   the execution exception
      * @throws InterruptedException the interrupted exception
      */
-    public String xrpGetTransaction(String hash) throws ExecutionException, InterruptedException {
+    public XrpTx xrpGetTransaction(String hash) throws ExecutionException, InterruptedException {
         String uri = BaseUrl.getInstance().getUrl() + "/v3/xrp/transaction/" + hash;
-        return Async.get(uri);
+        return Async.get(uri, XrpTx.class);
     }
 
     /**
@@ -141,14 +144,45 @@ public class XRP {
      * @param address the address
      * @param min     the min
      * @param marker  the marker
-     * @return the string
+     * @return the xrp account transactions
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public XrpAccountTransactions xrpGetAccountTransactions(String address, BigInteger min, String marker) throws ExecutionException, InterruptedException {
+        String uri = BaseUrl.getInstance().getUrl() + "/v3/xrp/account/tx/" + address + "?min=" + min;
+        if (marker != null) {
+            uri += "&marker=" + URLEncoder.encode(marker, StandardCharsets.UTF_8);
+        }
+        return Async.get(uri, XrpAccountTransactions.class);
+    }
+
+    /**
+     * For more details, see <a href="https://tatum.io/apidoc#operation/XrpGetAccountTx" target="_blank">Tatum API documentation</a>
+     *
+     * @param address the address
+     * @param min     the min
+     * @param marker  the marker of the page, null for the first page
+     * @return the xrp account transactions
      * @throws ExecutionException   the execution exception
      * @throws InterruptedException the interrupted exception
+     * @throws IOException          the io exception
+     */
+    public XrpAccountTransactions xrpGetAccountTransactionsAfter(String address, BigInteger min, XrpMarker marker) throws ExecutionException, InterruptedException, IOException {
+        String _marker = marker != null ? MapperFactory.get().writeValueAsString(marker) : null;
+        return xrpGetAccountTransactions(address, min, _marker);
+    }
+
+    /**
+     * Walk the whole history of the account. Pages are requested lazily following the markers,
+     * the next page is downloaded while the current one is processed.
+     *
+     * @param address the address
+     * @param min     the min
+     * @param from    the marker to resume from, null to start from the beginning
+     * @return the xrp account history
      */
-    public String xrpGetAccountTransactions(String address, BigInteger min, String marker) throws ExecutionException, InterruptedException {
-        String uri = BaseUrl.getInstance().getUrl() + "/v3/xrp/account/tx/" + address + "?min=" + min + "&marker=" + URLEncoder.encode(marker, StandardCharsets.UTF_8);
-        System.out.println(uri);
-        return Async.get(uri);
+    public XrpAccountHistory xrpGetAccountHistory(String address, BigInteger min, XrpMarker from) {
+        return new XrpAccountHistory(this, address, min, from);
     }
 
 }
@@ -0,0 +1,223 @@
+package io.tatum.blockchain;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.tatum.model.response.xlm.XlmLedger;
+import io.tatum.model.response.xlm.XlmLedgerData;
+import io.tatum.model.response.xlm.XlmOperation;
+import io.tatum.model.response.xlm.XlmTx;
+import io.tatum.utils.MapperFactory;
+import lombok.extern.log4j.Log4j2;
+import org.stellar.sdk.xdr.Operation;
+import org.stellar.sdk.xdr.TransactionEnvelope;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Ingests Stellar ledgers with their transactions. Ledgers are downloaded and decoded concurrently,
+ * but handed to the consumer strictly in the order of their sequence.
+ * <p>
+ * After the consumer returns for a ledger, its sequence is passed to the checkpoint callback.
+ * To resume after a restart, start again from the persisted sequence + 1.
+ */
+@Log4j2
+public class XlmLedgerIngestion implements AutoCloseable {
+
+    /**
+     * The constant DEFAULT_PARALLELISM.
+     */
+    public static final int DEFAULT_PARALLELISM = 16;
+
+    /**
+     * The constant DEFAULT_POLL_INTERVAL_MILLIS. Stellar closes a ledger every ~5 seconds.
+     */
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 2500;
+
+    private final XLM xlm;
+    private final int parallelism;
+    private final Consumer<XlmLedgerData> consumer;
+    private final LongConsumer checkpoint;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile long nextSequence;
+
+    /**
+     * Instantiates a new Xlm ledger ingestion.
+     *
+     * @param xlm         the xlm client
+     * @param parallelism the number of ledgers downloaded at the same time
+     * @param consumer    the consumer of the ledgers, called in the order of the sequence
+     * @param checkpoint  called with the sequence of every ledger after it was consumed
+     */
+    public XlmLedgerIngestion(XLM xlm, int parallelism, Consumer<XlmLedgerData> consumer, LongConsumer checkpoint) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        this.xlm = xlm;
+        this.parallelism = parallelism;
+        this.consumer = consumer;
+        this.checkpoint = checkpoint;
+        this.executor = Executors.newFixedThreadPool(parallelism,
+                new ThreadFactoryBuilder().setNameFormat("xlm-ingestion-%d").setDaemon(true).build());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("xlm-ingestion-tip-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Ingest the given range of ledgers, both ends inclusive.
+     *
+     * @param from the first sequence
+     * @param to   the last sequence
+     * @return the sequence of the next ledger to ingest
+     */
+    public synchronized long ingest(long from, long to) {
+        Deque<CompletableFuture<XlmLedgerData>> window = new ArrayDeque<>(parallelism);
+        long submitted = from;
+        long sequence = from;
+
+        while (sequence <= to) {
+            while (submitted <= to && window.size() < parallelism) {
+                final long seq = submitted++;
+                window.addLast(CompletableFuture.supplyAsync(() -> load(seq), executor));
+            }
+
+            XlmLedgerData data;
+            try {
+                data = window.removeFirst().join();
+            } catch (CompletionException e) {
+                window.forEach(f -> f.cancel(false));
+                throw new IllegalStateException("Unable to ingest XLM ledger " + sequence, e.getCause());
+            }
+
+            consumer.accept(data);
+            if (checkpoint != null) {
+                checkpoint.accept(sequence);
+            }
+            nextSequence = ++sequence;
+        }
+        return sequence;
+    }
+
+    /**
+     * Ingest everything from the given sequence up to the current ledger, then keep following the tip
+     * until {@link #close()} is called.
+     *
+     * @param from the first sequence
+     */
+    public void start(long from) {
+        start(from, DEFAULT_POLL_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Ingest everything from the given sequence up to the current ledger, then keep following the tip
+     * until {@link #close()} is called.
+     *
+     * @param from               the first sequence
+     * @param pollIntervalMillis how often the current ledger is checked
+     */
+    public void start(long from, long pollIntervalMillis) {
+        nextSequence = from;
+        scheduler.scheduleWithFixedDelay(this::poll, 0, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gets next sequence.
+     *
+     * @return the sequence of the next ledger to ingest
+     */
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Gets current sequence of the blockchain.
+     *
+     * @return the current sequence
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     * @throws IOException          the io exception
+     */
+    public long getCurrentSequence() throws ExecutionException, InterruptedException, IOException {
+        String info = xlm.xlmGetCurrentLedger();
+        if (info == null) {
+            throw new IOException("Unable to get current XLM ledger.");
+        }
+        return MapperFactory.get().readValue(info, XlmLedger.class).getSequence();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    private void poll() {
+        try {
+            long tip = getCurrentSequence();
+            if (nextSequence <= tip) {
+                ingest(nextSequence, tip);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // next poll retries from the last checkpoint
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    private XlmLedgerData load(long sequence) {
+        try {
+            XlmLedger ledger = xlm.xlmGetLedger(BigInteger.valueOf(sequence));
+            XlmTx[] transactions = xlm.xlmGetLedgerTx(BigDecimal.valueOf(sequence));
+            if (ledger == null || transactions == null) {
+                throw new IOException("XLM ledger " + sequence + " is not available.");
+            }
+
+            List<XlmOperation> operations = new ArrayList<>();
+            for (XlmTx tx : transactions) {
+                Operation[] ops = operations(tx.decodeEnvelope());
+                for (int i = 0; i < ops.length; i++) {
+                    operations.add(new XlmOperation(sequence, tx.getHash(), Boolean.TRUE.equals(tx.getSuccessful()),
+                            tx.getSourceAccount(), i, ops[i].getBody().getDiscriminant(), ops[i]));
+                }
+            }
+            return new XlmLedgerData(sequence, ledger, transactions, operations);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private static Operation[] operations(TransactionEnvelope envelope) {
+        if (envelope == null) {
+            return new Operation[0];
+        }
+        switch (envelope.getDiscriminant()) {
+            case ENVELOPE_TYPE_TX_V0:
+                return envelope.getV0().getTx().getOperations();
+            case ENVELOPE_TYPE_TX:
+                return envelope.getV1().getTx().getOperations();
+            case ENVELOPE_TYPE_TX_FEE_BUMP:
+                return envelope.getFeeBump().getTx().getInnerTx().getV1().getTx().getOperations();
+            default:
+                return new Operation[0];
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.tatum.blockchain;
+
+import io.tatum.model.response.xrp.XrpAccountTransactions;
+import io.tatum.model.response.xrp.XrpAccountTx;
+import io.tatum.model.response.xrp.XrpMarker;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lazy iterator over the whole transaction history of a XRP account.
+ * Markers are followed automatically and the next page is downloaded while the current one is processed.
+ * <p>
+ * To resume an interrupted walk, persist {@link #getCheckpoint()} and pass it as the starting marker later.
+ * The walk then continues with the page which was being processed, so at most one page is visited twice.
+ */
+public class XrpAccountHistory implements Iterator<XrpAccountTx> {
+
+    private static final XrpAccountTx[] EMPTY = new XrpAccountTx[0];
+
+    private final XRP xrp;
+    private final String address;
+    private final BigInteger min;
+    private final Executor executor;
+
+    private XrpMarker checkpoint;
+    private XrpAccountTx[] page = EMPTY;
+    private int position;
+
+    private XrpMarker prefetchMarker;
+    private CompletableFuture<XrpAccountTransactions> prefetch;
+
+    /**
+     * Instantiates a new Xrp account history.
+     *
+     * @param xrp     the xrp client
+     * @param address the address
+     * @param min     the min
+     * @param from    the marker to resume from, null to start from the beginning
+     */
+    public XrpAccountHistory(XRP xrp, String address, BigInteger min, XrpMarker from) {
+        this(xrp, address, min, from, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates a new Xrp account history.
+     *
+     * @param xrp      the xrp client
+     * @param address  the address
+     * @param min      the min
+     * @param from     the marker to resume from, null to start from the beginning
+     * @param executor the executor used to download pages
+     */
+    public XrpAccountHistory(XRP xrp, String address, BigInteger min, XrpMarker from, Executor executor) {
+        this.xrp = xrp;
+        this.address = address;
+        this.min = min != null ? min : BigInteger.ZERO;
+        this.executor = executor;
+        this.checkpoint = from;
+        fetch(from);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (position >= page.length) {
+            if (prefetch == null) {
+                return false;
+            }
+            advance();
+        }
+        return true;
+    }
+
+    @Override
+    public XrpAccountTx next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page[position++];
+    }
+
+    /**
+     * Marker of the page currently being processed, null while processing the first page.
+     *
+     * @return the checkpoint
+     */
+    public XrpMarker getCheckpoint() {
+        return checkpoint;
+    }
+
+    /**
+     * Sequential stream of the remaining transactions.
+     *
+     * @return the stream
+     */
+    public Stream<XrpAccountTx> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private void advance() {
+        XrpAccountTransactions result;
+        try {
+            result = prefetch.join();
+        } catch (CompletionException e) {
+            prefetch = null;
+            throw new IllegalStateException("Unable to get XRP transactions of account " + address, e.getCause());
+        }
+        if (result == null) {
+            prefetch = null;
+            throw new IllegalStateException("Unable to get XRP transactions of account " + address);
+        }
+
+        checkpoint = prefetchMarker;
+        page = result.getTransactions() != null ? result.getTransactions() : EMPTY;
+        position = 0;
+
+        XrpMarker next = result.getMarker();
+        if (next == null || Objects.equals(next, prefetchMarker)) {
+            prefetch = null;
+        } else {
+            fetch(next);
+        }
+    }
+
+    private void fetch(XrpMarker marker) {
+        prefetchMarker = marker;
+        prefetch = CompletableFuture.supplyAsync(() -> {
+            try {
+                return xrp.xrpGetAccountTransactionsAfter(address, min, marker);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+}
@@ -25,6 +25,11 @@ public class Constant {
      */
     public static final String TATUM_API_URL = "https://api-eu1.tatum.io";
 
+    /**
+     * The constant UTXO_SPENT_ERROR_CODE. Error code of the Tatum API when a transaction output is spent.
+     */
+    public static final String UTXO_SPENT_ERROR_CODE = "tx.hash.index.spent";
+
     /**
      * The constant TEST_VET_URL.
      */
@@ -0,0 +1,201 @@
+package io.tatum.contracts.erc20;
+
+import java.math.BigInteger;
+
+/**
+ * Calldata of the common ERC20 (and TRC20) token calls.
+ * <p>
+ * Selectors are precomputed and the ABI words are written straight into the calldata array,
+ * without building ABI type objects or reflecting over them.
+ */
+public final class Erc20Calldata {
+
+    /**
+     * The constant TRANSFER. Selector of transfer(address,uint256).
+     */
+    public static final int TRANSFER = 0xa9059cbb;
+
+    /**
+     * The constant APPROVE. Selector of approve(address,uint256).
+     */
+    public static final int APPROVE = 0x095ea7b3;
+
+    /**
+     * The constant TRANSFER_FROM. Selector of transferFrom(address,address,uint256).
+     */
+    public static final int TRANSFER_FROM = 0x23b872dd;
+
+    /**
+     * The constant BALANCE_OF. Selector of balanceOf(address).
+     */
+    public static final int BALANCE_OF = 0x70a08231;
+
+    private static final int WORD = 32;
+    private static final int ADDRESS_LENGTH = 20;
+    private static final char[] DIGITS = "0123456789abcdef".toCharArray();
+
+    private Erc20Calldata() {
+    }
+
+    /**
+     * Calldata of transfer(address,uint256).
+     *
+     * @param to     the recipient, 20 bytes
+     * @param amount the amount in the smallest unit
+     * @return the calldata
+     */
+    public static byte[] transfer(byte[] to, BigInteger amount) {
+        byte[] data = call(TRANSFER, 2);
+        address(data, 0, to);
+        uint256(data, 1, amount);
+        return data;
+    }
+
+    /**
+     * Calldata of approve(address,uint256).
+     *
+     * @param spender the spender, 20 bytes
+     * @param amount  the amount in the smallest unit
+     * @return the calldata
+     */
+    public static byte[] approve(byte[] spender, BigInteger amount) {
+        byte[] data = call(APPROVE, 2);
+        address(data, 0, spender);
+        uint256(data, 1, amount);
+        return data;
+    }
+
+    /**
+     * Calldata of transferFrom(address,address,uint256).
+     *
+     * @param from   the owner, 20 bytes
+     * @param to     the recipient, 20 bytes
+     * @param amount the amount in the smallest unit
+     * @return the calldata
+     */
+    public static byte[] transferFrom(byte[] from, byte[] to, BigInteger amount) {
+        byte[] data = call(TRANSFER_FROM, 3);
+        address(data, 0, from);
+        address(data, 1, to);
+        uint256(data, 2, amount);
+        return data;
+    }
+
+    /**
+     * Calldata of balanceOf(address).
+     *
+     * @param owner the owner, 20 bytes
+     * @return the calldata
+     */
+    public static byte[] balanceOf(byte[] owner) {
+        byte[] data = call(BALANCE_OF, 1);
+        address(data, 0, owner);
+        return data;
+    }
+
+    /**
+     * Hex calldata of transfer(address,uint256) for an Ethereum transaction.
+     *
+     * @param to     the recipient, 0x prefixed hex
+     * @param amount the amount in the smallest unit
+     * @return the 0x prefixed calldata
+     */
+    public static String transfer(String to, BigInteger amount) {
+        return toHex(transfer(address(to), amount));
+    }
+
+    /**
+     * Hex calldata of approve(address,uint256) for an Ethereum transaction.
+     *
+     * @param spender the spender, 0x prefixed hex
+     * @param amount  the amount in the smallest unit
+     * @return the 0x prefixed calldata
+     */
+    public static String approve(String spender, BigInteger amount) {
+        return toHex(approve(address(spender), amount));
+    }
+
+    /**
+     * Hex calldata of transferFrom(address,address,uint256) for an Ethereum transaction.
+     *
+     * @param from   the owner, 0x prefixed hex
+     * @param to     the recipient, 0x prefixed hex
+     * @param amount the amount in the smallest unit
+     * @return the 0x prefixed calldata
+     */
+    public static String transferFrom(String from, String to, BigInteger amount) {
+        return toHex(transferFrom(address(from), address(to), amount));
+    }
+
+    /**
+     * Hex calldata of balanceOf(address) for an Ethereum call.
+     *
+     * @param owner the owner, 0x prefixed hex
+     * @return the 0x prefixed calldata
+     */
+    public static String balanceOf(String owner) {
+        return toHex(balanceOf(address(owner)));
+    }
+
+    private static byte[] call(int selector, int words) {
+        byte[] data = new byte[4 + words * WORD];
+        data[0] = (byte) (selector >>> 24);
+        data[1] = (byte) (selector >>> 16);
+        data[2] = (byte) (selector >>> 8);
+        data[3] = (byte) selector;
+        return data;
+    }
+
+    private static void address(byte[] data, int word, byte[] address) {
+        if (address.length != ADDRESS_LENGTH) {
+            throw new IllegalArgumentException("Address must have 20 bytes, has " + address.length);
+        }
+        System.arraycopy(address, 0, data, 4 + (word + 1) * WORD - ADDRESS_LENGTH, ADDRESS_LENGTH);
+    }
+
+    private static void uint256(byte[] data, int word, BigInteger value) {
+        if (value.signum() < 0 || value.bitLength() > 256) {
+            throw new IllegalArgumentException("Value " + value + " does not fit in uint256.");
+        }
+        int end = 4 + (word + 1) * WORD;
+        if (value.bitLength() < Long.SIZE) {
+            long v = value.longValue();
+            for (int i = end - 1; v != 0; i--, v >>>= 8) {
+                data[i] = (byte) v;
+            }
+            return;
+        }
+        byte[] bytes = value.toByteArray();
+        // toByteArray may add a leading sign byte
+        int length = Math.min(bytes.length, WORD);
+        System.arraycopy(bytes, bytes.length - length, data, end - length, length);
+    }
+
+    private static byte[] address(String hex) {
+        int start = hex.startsWith("0x") || hex.startsWith("0X") ? 2 : 0;
+        if (hex.length() - start != 2 * ADDRESS_LENGTH) {
+            throw new IllegalArgumentException("Invalid address " + hex);
+        }
+        byte[] address = new byte[ADDRESS_LENGTH];
+        for (int i = 0; i < ADDRESS_LENGTH; i++) {
+            int high = Character.digit(hex.charAt(start + 2 * i), 16);
+            int low = Character.digit(hex.charAt(start + 2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("Invalid address " + hex);
+            }
+            address[i] = (byte) (high << 4 | low);
+        }
+        return address;
+    }
+
+    private static String toHex(byte[] data) {
+        char[] hex = new char[2 + data.length * 2];
+        hex[0] = '0';
+        hex[1] = 'x';
+        for (int i = 0; i < data.length; i++) {
+            hex[2 + 2 * i] = DIGITS[(data[i] >>> 4) & 0x0f];
+            hex[3 + 2 * i] = DIGITS[data[i] & 0x0f];
+        }
+        return new String(hex);
+    }
+}
@@ -0,0 +1,27 @@
+package io.tatum.model.response.common;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The type Blockchain fee. Recommended fee rates in satoshis per virtual byte.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BlockchainFee {
+
+    private BigDecimal fast;
+    private BigDecimal medium;
+    private BigDecimal slow;
+    private Long block;
+    private String time;
+
+}
@@ -0,0 +1,23 @@
+package io.tatum.model.response.common;
+
+import io.tatum.model.request.Currency;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Confirmation. Transaction which reached the requested confirmation depth.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class Confirmation {
+
+    private Currency chain;
+    private String hash;
+    private long blockNumber;
+    private long confirmations;
+
+}
@@ -0,0 +1,99 @@
+package io.tatum.model.response.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.EqualsAndHashCode;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+/**
+ * Nested JSON value kept as raw text while the enclosing response is decoded.
+ * The value is decoded only when it is accessed.
+ */
+@EqualsAndHashCode
+@JsonDeserialize(using = RawJson.Deserializer.class)
+@JsonSerialize(using = RawJson.Serializer.class)
+public final class RawJson {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String json;
+
+    /**
+     * Instantiates a new Raw json.
+     *
+     * @param json the json
+     */
+    public RawJson(String json) {
+        this.json = json;
+    }
+
+    /**
+     * Gets json.
+     *
+     * @return the json
+     */
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * Decode the value to the given type.
+     *
+     * @param <T>       the type parameter
+     * @param valueType the value type
+     * @return the t
+     * @throws IOException the io exception
+     */
+    public <T> T as(Class<T> valueType) throws IOException {
+        return objectMapper.readValue(json, valueType);
+    }
+
+    /**
+     * Decode the value to a json tree.
+     *
+     * @return the json node
+     * @throws IOException the io exception
+     */
+    public JsonNode toTree() throws IOException {
+        return objectMapper.readTree(json);
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+
+    /**
+     * Copies the current value token by token, without building a tree.
+     */
+    public static class Deserializer extends JsonDeserializer<RawJson> {
+        @Override
+        public RawJson deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            StringWriter writer = new StringWriter();
+            try (JsonGenerator generator = p.getCodec().getFactory().createGenerator(writer)) {
+                generator.copyCurrentStructure(p);
+            }
+            return new RawJson(writer.toString());
+        }
+    }
+
+    /**
+     * Writes the raw text back unchanged.
+     */
+    public static class Serializer extends JsonSerializer<RawJson> {
+        @Override
+        public void serialize(RawJson value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeRawValue(value.json);
+        }
+    }
+}
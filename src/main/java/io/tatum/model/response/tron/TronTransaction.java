@@ -23,4 +23,5 @@ public class TronTransaction {
     private long energyUsageTotal;
     private Object[] internalTransactions;
     private RawData rawData;
+    private Long blockNumber;
 }
@@ -0,0 +1,39 @@
+package io.tatum.model.response.xlm;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Xlm ledger.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class XlmLedger {
+
+    private String id;
+    private String pagingToken;
+    private String hash;
+    private String prevHash;
+    private Long sequence;
+    private Integer successfulTransactionCount;
+    private Integer failedTransactionCount;
+    private Integer operationCount;
+    private String closedAt;
+    private String totalCoins;
+    private String feePool;
+    private Long baseFeeInStroops;
+    private Long baseReserveInStroops;
+    private Integer maxTxSetSize;
+    private Integer protocolVersion;
+    private String headerXdr;
+
+}
@@ -0,0 +1,24 @@
+package io.tatum.model.response.xlm;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The type Xlm ledger data. Ledger together with its transactions and decoded operations.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class XlmLedgerData {
+
+    private long sequence;
+    private XlmLedger ledger;
+    private XlmTx[] transactions;
+    private List<XlmOperation> operations;
+
+}
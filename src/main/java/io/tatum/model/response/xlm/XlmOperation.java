@@ -0,0 +1,31 @@
+package io.tatum.model.response.xlm;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.stellar.sdk.xdr.Operation;
+import org.stellar.sdk.xdr.OperationType;
+
+/**
+ * The type Xlm operation. Operation of a Stellar transaction decoded from the transaction envelope.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class XlmOperation {
+
+    private long ledger;
+    private String transactionHash;
+    private boolean successful;
+    private String sourceAccount;
+    private int index;
+    private OperationType type;
+
+    /**
+     * Operation body as decoded from XDR, e.g. {@code getBody().getPaymentOp()} for payments.
+     */
+    private Operation operation;
+
+}
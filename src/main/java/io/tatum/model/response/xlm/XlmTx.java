@@ -0,0 +1,67 @@
+package io.tatum.model.response.xlm;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import org.stellar.sdk.xdr.TransactionEnvelope;
+import org.stellar.sdk.xdr.XdrDataInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Base64;
+
+/**
+ * The type Xlm tx.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonNaming(PropertyNamingStrategy.SnakeCaseStrategy.class)
+public class XlmTx {
+
+    private String id;
+    private String pagingToken;
+    private Boolean successful;
+    private String hash;
+    private Long ledger;
+    private String createdAt;
+    private String sourceAccount;
+    private String sourceAccountSequence;
+    private String feeAccount;
+    private Long feeCharged;
+    private Long maxFee;
+    private Integer operationCount;
+    private String memoType;
+    private String memo;
+    private String[] signatures;
+
+    /**
+     * Base64 XDR of the transaction envelope, see {@link #decodeEnvelope()}.
+     */
+    private String envelopeXdr;
+    private String resultXdr;
+    private String resultMetaXdr;
+    private String feeMetaXdr;
+
+    /**
+     * Decode the transaction envelope with its operations. Decoding happens on every call,
+     * so only transactions which are actually inspected pay for it.
+     *
+     * @return the transaction envelope
+     * @throws IOException the io exception
+     */
+    public TransactionEnvelope decodeEnvelope() throws IOException {
+        if (envelopeXdr == null) {
+            return null;
+        }
+        byte[] bytes = Base64.getDecoder().decode(envelopeXdr);
+        return TransactionEnvelope.decode(new XdrDataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+}
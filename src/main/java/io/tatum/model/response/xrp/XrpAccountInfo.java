@@ -0,0 +1,53 @@
+package io.tatum.model.response.xrp;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Xrp account info.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class XrpAccountInfo {
+
+    @JsonProperty("account_data")
+    private Root accountData;
+
+    @JsonProperty("ledger_current_index")
+    private Integer ledgerCurrentIndex;
+
+    private Boolean validated;
+
+    /**
+     * The AccountRoot ledger entry.
+     */
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Data
+    @EqualsAndHashCode
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Root {
+
+        @JsonProperty("Account")
+        private String account;
+
+        @JsonProperty("Balance")
+        private String balance;
+
+        @JsonProperty("Flags")
+        private Long flags;
+
+        @JsonProperty("OwnerCount")
+        private Long ownerCount;
+
+        @JsonProperty("Sequence")
+        private Integer sequence;
+    }
+}
@@ -0,0 +1,37 @@
+package io.tatum.model.response.xrp;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Xrp account transactions. One page of the account history.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class XrpAccountTransactions {
+
+    private String account;
+
+    @JsonProperty("ledger_index_min")
+    private Long ledgerIndexMin;
+
+    @JsonProperty("ledger_index_max")
+    private Long ledgerIndexMax;
+
+    private Integer limit;
+
+    /**
+     * Marker of the next page, null on the last page.
+     */
+    private XrpMarker marker;
+
+    private XrpAccountTx[] transactions;
+
+}
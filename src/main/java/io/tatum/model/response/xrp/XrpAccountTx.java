@@ -0,0 +1,24 @@
+package io.tatum.model.response.xrp;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import io.tatum.model.response.common.RawJson;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Xrp account tx. Transaction of the account history together with its metadata.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class XrpAccountTx {
+
+    private XrpTx tx;
+    private RawJson meta;
+    private Boolean validated;
+
+}
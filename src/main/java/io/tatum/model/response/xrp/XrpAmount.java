@@ -0,0 +1,70 @@
+package io.tatum.model.response.xrp;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * The type Xrp amount. XRP amounts are sent as a string of drops, issued currency amounts
+ * as an object with currency, issuer and value.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+@JsonDeserialize(using = XrpAmount.Deserializer.class)
+public class XrpAmount {
+
+    private String currency;
+    private String issuer;
+    private BigDecimal value;
+
+    /**
+     * Is xrp boolean.
+     *
+     * @return true when the amount is in drops of XRP
+     */
+    public boolean isXrp() {
+        return issuer == null;
+    }
+
+    /**
+     * The type Deserializer.
+     */
+    public static class Deserializer extends JsonDeserializer<XrpAmount> {
+        @Override
+        public XrpAmount deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() == JsonToken.VALUE_STRING || p.currentToken().isNumeric()) {
+                return new XrpAmount("XRP", null, new BigDecimal(p.getText()));
+            }
+            XrpAmount amount = new XrpAmount();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                switch (field) {
+                    case "currency":
+                        amount.setCurrency(p.getText());
+                        break;
+                    case "issuer":
+                        amount.setIssuer(p.getText());
+                        break;
+                    case "value":
+                        amount.setValue(new BigDecimal(p.getText()));
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+            return amount;
+        }
+    }
+}
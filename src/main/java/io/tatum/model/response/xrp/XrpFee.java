@@ -0,0 +1,49 @@
+package io.tatum.model.response.xrp;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * The type Xrp fee.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class XrpFee {
+
+    private Drops drops;
+
+    @JsonProperty("ledger_current_index")
+    private Long ledgerCurrentIndex;
+
+    /**
+     * Fee levels in drops of XRP.
+     */
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Data
+    @EqualsAndHashCode
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Drops {
+
+        @JsonProperty("base_fee")
+        private BigDecimal baseFee;
+
+        @JsonProperty("median_fee")
+        private BigDecimal medianFee;
+
+        @JsonProperty("minimum_fee")
+        private BigDecimal minimumFee;
+
+        @JsonProperty("open_ledger_fee")
+        private BigDecimal openLedgerFee;
+    }
+}
@@ -0,0 +1,30 @@
+package io.tatum.model.response.xrp;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Xrp ledger.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class XrpLedger {
+
+    private XrpLedgerHeader ledger;
+
+    @JsonProperty("ledger_hash")
+    private String ledgerHash;
+
+    @JsonProperty("ledger_index")
+    private Long ledgerIndex;
+
+    private Boolean validated;
+
+}
@@ -0,0 +1,56 @@
+package io.tatum.model.response.xrp;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.tatum.model.response.common.RawJson;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Xrp ledger header.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class XrpLedgerHeader {
+
+    private Boolean accepted;
+    private Boolean closed;
+
+    @JsonProperty("ledger_hash")
+    private String ledgerHash;
+
+    @JsonProperty("ledger_index")
+    private Long ledgerIndex;
+
+    @JsonProperty("parent_hash")
+    private String parentHash;
+
+    @JsonProperty("account_hash")
+    private String accountHash;
+
+    @JsonProperty("transaction_hash")
+    private String transactionHash;
+
+    @JsonProperty("close_time")
+    private Long closeTime;
+
+    @JsonProperty("close_time_human")
+    private String closeTimeHuman;
+
+    @JsonProperty("parent_close_time")
+    private Long parentCloseTime;
+
+    @JsonProperty("total_coins")
+    private String totalCoins;
+
+    /**
+     * Transaction hashes, or full transactions for expanded ledgers, decoded on access.
+     */
+    private RawJson transactions;
+
+}
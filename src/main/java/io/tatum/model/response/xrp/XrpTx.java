@@ -0,0 +1,81 @@
+package io.tatum.model.response.xrp;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.tatum.model.response.common.RawJson;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Xrp tx.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class XrpTx {
+
+    @JsonProperty("hash")
+    private String hash;
+
+    @JsonProperty("TransactionType")
+    private String transactionType;
+
+    @JsonProperty("Account")
+    private String account;
+
+    @JsonProperty("Destination")
+    private String destination;
+
+    @JsonProperty("DestinationTag")
+    private Long destinationTag;
+
+    @JsonProperty("SourceTag")
+    private Long sourceTag;
+
+    @JsonProperty("Amount")
+    private XrpAmount amount;
+
+    @JsonProperty("Fee")
+    private String fee;
+
+    @JsonProperty("Flags")
+    private Long flags;
+
+    @JsonProperty("Sequence")
+    private Long sequence;
+
+    @JsonProperty("LastLedgerSequence")
+    private Long lastLedgerSequence;
+
+    @JsonProperty("SigningPubKey")
+    private String signingPubKey;
+
+    @JsonProperty("TxnSignature")
+    private String txnSignature;
+
+    @JsonProperty("ledger_index")
+    private Long ledgerIndex;
+
+    @JsonProperty("date")
+    private Long date;
+
+    @JsonProperty("validated")
+    private Boolean validated;
+
+    /**
+     * Memos of the transaction, decoded on access.
+     */
+    @JsonProperty("Memos")
+    private RawJson memos;
+
+    /**
+     * Transaction metadata with affected ledger nodes, decoded on access.
+     */
+    @JsonProperty("meta")
+    private RawJson meta;
+
+}
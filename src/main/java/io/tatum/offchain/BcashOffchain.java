@@ -7,13 +7,13 @@ import io.tatum.model.response.offchain.BroadcastResult;
 import io.tatum.model.response.offchain.WithdrawalResponse;
 import io.tatum.model.response.offchain.WithdrawalResponseData;
 import io.tatum.transaction.bcash.TransactionBuilder;
+import io.tatum.transaction.utxo.RawTransaction;
 import io.tatum.utils.ObjectValidator;
 import io.tatum.wallet.Address;
 import io.tatum.wallet.WalletGenerator;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.bitcoincashj.core.Transaction;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
@@ -21,7 +21,6 @@ import java.util.Optional;
 
 import static io.tatum.constants.Constant.BCH_MAINNET;
 import static io.tatum.constants.Constant.BCH_TESTNET;
-import static org.bitcoincashj.core.Utils.HEX;
 
 /**
  * The type Bitcoin offchain.
@@ -42,7 +41,7 @@ public class BcashOffchain {
 
         CreateWithdrawal withdrawal = body.getWithdrawal();
         if (withdrawal.getFee() == null) {
-            withdrawal.setFee("0.0005");
+            withdrawal.setFee(OffchainUtil.estimateWithdrawalFee(Currency.BCH, withdrawal));
         }
 
         WithdrawalResponse withdrawalResponse = Common.offchainStoreWithdrawal(withdrawal);
@@ -94,7 +93,7 @@ public class BcashOffchain {
         var network = testnet ? BCH_TESTNET : BCH_MAINNET;
 
         var builder = new TransactionBuilder(network);
-        Transaction transaction = new Transaction(network, HEX.decode(tx.getSerializedTransaction()));
+        RawTransaction transaction = RawTransaction.fromHex(tx.getSerializedTransaction());
         String[] privateKeys = new String[withdrawalResponses.length];
         Long[] amountsToSign = new Long[0];
 
@@ -107,7 +106,7 @@ public class BcashOffchain {
             String privKey = Address.generatePrivateKeyFromMnemonic(Currency.BCH, testnet, mnemonic, k);
             privateKeys[i] = privKey;
         }
-        builder.fromTransaction(transaction, privateKeys, amountsToSign);
+        builder.fromRawTransaction(transaction, privateKeys, amountsToSign);
 
         return builder.build().toHex();
     }
@@ -7,6 +7,7 @@ import io.tatum.model.response.offchain.BroadcastResult;
 import io.tatum.model.response.offchain.WithdrawalResponse;
 import io.tatum.model.response.offchain.WithdrawalResponseData;
 import io.tatum.transaction.bitcoin.TransactionBuilder;
+import io.tatum.transaction.utxo.RawTransaction;
 import io.tatum.utils.ObjectValidator;
 import io.tatum.wallet.Address;
 import io.tatum.wallet.WalletGenerator;
@@ -14,7 +15,6 @@ import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.bitcoinj.core.NetworkParameters;
-import org.bitcoinj.core.Transaction;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigDecimal;
@@ -23,7 +23,6 @@ import java.util.Optional;
 
 import static io.tatum.constants.Constant.BITCOIN_MAINNET;
 import static io.tatum.constants.Constant.BITCOIN_TESTNET;
-import static org.bitcoinj.core.Utils.HEX;
 
 /**
  * The type Bitcoin offchain.
@@ -47,7 +46,7 @@ public class BitcoinOffchain {
 
         CreateWithdrawal withdrawal = body.getWithdrawal();
         if (withdrawal.getFee() == null) {
-            withdrawal.setFee("0.0005");
+            withdrawal.setFee(OffchainUtil.estimateWithdrawalFee(Currency.BTC, withdrawal));
         }
 
         WithdrawalResponse withdrawalResponse = Common.offchainStoreWithdrawal(withdrawal);
@@ -101,7 +100,7 @@ public class BitcoinOffchain {
         var network = testnet ? BITCOIN_TESTNET : BITCOIN_MAINNET;
 
         var builder = new TransactionBuilder(network);
-        Transaction transaction = new Transaction(network, HEX.decode(tx.getSerializedTransaction()));
+        RawTransaction transaction = RawTransaction.fromHex(tx.getSerializedTransaction());
         String[] privateKeys = new String[withdrawalResponses.length];
 
         for (int i = 0; i < withdrawalResponses.length; i++) {
@@ -113,7 +112,7 @@ public class BitcoinOffchain {
             String privKey = Address.generatePrivateKeyFromMnemonic(Currency.BTC, testnet, mnemonic, k);
             privateKeys[i] = privKey;
         }
-        builder.fromTransaction(transaction, privateKeys);
+        builder.fromRawTransaction(transaction, privateKeys);
 
         return builder.build().toHex();
     }
@@ -1,6 +1,7 @@
 package io.tatum.offchain;
 
 import com.google.common.base.Preconditions;
+import io.tatum.contracts.erc20.Erc20Calldata;
 import io.tatum.ledger.LedgerAccount;
 import io.tatum.ledger.LedgerVC;
 import io.tatum.model.request.CreateWithdrawal;
@@ -12,16 +13,12 @@ import io.tatum.model.response.ledger.VC;
 import io.tatum.model.response.offchain.BroadcastResult;
 import io.tatum.model.response.offchain.PrepareEthTx;
 import io.tatum.model.response.offchain.WithdrawalResponse;
+import io.tatum.security.KeyCache;
 import io.tatum.transaction.eth.EthUtil;
 import io.tatum.transaction.eth.Web3jClient;
 import io.tatum.utils.MapperFactory;
 import io.tatum.utils.ObjectValidator;
 import org.apache.commons.lang3.StringUtils;
-import org.web3j.abi.FunctionEncoder;
-import org.web3j.abi.datatypes.Address;
-import org.web3j.abi.datatypes.Bool;
-import org.web3j.abi.datatypes.Function;
-import org.web3j.abi.datatypes.generated.Uint256;
 import org.web3j.crypto.Credentials;
 import org.web3j.crypto.RawTransaction;
 import org.web3j.crypto.TransactionEncoder;
@@ -33,7 +30,6 @@ import org.web3j.utils.Numeric;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
-import java.util.Arrays;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
@@ -201,7 +197,7 @@ public class EthOffchain {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 var web3j = Web3jClient.get(provider);
-                Credentials credentials = Credentials.create(fromPrivateKey);
+                Credentials credentials = KeyCache.getInstance().credentials(fromPrivateKey);
 
                 Transaction prepareTx = MapperFactory.get().readValue(HEX.decode(tx.getSerializedTransaction()), Transaction.class);
                 BigInteger gasLimit = EthUtil.estimateGas(web3j, prepareTx);
@@ -243,7 +239,7 @@ public class EthOffchain {
 
         return CompletableFuture.supplyAsync(() -> {
             try {
-                Credentials credentials = Credentials.create(privateKey);
+                Credentials credentials = KeyCache.getInstance().credentials(privateKey);
                 var from = credentials.getAddress();
 
                 Transaction prepareTx;
@@ -304,7 +300,7 @@ public class EthOffchain {
 
         return CompletableFuture.supplyAsync(() -> {
             try {
-                Credentials credentials = Credentials.create(privateKey);
+                Credentials credentials = KeyCache.getInstance().credentials(privateKey);
                 var from = credentials.getAddress();
                 var _amount = Convert.toWei(amount, Convert.Unit.ETHER).toBigInteger();
                 var txData = encodeContractTransfer(address, _amount);
@@ -327,12 +323,7 @@ public class EthOffchain {
     }
 
     private String encodeContractTransfer(String address, BigInteger _amount) {
-        Function function = new Function(
-                "transfer",  // function we're calling
-                Arrays.asList(new Address(address), new Uint256(_amount)),  // Parameters to pass as Solidity Types
-                Arrays.asList(new org.web3j.abi.TypeReference<Bool>() {
-                }));
-        return FunctionEncoder.encode(function);
+        return Erc20Calldata.transfer(address, _amount);
     }
 
     private PrepareEthTx createPrepareEthTx(Web3j web3, Credentials credentials, Transaction prepareTx) throws IOException {
@@ -7,12 +7,12 @@ import io.tatum.model.response.offchain.BroadcastResult;
 import io.tatum.model.response.offchain.WithdrawalResponse;
 import io.tatum.model.response.offchain.WithdrawalResponseData;
 import io.tatum.transaction.bitcoin.TransactionBuilder;
+import io.tatum.transaction.utxo.RawTransaction;
 import io.tatum.utils.ObjectValidator;
 import io.tatum.wallet.Address;
 import io.tatum.wallet.WalletGenerator;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.bitcoinj.core.Transaction;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigDecimal;
@@ -21,7 +21,6 @@ import java.util.Optional;
 
 import static io.tatum.constants.Constant.LITECOIN_MAINNET;
 import static io.tatum.constants.Constant.LITECOIN_TESTNET;
-import static org.bitcoinj.core.Utils.HEX;
 
 /**
  * The type Litecoin offchain.
@@ -43,7 +42,7 @@ public class LitecoinOffchain {
 
         CreateWithdrawal withdrawal = body.getWithdrawal();
         if (withdrawal.getFee() == null) {
-            withdrawal.setFee("0.0005");
+            withdrawal.setFee(OffchainUtil.estimateWithdrawalFee(Currency.LTC, withdrawal));
         }
 
         WithdrawalResponse withdrawalResponse = Common.offchainStoreWithdrawal(withdrawal);
@@ -97,7 +96,7 @@ public class LitecoinOffchain {
         var network = testnet ? LITECOIN_TESTNET : LITECOIN_MAINNET;
 
         var builder = new TransactionBuilder(network);
-        Transaction transaction = new Transaction(network, HEX.decode(tx.getSerializedTransaction()));
+        RawTransaction transaction = RawTransaction.fromHex(tx.getSerializedTransaction());
         String[] privateKeys = new String[withdrawalResponses.length];
 
         for (int i = 0; i < withdrawalResponses.length; i++) {
@@ -109,7 +108,7 @@ public class LitecoinOffchain {
             String privKey = Address.generatePrivateKeyFromMnemonic(Currency.LTC, testnet, mnemonic, k);
             privateKeys[i] = privKey;
         }
-        builder.fromTransaction(transaction, privateKeys);
+        builder.fromRawTransaction(transaction, privateKeys);
 
         return builder.build().toHex();
     }
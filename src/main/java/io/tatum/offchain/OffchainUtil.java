@@ -1,8 +1,13 @@
 package io.tatum.offchain;
 
 import io.tatum.model.request.BroadcastWithdrawal;
+import io.tatum.model.request.CreateWithdrawal;
+import io.tatum.model.request.Currency;
 import io.tatum.model.response.common.TxHash;
 import io.tatum.model.response.offchain.BroadcastResult;
+import io.tatum.transaction.bitcoin.VirtualSize;
+import io.tatum.transaction.utxo.FeeRateOracle;
+import org.apache.commons.lang3.ArrayUtils;
 
 import java.io.IOException;
 import java.util.concurrent.ExecutionException;
@@ -12,6 +17,12 @@ import java.util.concurrent.ExecutionException;
  */
 public class OffchainUtil {
 
+    /**
+     * The constant ESTIMATED_WITHDRAWAL_INPUTS. Inputs of the withdrawal are picked by Tatum after the fee is known,
+     * so the fee covers more inputs than a typical withdrawal spends.
+     */
+    public static final int ESTIMATED_WITHDRAWAL_INPUTS = 5;
+
     private OffchainUtil() {
     }
 
@@ -45,4 +56,20 @@ public class OffchainUtil {
         return null;
     }
 
+    /**
+     * Estimate fee of a withdrawal from the current fee rate of the chain.
+     * The transaction pays every amount of the withdrawal and the change. The inputs are not known yet,
+     * so {@link #ESTIMATED_WITHDRAWAL_INPUTS} inputs are assumed.
+     *
+     * @param chain      the chain
+     * @param withdrawal the withdrawal
+     * @return the fee in coins
+     */
+    public static String estimateWithdrawalFee(Currency chain, CreateWithdrawal withdrawal) {
+        int outputs = (ArrayUtils.isNotEmpty(withdrawal.getMultipleAmounts()) ? withdrawal.getMultipleAmounts().length : 1) + 1;
+        long virtualSize = VirtualSize.OVERHEAD
+                + (long) ESTIMATED_WITHDRAWAL_INPUTS * VirtualSize.P2PKH_INPUT
+                + (long) outputs * VirtualSize.P2PKH_OUTPUT;
+        return FeeRateOracle.of(chain).getFeeInCoins(virtualSize, FeeRateOracle.Urgency.MEDIUM).toPlainString();
+    }
 }
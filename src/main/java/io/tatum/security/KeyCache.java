@@ -0,0 +1,173 @@
+package io.tatum.security;
+
+import org.tron.common.crypto.ECKey;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.ECKeyPair;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Signing keys derived from private keys, cached so the public key of a hot wallet is computed once.
+ * <p>
+ * Entries are keyed by the SHA-256 hash of the private key, so the cache holds no private key strings.
+ * Temporary buffers holding private key bytes are zeroed after use. The least recently used keys are evicted
+ * above the maximum size; {@link #evict(String)} and {@link #clear()} drop keys explicitly, e.g. when a wallet is rotated.
+ */
+public class KeyCache {
+
+    /**
+     * The constant DEFAULT_MAX_KEYS.
+     */
+    public static final int DEFAULT_MAX_KEYS = 1000;
+
+    private static final KeyCache INSTANCE = new KeyCache(DEFAULT_MAX_KEYS);
+
+    private static class Entry {
+        private volatile Credentials credentials;
+        private volatile ECKey tronKey;
+    }
+
+    private final Map<ByteBuffer, Entry> entries;
+
+    /**
+     * Instantiates a new Key cache.
+     *
+     * @param maxKeys the max keys
+     */
+    public KeyCache(int maxKeys) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Entry> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+
+    /**
+     * Shared key cache.
+     *
+     * @return the instance
+     */
+    public static KeyCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Ethereum credentials of the private key.
+     *
+     * @param privateKey the private key in hex
+     * @return the credentials
+     */
+    public Credentials credentials(String privateKey) {
+        Entry entry = entry(privateKey);
+        Credentials credentials = entry.credentials;
+        if (credentials == null) {
+            byte[] bytes = bytes(privateKey);
+            try {
+                credentials = Credentials.create(ECKeyPair.create(bytes));
+            } finally {
+                Arrays.fill(bytes, (byte) 0);
+            }
+            entry.credentials = credentials;
+        }
+        return credentials;
+    }
+
+    /**
+     * Tron key of the private key.
+     *
+     * @param privateKey the private key in hex
+     * @return the ec key
+     */
+    public ECKey tronKey(String privateKey) {
+        Entry entry = entry(privateKey);
+        ECKey key = entry.tronKey;
+        if (key == null) {
+            byte[] bytes = bytes(privateKey);
+            try {
+                key = ECKey.fromPrivate(bytes);
+            } finally {
+                Arrays.fill(bytes, (byte) 0);
+            }
+            entry.tronKey = key;
+        }
+        return key;
+    }
+
+    /**
+     * Drop the keys derived from the private key.
+     *
+     * @param privateKey the private key in hex
+     */
+    public void evict(String privateKey) {
+        ByteBuffer hash = hash(privateKey);
+        synchronized (entries) {
+            entries.remove(hash);
+        }
+    }
+
+    /**
+     * Drop all keys.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Number of cached private keys.
+     *
+     * @return the int
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Entry entry(String privateKey) {
+        ByteBuffer hash = hash(privateKey);
+        synchronized (entries) {
+            return entries.computeIfAbsent(hash, h -> new Entry());
+        }
+    }
+
+    private static ByteBuffer hash(String privateKey) {
+        byte[] bytes = bytes(privateKey);
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            Arrays.fill(bytes, (byte) 0);
+        }
+    }
+
+    /**
+     * Private key bytes decoded from hex, with or without the 0x prefix. The caller zeroes them.
+     */
+    private static byte[] bytes(String privateKey) {
+        int start = privateKey.startsWith("0x") || privateKey.startsWith("0X") ? 2 : 0;
+        int length = privateKey.length() - start;
+        if (length == 0 || length % 2 != 0) {
+            throw new IllegalArgumentException("Invalid private key.");
+        }
+        byte[] bytes = new byte[length / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(privateKey.charAt(start + 2 * i), 16);
+            int low = Character.digit(privateKey.charAt(start + 2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                Arrays.fill(bytes, (byte) 0);
+                throw new IllegalArgumentException("Invalid private key.");
+            }
+            bytes[i] = (byte) (high << 4 | low);
+        }
+        return bytes;
+    }
+}
@@ -7,31 +7,32 @@ import io.tatum.model.request.transaction.FromUTXO;
 import io.tatum.model.request.transaction.To;
 import io.tatum.model.request.transaction.TransferBchBlockchain;
 import io.tatum.model.response.bch.BchTx;
+import io.tatum.model.response.bch.BchTxVout;
 import io.tatum.model.response.common.TransactionHash;
 import io.tatum.model.response.kms.TransactionKMS;
 import io.tatum.transaction.bcash.TransactionBuilder;
+import io.tatum.transaction.utxo.OutputValueCache;
+import io.tatum.transaction.utxo.RawTransaction;
 import io.tatum.utils.ObjectValidator;
-import io.tatum.utils.Promise;
-import org.apache.commons.collections4.CollectionUtils;
-import org.apache.commons.lang3.ArrayUtils;
-import org.bitcoincashj.core.Transaction;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.stream.Stream;
 
 import static io.tatum.constants.Constant.BCH_MAINNET;
 import static io.tatum.constants.Constant.BCH_TESTNET;
-import static org.bitcoinj.core.Utils.HEX;
 
 /**
  * The type Bcash tx.
  */
 public class BcashTx {
 
+    private static final OutputValueCache OUTPUT_VALUES = new OutputValueCache(txHash -> {
+        BchTx tx = new Bcash().bcashGetTransaction(txHash);
+        return tx == null ? null : Stream.of(tx.getVout()).mapToLong(BchTxVout::getValue).toArray();
+    }, OutputValueCache.DEFAULT_MAX_TRANSACTIONS);
+
     /**
      * Send Bitcoin Cash transaction to the blockchain. This method broadcasts signed transaction to the blockchain.
      * This operation is irreversible.
@@ -61,8 +62,8 @@ public class BcashTx {
         var network = testnet ? BCH_TESTNET : BCH_MAINNET;
         Long[] amountsToSign = new Long[0];
         TransactionBuilder transactionBuilder = new TransactionBuilder(network);
-        Transaction transaction = new Transaction(network, HEX.decode(tx.getSerializedTransaction()));
-        transactionBuilder.fromTransaction(transaction, privateKeys, amountsToSign);
+        RawTransaction transaction = RawTransaction.fromHex(tx.getSerializedTransaction());
+        transactionBuilder.fromRawTransaction(transaction, privateKeys, amountsToSign);
         return transactionBuilder.build().toHex();
     }
 
@@ -91,20 +92,15 @@ public class BcashTx {
                     transactionBuilder.addOutput(item.getAddress(), item.getValue());
                 }
 
-                String[] txHashs = Stream.of(fromUTXO).map(u -> u.getTxHash()).toArray(size -> new String[size]);
-                List<BchTx> txs = getTransactions(txHashs);
-
-                if (CollectionUtils.isNotEmpty(txs)) {
-                    long satoshis;
-                    for (int i = 0; i < fromUTXO.length; i++) {
-                        FromUTXO item = fromUTXO[i];
-                        if (txs.get(i) == null) {
-                            return null;
-                        }
-
-                        satoshis = txs.get(i).getVout()[Math.toIntExact(item.getIndex())].getValue();
-                        transactionBuilder.addInput(item.getTxHash(), item.getIndex(), item.getPrivateKey(), satoshis);
-                    }
+                String[] txHashes = Stream.of(fromUTXO).map(FromUTXO::getTxHash).toArray(String[]::new);
+                long[] indexes = Stream.of(fromUTXO).mapToLong(FromUTXO::getIndex).toArray();
+                long[] satoshis = OUTPUT_VALUES.get(txHashes, indexes);
+                if (satoshis == null) {
+                    return null;
+                }
+                for (int i = 0; i < fromUTXO.length; i++) {
+                    FromUTXO item = fromUTXO[i];
+                    transactionBuilder.addInput(item.getTxHash(), item.getIndex(), item.getPrivateKey(), satoshis[i]);
                 }
                 return transactionBuilder.build().toHex();
             } catch (ExecutionException | InterruptedException e) {
@@ -114,37 +110,4 @@ public class BcashTx {
         }).get();
 
     }
-
-    /**
-     * Gets transactions.
-     *
-     * @param txHash the tx hash
-     * @return the transactions
-     * @throws ExecutionException   the execution exception
-     * @throws InterruptedException the interrupted exception
-     */
-    private List<BchTx> getTransactions(String[] txHash) throws ExecutionException, InterruptedException {
-        List<CompletableFuture<BchTx>> futures = new ArrayList<>();
-        if (ArrayUtils.isNotEmpty(txHash)) {
-            Bcash bcash = new Bcash();
-            CompletableFuture future;
-            for (String tx : txHash) {
-                future = CompletableFuture.supplyAsync(() -> {
-                    try {
-                        return bcash.bcashGetTransaction(tx);
-                    } catch (ExecutionException | InterruptedException e) {
-                        e.printStackTrace();
-                        return null;
-                    }
-                });
-                futures.add(future);
-            }
-        }
-
-        if (!futures.isEmpty()) {
-            return Promise.all(futures).get();
-        }
-
-        return new ArrayList<>();
-    }
 }
@@ -4,26 +4,31 @@ import com.google.common.base.Preconditions;
 import io.tatum.blockchain.Bitcoin;
 import io.tatum.model.request.Currency;
 import io.tatum.model.request.transaction.TransferBtcBasedBlockchain;
-import io.tatum.model.response.btc.BtcTx;
-import io.tatum.model.response.btc.BtcTxOutputs;
-import io.tatum.model.response.btc.BtcUTXO;
 import io.tatum.model.response.common.TransactionHash;
 import io.tatum.model.response.kms.TransactionKMS;
 import io.tatum.transaction.bitcoin.TransactionBuilder;
+import io.tatum.transaction.utxo.RawTransaction;
+import io.tatum.transaction.utxo.Utxo;
+import io.tatum.transaction.utxo.UtxoDiscovery;
+import io.tatum.transaction.utxo.UtxoIndex;
+import io.tatum.transaction.utxo.UtxoSources;
 import io.tatum.utils.ObjectValidator;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.ArrayUtils;
 import org.bitcoinj.core.NetworkParameters;
-import org.bitcoinj.core.Transaction;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 import static io.tatum.constants.Constant.BITCOIN_MAINNET;
 import static io.tatum.constants.Constant.BITCOIN_TESTNET;
-import static org.bitcoinj.core.Utils.HEX;
 
 /**
  * The type Bitcoin tx.
@@ -31,6 +36,8 @@ import static org.bitcoinj.core.Utils.HEX;
 @Log4j2
 public class BitcoinTx {
 
+    private static final UtxoDiscovery DISCOVERY = new UtxoDiscovery(UtxoSources.btc(new Bitcoin()));
+
     /**
      * Sign Bitcoin transaction with private keys locally. Nothing is broadcast to the blockchain.
      *
@@ -57,7 +64,6 @@ public class BitcoinTx {
             var fromAddress = body.getFromAddress();
 
             var network = testnet ? BITCOIN_TESTNET : BITCOIN_MAINNET;
-            Bitcoin bitcoin = new Bitcoin();
             TransactionBuilder transactionBuilder = new TransactionBuilder(network);
 
             // adding outputs before adding inputs
@@ -68,17 +74,12 @@ public class BitcoinTx {
             // adding inputs
             try {
                 if (ArrayUtils.isNotEmpty(fromAddress)) {
+                    Map<String, String> keys = new LinkedHashMap<>();
                     for (var item : fromAddress) {
-                        BtcTx[] txs = bitcoin.btcGetTxForAccount(item.getAddress(), -1, 0);
-                        for (var tx : txs) {
-                            BtcTxOutputs[] outputs = tx.getOutputs();
-                            for (int i = 0; i < outputs.length; i++) {
-                                if (outputs[i].getAddress().equals(item.getAddress())) {
-                                    BtcUTXO utxo = bitcoin.btcGetUTXO(tx.getHash(), outputs[i].getValue());
-                                    transactionBuilder.addInput(tx.getHash(), i, item.getPrivateKey());
-                                }
-                            }
-                        }
+                        keys.put(item.getAddress(), item.getPrivateKey());
+                    }
+                    for (Utxo utxo : DISCOVERY.discover(keys.keySet())) {
+                        transactionBuilder.addInput(utxo.getTxHash(), utxo.getIndex(), keys.get(utxo.getAddress()));
                     }
                 } else if (ArrayUtils.isNotEmpty(fromUTXO)) {
                     for (var item : fromUTXO) {
@@ -94,6 +95,56 @@ public class BitcoinTx {
         }).get();
     }
 
+    /**
+     * Sign Bitcoin transaction with private keys locally. Nothing is broadcast to the blockchain.
+     * Inputs for the from addresses are taken from the local UTXO index and reserved there,
+     * so no history has to be downloaded.
+     *
+     * @param testnet mainnet or testnet version
+     * @param body    content of the transaction to broadcast
+     * @param index   the index of unspent outputs
+     * @return the string
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     * @returns transaction data to be broadcast to blockchain.
+     */
+    public String prepareSignedTransaction(boolean testnet, TransferBtcBasedBlockchain body, UtxoIndex index) throws ExecutionException, InterruptedException {
+        if (ArrayUtils.isEmpty(body.getFromAddress())) {
+            return prepareSignedTransaction(testnet, body);
+        }
+        Preconditions.checkArgument(ObjectValidator.isValidated(body));
+        Preconditions.checkArgument(ArrayUtils.isEmpty(body.getFromUTXO()), "Only accept from either addresses or utxo");
+
+        var network = testnet ? BITCOIN_TESTNET : BITCOIN_MAINNET;
+        TransactionBuilder transactionBuilder = new TransactionBuilder(network);
+
+        // adding outputs before adding inputs
+        for (var item : body.getTo()) {
+            transactionBuilder.addOutput(item.getAddress(), item.getValue());
+        }
+
+        // adding inputs
+        List<Utxo> inputs = new ArrayList<>();
+        for (var item : body.getFromAddress()) {
+            index.register(item.getAddress());
+            for (Utxo utxo : index.spendable(List.of(item.getAddress()))) {
+                transactionBuilder.addInput(utxo.getTxHash(), utxo.getIndex(), item.getPrivateKey());
+                inputs.add(utxo);
+            }
+        }
+        if (!index.reserve(inputs)) {
+            log.error("UTXOs are already reserved by another transaction.");
+            return null;
+        }
+
+        try {
+            return transactionBuilder.build().toHex();
+        } catch (RuntimeException e) {
+            index.release(inputs.stream().map(Utxo::outpoint).collect(Collectors.toList()));
+            throw e;
+        }
+    }
+
     /**
      * Sign Bitcoin pending transaction from Tatum KMS
      *
@@ -117,8 +168,8 @@ public class BitcoinTx {
         }
         return CompletableFuture.supplyAsync(() -> {
             TransactionBuilder transactionBuilder = new TransactionBuilder(network);
-            Transaction transaction = new Transaction(network, HEX.decode(tx.getSerializedTransaction()));
-            transactionBuilder.fromTransaction(transaction, privateKeys);
+            RawTransaction transaction = RawTransaction.fromHex(tx.getSerializedTransaction());
+            transactionBuilder.fromRawTransaction(transaction, privateKeys);
             return transactionBuilder.build().toHex();
         }).get();
     }
@@ -140,4 +191,40 @@ public class BitcoinTx {
         String txData = new BitcoinTx().prepareSignedTransaction(testnet, body);
         return bitcoin.btcBroadcast(txData, null);
     }
+
+    /**
+     * Send Bitcoin transaction to the blockchain. This method broadcasts signed transaction to the blockchain.
+     * This operation is irreversible. The broadcast transaction is applied to the UTXO index right away,
+     * so its change can be spent by the next transaction.
+     *
+     * @param testnet mainnet or testnet version
+     * @param body    content of the transaction to broadcast
+     * @param index   the index of unspent outputs
+     * @return the transaction hash
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     * @throws IOException          the io exception
+     * @returns transaction id of the transaction in the blockchain
+     */
+    public TransactionHash sendBitcoinTransaction(boolean testnet, TransferBtcBasedBlockchain body, UtxoIndex index) throws ExecutionException, InterruptedException, IOException {
+        String txData = prepareSignedTransaction(testnet, body, index);
+        if (txData == null) {
+            return null;
+        }
+        return broadcast(txData, index);
+    }
+
+    private TransactionHash broadcast(String txData, UtxoIndex index) throws ExecutionException, InterruptedException, IOException {
+        TransactionHash hash = null;
+        try {
+            hash = new Bitcoin().btcBroadcast(txData, null);
+            return hash;
+        } finally {
+            if (hash != null) {
+                index.apply(txData);
+            } else {
+                index.release(txData);
+            }
+        }
+    }
 }
@@ -2,11 +2,15 @@ package io.tatum.transaction;
 
 import com.google.common.base.Preconditions;
 import io.tatum.blockchain.Ethereum;
+import io.tatum.contracts.erc20.Erc20Calldata;
 import io.tatum.contracts.erc20.TokenBytecode;
 import io.tatum.model.request.*;
 import io.tatum.model.response.common.TransactionHash;
 import io.tatum.model.response.kms.TransactionKMS;
+import io.tatum.security.KeyCache;
 import io.tatum.transaction.eth.EthUtil;
+import io.tatum.transaction.eth.NonceManager;
+import io.tatum.transaction.eth.StuckTransactionMonitor;
 import io.tatum.transaction.eth.Web3jClient;
 import io.tatum.utils.ApiKey;
 import io.tatum.utils.BaseUrl;
@@ -63,7 +67,7 @@ public class EthTx {
         return CompletableFuture.supplyAsync(() -> {
             try {
                 Web3j web3j = Web3jClient.get(provider);
-                Credentials credentials = Credentials.create(fromPrivateKey);
+                Credentials credentials = KeyCache.getInstance().credentials(fromPrivateKey);
 
                 Transaction prepareTx = MapperFactory.get().readValue(HEX.decode(tx.getSerializedTransaction()), Transaction.class);
                 BigInteger gasLimit = EthUtil.estimateGas(web3j, prepareTx);
@@ -97,6 +101,21 @@ public class EthTx {
      * @returns transaction data to be broadcast to blockchain.
      */
     public String prepareStoreDataTransaction(CreateRecord body, String provider) throws ExecutionException, InterruptedException {
+        return prepareStoreDataTransaction(body, body.getNonce(), provider);
+    }
+
+    /**
+     * Sign Ethereum Store data transaction with private keys locally. Nothing is broadcast to the blockchain.
+     *
+     * @param body     content of the transaction to broadcast
+     * @param nonce    the nonce of the transaction, overrides the nonce of the body
+     * @param provider url of the Ethereum Server to connect to. If not set, default public server will be used.
+     * @return the string
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     * @returns transaction data to be broadcast to blockchain.
+     */
+    private String prepareStoreDataTransaction(CreateRecord body, BigInteger nonce, String provider) throws ExecutionException, InterruptedException {
 
         Preconditions.checkArgument(ObjectValidator.isValidated(body));
 
@@ -105,7 +124,6 @@ public class EthTx {
                 var _to = body.getTo();
                 var _ethFee = body.getEthFee();
                 var _data = body.getData();
-                var _nonce = body.getNonce();
 
                 String _provider = provider;
                 if (StringUtils.isEmpty(_provider)) {
@@ -113,19 +131,15 @@ public class EthTx {
                 }
                 Web3j web3j = Web3jClient.get(_provider);
 
-                Credentials credentials = Credentials.create(body.getFromPrivateKey());
-                var address = StringUtils.isNotEmpty(_to) ? _to : credentials.getAddress();
-
-                Ethereum ethereum = new Ethereum();
-                var nonce = (_nonce != null && _nonce.compareTo(BigInteger.ONE) > 0) ? _nonce :
-                        ethereum.ethGetTransactionsCount(address);
+                Credentials credentials = KeyCache.getInstance().credentials(body.getFromPrivateKey());
+                var _nonce = nonce != null ? nonce : new Ethereum().ethGetTransactionsCount(credentials.getAddress());
 
                 BigInteger gasPrice = EthUtil.getGasPrice(_ethFee);
                 BigInteger gasLimit = _ethFee != null ? new BigInteger(_ethFee.getGasLimit()) :
                         BigInteger.valueOf(_data.length() * 68 + 21000);
 
                 RawTransaction rawTransaction = RawTransaction.createTransaction(
-                        nonce,
+                        _nonce,
                         gasPrice,
                         gasLimit,
                         _to,
@@ -153,6 +167,21 @@ public class EthTx {
      * @returns transaction data to be broadcast to blockchain.
      */
     public String prepareEthOrErc20SignedTransaction(TransferEthErc20 body, String provider) throws ExecutionException, InterruptedException {
+        return prepareEthOrErc20SignedTransaction(body, body.getNonce(), provider);
+    }
+
+    /**
+     * Sign Ethereum or supported ERC20 transaction with private keys locally. Nothing is broadcast to the blockchain.
+     *
+     * @param body     content of the transaction to broadcast
+     * @param nonce    the nonce of the transaction, overrides the nonce of the body
+     * @param provider url of the Ethereum Server to connect to. If not set, default public server will be used.
+     * @return the string
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     * @returns transaction data to be broadcast to blockchain.
+     */
+    private String prepareEthOrErc20SignedTransaction(TransferEthErc20 body, BigInteger nonce, String provider) throws ExecutionException, InterruptedException {
         Preconditions.checkArgument(ObjectValidator.isValidated(body));
 
         return CompletableFuture.supplyAsync(() -> {
@@ -160,7 +189,6 @@ public class EthTx {
                 var _to = body.getTo();
                 var _fee = body.getFee();
                 var _data = body.getData();
-                var _nonce = body.getNonce();
                 var _currency = body.getCurrency();
                 var _amount = body.getAmount();
 
@@ -170,7 +198,7 @@ public class EthTx {
                 }
 
                 Web3j web3j = Web3jClient.get(_provider);
-                Credentials credentials = Credentials.create(body.getFromPrivateKey());
+                Credentials credentials = KeyCache.getInstance().credentials(body.getFromPrivateKey());
                 var from = credentials.getAddress();
 
                 BigInteger gasPrice = EthUtil.getGasPrice(_fee);
@@ -180,7 +208,7 @@ public class EthTx {
                 if (_currency == ETH) {
                     prepareTx = new Transaction(
                             from,
-                            _nonce,
+                            nonce,
                             gasPrice,
                             null,
                             _to,
@@ -190,15 +218,10 @@ public class EthTx {
                     String contractAddress = CONTRACT_ADDRESSES.get(_currency.getCurrency());
                     var amount = EthUtil.convertAmount(_amount, CONTRACT_DECIMALS.get(_currency.getCurrency()));
 
-                    Function function = new Function(
-                            "transfer",  // function we're calling
-                            Arrays.asList(new Address(_to), new Uint256(amount)),  // Parameters to pass as Solidity Types
-                            Arrays.asList(new org.web3j.abi.TypeReference<Bool>() {
-                            }));
-                    String txData = FunctionEncoder.encode(function);
+                    String txData = Erc20Calldata.transfer(_to, amount);
 
                     prepareTx = new Transaction(from,
-                            _nonce,
+                            nonce,
                             gasPrice,
                             null,
                             contractAddress,
@@ -238,13 +261,28 @@ public class EthTx {
      * @returns transaction data to be broadcast to blockchain.
      */
     public String prepareCustomErc20SignedTransaction(TransferCustomErc20 body, String provider) throws ExecutionException, InterruptedException, IOException {
+        return prepareCustomErc20SignedTransaction(body, body.getNonce(), provider);
+    }
+
+    /**
+     * Sign Ethereum custom ERC20 transaction with private keys locally. Nothing is broadcast to the blockchain.
+     *
+     * @param body     content of the transaction to broadcast
+     * @param nonce    the nonce of the transaction, overrides the nonce of the body
+     * @param provider url of the Ethereum Server to connect to. If not set, default public server will be used.
+     * @return the string
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     * @throws IOException          the io exception
+     * @returns transaction data to be broadcast to blockchain.
+     */
+    private String prepareCustomErc20SignedTransaction(TransferCustomErc20 body, BigInteger nonce, String provider) throws ExecutionException, InterruptedException, IOException {
         Preconditions.checkArgument(ObjectValidator.isValidated(body));
 
         return CompletableFuture.supplyAsync(() -> {
             try {
                 var _to = body.getTo();
                 var _fee = body.getFee();
-                var _nonce = body.getNonce();
                 var _amount = body.getAmount();
                 var _contractAddress = body.getContractAddress();
                 var _digits = body.getDigits();
@@ -255,20 +293,15 @@ public class EthTx {
                 }
                 Web3j web3j = Web3jClient.get(_provider);
 
-                Credentials credentials = Credentials.create(body.getFromPrivateKey());
+                Credentials credentials = KeyCache.getInstance().credentials(body.getFromPrivateKey());
 
                 BigInteger gasPrice = EthUtil.getGasPrice(_fee);
                 var amount = EthUtil.convertAmount(_amount, _digits);
 
-                Function function = new Function(
-                        "transfer",  // function we're calling
-                        Arrays.asList(new Address(_to), new Uint256(amount)),  // Parameters to pass as Solidity Types
-                        Arrays.asList(new org.web3j.abi.TypeReference<Bool>() {
-                        }));
-                String txData = FunctionEncoder.encode(function);
+                String txData = Erc20Calldata.transfer(_to, amount);
 
                 Transaction prepareTx = new Transaction(credentials.getAddress(),
-                        _nonce,
+                        nonce,
                         gasPrice,
                         null,
                         _contractAddress,
@@ -307,12 +340,27 @@ public class EthTx {
      * @returns transaction data to be broadcast to blockchain.
      */
     public String prepareDeployErc20SignedTransaction(DeployEthErc20 body, String provider) throws ExecutionException, InterruptedException, IOException {
+        return prepareDeployErc20SignedTransaction(body, body.getNonce(), provider);
+    }
+
+    /**
+     * Sign Ethereum deploy ERC20 transaction with private keys locally. Nothing is broadcast to the blockchain.
+     *
+     * @param body     content of the transaction to broadcast
+     * @param nonce    the nonce of the transaction, overrides the nonce of the body
+     * @param provider url of the Ethereum Server to connect to. If not set, default public server will be used.
+     * @return the string
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     * @throws IOException          the io exception
+     * @returns transaction data to be broadcast to blockchain.
+     */
+    private String prepareDeployErc20SignedTransaction(DeployEthErc20 body, BigInteger nonce, String provider) throws ExecutionException, InterruptedException, IOException {
         Preconditions.checkArgument(ObjectValidator.isValidated(body));
 
         return CompletableFuture.supplyAsync(() -> {
             try {
                 var _fee = body.getFee();
-                var _nonce = body.getNonce();
 
                 String _provider = provider;
                 if (StringUtils.isEmpty(_provider)) {
@@ -320,7 +368,7 @@ public class EthTx {
                 }
                 Web3j web3j = Web3jClient.get(_provider);
 
-                Credentials credentials = Credentials.create(body.getFromPrivateKey());
+                Credentials credentials = KeyCache.getInstance().credentials(body.getFromPrivateKey());
 
                 BigInteger gasPrice = EthUtil.getGasPrice(_fee);
                 var cap = EthUtil.convertAmount(body.getSupply(), body.getDigits());
@@ -335,7 +383,7 @@ public class EthTx {
                                 new Uint256(cap)));
 
                 Transaction prepareTx = new Transaction(credentials.getAddress(),
-                        _nonce,
+                        nonce,
                         gasPrice,
                         null,
                         StringUtils.EMPTY,
@@ -376,7 +424,7 @@ public class EthTx {
      * @returns transaction id of the transaction in the blockchain
      */
     public TransactionHash sendStoreDataTransaction(boolean testnet, CreateRecord body, String provider) throws ExecutionException, InterruptedException, IOException {
-        return new Ethereum().ethBroadcast(prepareStoreDataTransaction(body, provider), null);
+        return broadcast(body.getFromPrivateKey(), body.getNonce(), nonce -> prepareStoreDataTransaction(body, nonce, provider));
     }
 
     /**
@@ -393,7 +441,7 @@ public class EthTx {
      * @returns transaction id of the transaction in the blockchain
      */
     public TransactionHash sendEthOrErc20Transaction(boolean testnet, TransferEthErc20 body, String provider) throws ExecutionException, InterruptedException, IOException {
-        return new Ethereum().ethBroadcast(prepareEthOrErc20SignedTransaction(body, provider), null);
+        return broadcast(body.getFromPrivateKey(), body.getNonce(), nonce -> prepareEthOrErc20SignedTransaction(body, nonce, provider));
     }
 
     /**
@@ -410,7 +458,7 @@ public class EthTx {
      * @returns transaction id of the transaction in the blockchain
      */
     public TransactionHash sendCustomErc20Transaction(boolean testnet, TransferCustomErc20 body, String provider) throws InterruptedException, ExecutionException, IOException {
-        return new Ethereum().ethBroadcast(prepareCustomErc20SignedTransaction(body, provider), null);
+        return broadcast(body.getFromPrivateKey(), body.getNonce(), nonce -> prepareCustomErc20SignedTransaction(body, nonce, provider));
     }
 
     /**
@@ -427,6 +475,70 @@ public class EthTx {
      * @returns transaction id of the transaction in the blockchain
      */
     public TransactionHash sendDeployErc20Transaction(boolean testnet, DeployEthErc20 body, String provider) throws InterruptedException, ExecutionException, IOException {
-        return new Ethereum().ethBroadcast(prepareDeployErc20SignedTransaction(body, provider), null);
+        return broadcast(body.getFromPrivateKey(), body.getNonce(), nonce -> prepareDeployErc20SignedTransaction(body, nonce, provider));
+    }
+
+    /**
+     * Prepares signed transaction data with the nonce.
+     */
+    private interface Preparation {
+        String prepare(BigInteger nonce) throws ExecutionException, InterruptedException, IOException;
+    }
+
+    /**
+     * Broadcast the prepared transaction. Without an explicit nonce, the nonce is allocated by the {@link NonceManager},
+     * so concurrent sends from one address do not collide. A failed broadcast may still have reached the node,
+     * so its nonce stays in use until the next resync instead of being handed out again.
+     */
+    private static TransactionHash broadcast(String fromPrivateKey, BigInteger nonce, Preparation preparation)
+            throws ExecutionException, InterruptedException, IOException {
+        if (nonce != null) {
+            String txData = preparation.prepare(nonce);
+            return track(fromPrivateKey, txData, new Ethereum().ethBroadcast(txData, null));
+        }
+
+        String from = KeyCache.getInstance().credentials(fromPrivateKey).getAddress();
+        NonceManager nonces = NonceManager.getInstance();
+        BigInteger allocated = nonces.acquire(from);
+        String txData;
+        try {
+            txData = preparation.prepare(allocated);
+        } catch (ExecutionException | InterruptedException | IOException | RuntimeException e) {
+            nonces.release(from, allocated);
+            throw e;
+        }
+        if (txData == null) {
+            nonces.release(from, allocated);
+            return null;
+        }
+
+        TransactionHash hash;
+        try {
+            hash = new Ethereum().ethBroadcast(txData, null);
+        } catch (ExecutionException | InterruptedException | IOException | RuntimeException e) {
+            nonces.sent(from, allocated);
+            throw e;
+        }
+        if (hash == null) {
+            nonces.release(from, allocated);
+            return null;
+        }
+        nonces.sent(from, allocated);
+        return track(fromPrivateKey, txData, hash);
+    }
+
+    /**
+     * Hand the broadcast transaction to the {@link StuckTransactionMonitor} when it runs, so it is replaced if it gets stuck.
+     */
+    private static TransactionHash track(String fromPrivateKey, String txData, TransactionHash hash) {
+        StuckTransactionMonitor monitor = StuckTransactionMonitor.getInstance();
+        if (hash != null && txData != null && monitor.isRunning()) {
+            try {
+                monitor.track(fromPrivateKey, txData, hash.getTxId());
+            } catch (RuntimeException e) {
+                log.error("Unable to track transaction {}: {}", hash.getTxId(), e.getMessage());
+            }
+        }
+        return hash;
     }
 }
@@ -6,20 +6,26 @@ import io.tatum.model.request.Currency;
 import io.tatum.model.request.transaction.TransferBtcBasedBlockchain;
 import io.tatum.model.response.common.TransactionHash;
 import io.tatum.model.response.kms.TransactionKMS;
-import io.tatum.model.response.ltc.LtcTxOutputs;
-import io.tatum.model.response.ltc.LtcUTXO;
 import io.tatum.transaction.bitcoin.TransactionBuilder;
+import io.tatum.transaction.utxo.RawTransaction;
+import io.tatum.transaction.utxo.Utxo;
+import io.tatum.transaction.utxo.UtxoDiscovery;
+import io.tatum.transaction.utxo.UtxoIndex;
+import io.tatum.transaction.utxo.UtxoSources;
 import io.tatum.utils.ObjectValidator;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.ArrayUtils;
 import org.bitcoinj.core.NetworkParameters;
-import org.bitcoinj.core.Transaction;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
-import static org.bitcoinj.core.Utils.HEX;
 
 /**
  * The type Litecoin tx.
@@ -27,6 +33,8 @@ import static org.bitcoinj.core.Utils.HEX;
 @Log4j2
 public class LitecoinTx {
 
+    private static final UtxoDiscovery DISCOVERY = new UtxoDiscovery(UtxoSources.ltc(new Litecoin()));
+
     /**
      * Prepare signed transaction string.
      *
@@ -49,7 +57,6 @@ public class LitecoinTx {
         var to = body.getTo();
         var fromAddress = body.getFromAddress();
 
-        Litecoin litecoin = new Litecoin();
         TransactionBuilder transactionBuilder = new TransactionBuilder(network);
 
         // adding outputs before adding inputs
@@ -68,17 +75,12 @@ public class LitecoinTx {
         // adding inputs
         try {
             if (ArrayUtils.isNotEmpty(fromAddress)) {
+                Map<String, String> keys = new LinkedHashMap<>();
                 for (var item : fromAddress) {
-                    var txs = litecoin.ltcGetTxForAccount(item.getAddress(), null, null);
-                    for (var tx : txs) {
-                        LtcTxOutputs[] outputs = tx.getOutputs();
-                        for (int i = 0; i < outputs.length; i++) {
-                            if (outputs[i].getAddress().equals(item.getAddress())) {
-                                LtcUTXO utxo = litecoin.ltcGetUTXO(tx.getHash(), outputs[i].getValue());
-                                transactionBuilder.addInput(item.getAddress(), utxo.getIndex().longValue(), item.getPrivateKey());
-                            }
-                        }
-                    }
+                    keys.put(item.getAddress(), item.getPrivateKey());
+                }
+                for (Utxo utxo : DISCOVERY.discover(keys.keySet())) {
+                    transactionBuilder.addInput(utxo.getTxHash(), utxo.getIndex(), keys.get(utxo.getAddress()));
                 }
             } else if (ArrayUtils.isNotEmpty(fromUTXO)) {
                 for (var item : fromUTXO) {
@@ -92,6 +94,60 @@ public class LitecoinTx {
         return transactionBuilder.build().toHex();
     }
 
+    /**
+     * Prepare signed transaction string. Inputs for the from addresses are taken from the local UTXO index
+     * and reserved there, so no history has to be downloaded.
+     *
+     * @param network the network
+     * @param body    the body
+     * @param testnet the testnet
+     * @param index   the index of unspent outputs
+     * @return the string
+     * @throws Exception the exception
+     */
+    public String prepareSignedTransaction(NetworkParameters network, TransferBtcBasedBlockchain body, boolean testnet, UtxoIndex index) throws Exception {
+        if (ArrayUtils.isEmpty(body.getFromAddress())) {
+            return prepareSignedTransaction(network, body, testnet);
+        }
+        Preconditions.checkArgument(ObjectValidator.isValidated(body));
+        Preconditions.checkArgument(ArrayUtils.isEmpty(body.getFromUTXO()), "Only accept from either addresses or utxo");
+
+        TransactionBuilder transactionBuilder = new TransactionBuilder(network);
+
+        // adding outputs before adding inputs
+        try {
+            for (var item : body.getTo()) {
+                transactionBuilder.addOutput(item.getAddress(), item.getValue());
+            }
+        } catch (Exception e) {
+            if (!testnet) {
+                throw new Exception("Wrong output address. Supported LTC address should start with M or L.");
+            }
+            throw e;
+        }
+
+        // adding inputs
+        List<Utxo> inputs = new ArrayList<>();
+        for (var item : body.getFromAddress()) {
+            index.register(item.getAddress());
+            for (Utxo utxo : index.spendable(List.of(item.getAddress()))) {
+                transactionBuilder.addInput(utxo.getTxHash(), utxo.getIndex(), item.getPrivateKey());
+                inputs.add(utxo);
+            }
+        }
+        if (!index.reserve(inputs)) {
+            log.error("UTXOs are already reserved by another transaction.");
+            return null;
+        }
+
+        try {
+            return transactionBuilder.build().toHex();
+        } catch (RuntimeException e) {
+            index.release(inputs.stream().map(Utxo::outpoint).collect(Collectors.toList()));
+            throw e;
+        }
+    }
+
     /**
      * Sign Litecoin pending transaction from Tatum KMS
      *
@@ -114,8 +170,8 @@ public class LitecoinTx {
         }
         return CompletableFuture.supplyAsync(() -> {
             TransactionBuilder transactionBuilder = new TransactionBuilder(network);
-            Transaction transaction = new Transaction(network, HEX.decode(tx.getSerializedTransaction()));
-            transactionBuilder.fromTransaction(transaction, privateKeys);
+            RawTransaction transaction = RawTransaction.fromHex(tx.getSerializedTransaction());
+            transactionBuilder.fromRawTransaction(transaction, privateKeys);
             return transactionBuilder.build().toHex();
         }).get();
     }
@@ -137,4 +193,34 @@ public class LitecoinTx {
         String txData = new LitecoinTx().prepareSignedTransaction(network, body, testnet);
         return litecoin.ltcBroadcast(txData, null);
     }
+
+    /**
+     * Send Litecoin transaction to the blockchain. This method broadcasts signed transaction to the blockchain.
+     * This operation is irreversible. The broadcast transaction is applied to the UTXO index right away,
+     * so its change can be spent by the next transaction.
+     *
+     * @param network mainnet or testnet version
+     * @param body    content of the transaction to broadcast
+     * @param testnet the testnet
+     * @param index   the index of unspent outputs
+     * @return the transaction hash
+     * @throws Exception the exception
+     */
+    public TransactionHash sendLitecoinTransaction(NetworkParameters network, TransferBtcBasedBlockchain body, boolean testnet, UtxoIndex index) throws Exception {
+        String txData = prepareSignedTransaction(network, body, testnet, index);
+        if (txData == null) {
+            return null;
+        }
+        TransactionHash hash = null;
+        try {
+            hash = new Litecoin().ltcBroadcast(txData, null);
+            return hash;
+        } finally {
+            if (hash != null) {
+                index.apply(txData);
+            } else {
+                index.release(txData);
+            }
+        }
+    }
 }
@@ -4,12 +4,14 @@ import com.google.common.base.Preconditions;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
 import io.tatum.blockchain.Tron;
+import io.tatum.contracts.erc20.Erc20Calldata;
 import io.tatum.contracts.trc20.TokenABI;
 import io.tatum.contracts.trc20.TokenBytecode;
 import io.tatum.model.request.Currency;
 import io.tatum.model.request.*;
 import io.tatum.model.response.common.TransactionHash;
 import io.tatum.model.response.kms.TransactionKMS;
+import io.tatum.security.KeyCache;
 import io.tatum.transaction.tron.FreezeKMSTransactionBuilder;
 import io.tatum.transaction.tron.FreezeTransactionBuilder;
 import io.tatum.transaction.tron.TronKMSTransactionBuilder;
@@ -21,11 +23,6 @@ import org.tron.common.utils.ByteArray;
 import org.tron.common.utils.ByteUtil;
 import org.tron.common.utils.Hash;
 import org.tron.core.exception.CancelException;
-import org.tron.tronj.abi.TypeReference;
-import org.tron.tronj.abi.datatypes.Address;
-import org.tron.tronj.abi.datatypes.Bool;
-import org.tron.tronj.abi.datatypes.Function;
-import org.tron.tronj.abi.datatypes.generated.Uint256;
 import org.tron.tronj.client.TronClient;
 import org.tron.tronj.client.exceptions.IllegalException;
 import org.tron.tronj.client.transaction.TransactionBuilder;
@@ -185,8 +182,7 @@ public class TronTx {
         Preconditions.checkArgument(ObjectValidator.isValidated(body));
         TronClient client = testnet ? TronClient.ofShasta(body.getFromPrivateKey()) : TronClient.ofMainnet(body.getFromPrivateKey());
 
-        byte[] privateKey = ByteArray.fromHexString(body.getFromPrivateKey());
-        ECKey ecKey = ECKey.fromPrivate(privateKey);
+        ECKey ecKey = KeyCache.getInstance().tronKey(body.getFromPrivateKey());
         String fromAddress = Base58Check.bytesToBase58(ecKey.getAddress());
 
         Response.TransactionExtention transactionExtention = client.transferTrc10(fromAddress, body.getTo(),
@@ -210,19 +206,10 @@ public class TronTx {
         BigInteger scalingFactorBi = getScalingFactorBi(client, Base58Check.base58ToBytes(body.getTokenAddress()));
         BigInteger decimals = new BigInteger(body.getAmount()).multiply(BigInteger.TEN.pow(scalingFactorBi.intValue()));
 
-        byte[] privateKey = ByteArray.fromHexString(body.getFromPrivateKey());
-        ECKey ecKey = ECKey.fromPrivate(privateKey);
+        ECKey ecKey = KeyCache.getInstance().tronKey(body.getFromPrivateKey());
         String ownerAddress = Base58Check.bytesToBase58(ecKey.getAddress());
 
-        // transfer(address,uint256) returns (bool)
-        Function transfer = new Function("transfer",
-                Arrays.asList(new Address(body.getTo()),
-                        new Uint256(decimals)),
-                Collections.singletonList(new TypeReference<Bool>() {
-                })
-        );
-
-        TransactionBuilder builder = client.triggerCall(ownerAddress, body.getTokenAddress(), transfer);
+        TransactionBuilder builder = triggerTransfer(client, ownerAddress, body.getTokenAddress(), body.getTo(), decimals);
         builder.setFeeLimit(body.getFeeLimit());
         Chain.Transaction signedTxn = client.signTransaction(builder.build());
         System.out.println(signedTxn.getRawData().getData());
@@ -240,8 +227,7 @@ public class TronTx {
         Preconditions.checkArgument(ObjectValidator.isValidated(body));
         TronClient client = testnet ? TronClient.ofShasta(body.getFromPrivateKey()) : TronClient.ofMainnet(body.getFromPrivateKey());
 
-        byte[] privateKey = ByteArray.fromHexString(body.getFromPrivateKey());
-        ECKey ecKey = ECKey.fromPrivate(privateKey);
+        ECKey ecKey = KeyCache.getInstance().tronKey(body.getFromPrivateKey());
         String ownerAddress = Base58Check.bytesToBase58(ecKey.getAddress());
 
         HashMap<String, String> frozenSupply = new HashMap<>();
@@ -284,8 +270,7 @@ public class TronTx {
             client = TronClient.ofMainnet(body.getFromPrivateKey());
         }
 
-        byte[] privateKey = ByteArray.fromHexString(body.getFromPrivateKey());
-        ECKey ecKey = ECKey.fromPrivate(privateKey);
+        ECKey ecKey = KeyCache.getInstance().tronKey(body.getFromPrivateKey());
         String ownerAddress = Base58Check.bytesToBase58(ecKey.getAddress());
 
         org.tron.tronj.client.contract.Contract cntr = new org.tron.tronj.client.contract.Contract.Builder()
@@ -388,8 +373,7 @@ public class TronTx {
         Preconditions.checkArgument(ObjectValidator.isValidated(body));
         TronClient client = testnet ? TronClient.ofShasta(body.getFromPrivateKey()) : TronClient.ofMainnet(body.getFromPrivateKey());
 
-        byte[] privateKey = ByteArray.fromHexString(body.getFromPrivateKey());
-        ECKey ecKey = ECKey.fromPrivate(privateKey);
+        ECKey ecKey = KeyCache.getInstance().tronKey(body.getFromPrivateKey());
         String fromAddress = Base58Check.bytesToBase58(ecKey.getAddress());
 
         Response.TransactionExtention transactionExtention = client.transferTrc10(fromAddress, body.getTo(),
@@ -412,14 +396,7 @@ public class TronTx {
         BigInteger scalingFactorBi = getScalingFactorBi(client, Base58Check.base58ToBytes(body.getTokenAddress()));
         BigInteger decimals = new BigInteger(body.getAmount()).multiply(BigInteger.TEN.pow(scalingFactorBi.intValue()));
 
-        // transfer(address,uint256) returns (bool)
-        Function transfer = new Function("transfer",
-                Arrays.asList(new Address(body.getTo()), new Uint256(decimals)),
-                Collections.singletonList(new TypeReference<Bool>() {
-                })
-        );
-
-        TransactionBuilder builder = client.triggerCall(body.getFrom(), body.getTokenAddress(), transfer);
+        TransactionBuilder builder = triggerTransfer(client, body.getFrom(), body.getTokenAddress(), body.getTo(), decimals);
         builder.setFeeLimit(body.getFeeLimit());
         Chain.Transaction signedTxn = client.signTransaction(builder.build());
         System.out.println(signedTxn.getRawData().getData());
@@ -437,8 +414,7 @@ public class TronTx {
         Preconditions.checkArgument(ObjectValidator.isValidated(body));
         TronClient client = testnet ? TronClient.ofShasta(body.getFromPrivateKey()) : TronClient.ofMainnet(body.getFromPrivateKey());
 
-        byte[] privateKey = ByteArray.fromHexString(body.getFromPrivateKey());
-        ECKey ecKey = ECKey.fromPrivate(privateKey);
+        ECKey ecKey = KeyCache.getInstance().tronKey(body.getFromPrivateKey());
         String ownerAddress = Base58Check.bytesToBase58(ecKey.getAddress());
 
         HashMap<String, String> frozenSupply = new HashMap<>();
@@ -475,8 +451,7 @@ public class TronTx {
             client = TronClient.ofMainnet(body.getFromPrivateKey());
         }
 
-        byte[] privateKey = ByteArray.fromHexString(body.getFromPrivateKey());
-        ECKey ecKey = ECKey.fromPrivate(privateKey);
+        ECKey ecKey = KeyCache.getInstance().tronKey(body.getFromPrivateKey());
         String ownerAddress = Base58Check.bytesToBase58(ecKey.getAddress());
 
         org.tron.tronj.client.contract.Contract cntr = new org.tron.tronj.client.contract.Contract.Builder()
@@ -529,6 +504,19 @@ public class TronTx {
         return ByteArray.toHexString(signedTxn.toByteArray());
     }
 
+    private static TransactionBuilder triggerTransfer(TronClient client, String ownerAddress, String tokenAddress, String to, BigInteger amount) {
+        byte[] recipient = TronClient.parseAddress(to).toByteArray();
+        // ABI arguments carry the address without the 0x41 prefix of Tron
+        byte[] data = Erc20Calldata.transfer(Arrays.copyOfRange(recipient, 1, recipient.length), amount);
+        Contract.TriggerSmartContract trigger = Contract.TriggerSmartContract.newBuilder()
+                .setOwnerAddress(TronClient.parseAddress(ownerAddress))
+                .setContractAddress(TronClient.parseAddress(tokenAddress))
+                .setData(ByteString.copyFrom(data))
+                .build();
+        Response.TransactionExtention txExt = client.blockingStub.triggerContract(trigger);
+        return new TransactionBuilder(txExt.getTransaction());
+    }
+
     private static byte[] triggerGetScalingFactor(TronClient client, byte[] contractAddress) {
         String methodSign = "decimals()";
         byte[] selector = new byte[4];
@@ -1,13 +1,20 @@
 package io.tatum.transaction.bcash;
 
+import io.tatum.transaction.utxo.ParallelSigning;
+import io.tatum.transaction.utxo.RawTransaction;
+import io.tatum.transaction.utxo.RawTransactionWriter;
+import io.tatum.transaction.utxo.SigHashData;
 import org.bitcoincashj.core.*;
 import org.bitcoincashj.crypto.TransactionSignature;
 import org.bitcoincashj.script.Script;
 import org.bitcoincashj.script.ScriptBuilder;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.bitcoincashj.core.Utils.HEX;
 
@@ -16,13 +23,16 @@ import static org.bitcoincashj.core.Utils.HEX;
  */
 public class TransactionBuilder {
 
+    // SIGHASH_ALL with the Bitcoin Cash fork id flag, fork id 0
+    private static final int SIGHASH_ALL_FORKID = 0x41;
+
     private NetworkParameters network;
     private Context context;
     private Transaction transaction;
 
     private List<ECKey> privateKeysToSign;
-    private byte[] bitcoinSerialize;
     private List<Long> amountsToSign;
+    private Executor signingExecutor = ForkJoinPool.commonPool();
 
     private long version;
     private long lockTime;
@@ -101,16 +111,53 @@ public class TransactionBuilder {
     }
 
     private void signInput() {
-        for (int i = 0; i < privateKeysToSign.size(); i++) {
+        SigHashData data = sigHashData();
+        Script[] scriptSigs = new Script[this.transaction.getInputs().size()];
+        int count = Math.min(privateKeysToSign.size(), scriptSigs.length);
+
+        ParallelSigning.forEach(count, this.signingExecutor, i -> {
             ECKey key = privateKeysToSign.get(i);
             if (key != null) {
                 Script scriptPubKey = ScriptBuilder.createP2PKHOutputScript(key);
-                TransactionSignature txSignature = transaction.calculateWitnessSignature(i, key, scriptPubKey, Coin.valueOf(this.amountsToSign.get(i)), Transaction.SigHash.ALL, false);
-                this.transaction.getInput(i).setScriptSig(ScriptBuilder.createInputScript(txSignature, key));
+                byte[] hash = data.witnessV0(i, scriptPubKey.getProgram(), this.amountsToSign.get(i), SIGHASH_ALL_FORKID);
+                ECKey.ECDSASignature signature = key.sign(Sha256Hash.wrap(hash));
+                TransactionSignature txSignature = new TransactionSignature(signature.r, signature.s, SIGHASH_ALL_FORKID);
+                scriptSigs[i] = ScriptBuilder.createInputScript(txSignature, key);
+            }
+        });
+
+        for (int i = 0; i < count; i++) {
+            if (scriptSigs[i] != null) {
+                this.transaction.getInput(i).setScriptSig(scriptSigs[i]);
             }
         }
     }
 
+    private SigHashData sigHashData() {
+        List<TransactionInput> inputs = this.transaction.getInputs();
+        byte[][] outpoints = new byte[inputs.size()][];
+        long[] sequences = new long[inputs.size()];
+        for (int i = 0; i < inputs.size(); i++) {
+            outpoints[i] = inputs.get(i).getOutpoint().bitcoinSerialize();
+            sequences[i] = inputs.get(i).getSequenceNumber();
+        }
+        ByteArrayOutputStream outputs = new ByteArrayOutputStream();
+        for (TransactionOutput output : this.transaction.getOutputs()) {
+            outputs.writeBytes(output.bitcoinSerialize());
+        }
+        return new SigHashData(this.transaction.getVersion(), outpoints, sequences, outputs.toByteArray(),
+                this.transaction.getOutputs().size(), this.transaction.getLockTime());
+    }
+
+    /**
+     * Sets executor used to sign inputs, null to sign on the calling thread.
+     *
+     * @param signingExecutor the signing executor
+     */
+    public void setSigningExecutor(Executor signingExecutor) {
+        this.signingExecutor = signingExecutor;
+    }
+
     /**
      * Build transaction builder.
      *
@@ -121,17 +168,31 @@ public class TransactionBuilder {
         this.transaction.verify();
         this.transaction.getConfidence().setSource(TransactionConfidence.Source.SELF);
         this.transaction.setPurpose(Transaction.Purpose.USER_PAYMENT);
-        this.bitcoinSerialize = this.transaction.bitcoinSerialize();
         return this;
     }
 
     /**
-     * To hex string.
+     * To hex string. The transaction is serialized straight into the reusable buffer of the current thread.
      *
      * @return the string
      */
     public String toHex() {
-        return HEX.encode(this.bitcoinSerialize);
+        RawTransactionWriter writer = RawTransactionWriter.get();
+        writer.uint32(this.transaction.getVersion());
+        writer.varInt(this.transaction.getInputs().size());
+        for (TransactionInput input : this.transaction.getInputs()) {
+            writer.reversed(input.getOutpoint().getHash().getBytes());
+            writer.uint32(input.getOutpoint().getIndex());
+            writer.varBytes(input.getScriptBytes());
+            writer.uint32(input.getSequenceNumber());
+        }
+        writer.varInt(this.transaction.getOutputs().size());
+        for (TransactionOutput output : this.transaction.getOutputs()) {
+            writer.uint64(output.getValue().value);
+            writer.varBytes(output.getScriptBytes());
+        }
+        writer.uint32(this.transaction.getLockTime());
+        return writer.toHex();
     }
 
     /**
@@ -184,13 +245,39 @@ public class TransactionBuilder {
             this.addInput(txIn.getHash(), txIn.getOutpoint().getIndex(), txIn.getScriptSig());
         });
 
+        this.addPrivateKeys(privateKeys, amountsToSign);
+        return this;
+    }
+
+    /**
+     * From serialized transaction, without parsing it into a transaction first.
+     *
+     * @param transaction   the serialized transaction
+     * @param privateKeys   the private keys
+     * @param amountsToSign the values of the spent outputs in satoshis
+     * @return the transaction builder
+     */
+    public TransactionBuilder fromRawTransaction(RawTransaction transaction, String[] privateKeys, Long[] amountsToSign) {
+        this.setVersion(transaction.getVersion());
+        this.setLockTime(transaction.getLockTime());
+
+        for (int i = 0; i < transaction.getOutputCount(); i++) {
+            this.addOutput(Coin.valueOf(transaction.getOutputValue(i)), new Script(transaction.getOutputScript(i)));
+        }
+        for (int i = 0; i < transaction.getInputCount(); i++) {
+            this.addInput(Sha256Hash.wrap(transaction.getInputHash(i)), transaction.getInputIndex(i), new Script(transaction.getInputScript(i)));
+        }
+
+        this.addPrivateKeys(privateKeys, amountsToSign);
+        return this;
+    }
+
+    private void addPrivateKeys(String[] privateKeys, Long[] amountsToSign) {
         int length = privateKeys.length;
         for (int i = 0; i < length; i++) {
             this.privateKeysToSign.add(DumpedPrivateKey.fromBase58(this.network, privateKeys[i]).getKey());
             this.amountsToSign.add(amountsToSign[i]);
         }
-
-        return this;
     }
 
     /**
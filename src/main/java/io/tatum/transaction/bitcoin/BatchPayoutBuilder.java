@@ -0,0 +1,200 @@
+package io.tatum.transaction.bitcoin;
+
+import io.tatum.transaction.utxo.Utxo;
+import org.bitcoinj.core.NetworkParameters;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Packs a queue of payouts into as few transactions as possible.
+ * <p>
+ * Payouts are grouped in the order of the queue while the estimated transaction stays under the size limit
+ * and the fee budget. Every group is then funded by the {@link CoinSelector} from the outputs not used by
+ * the previous groups. A group whose real transaction breaks a limit is split in half and funded again.
+ * Funding is sequential because the groups share the candidate outputs, signing of the transactions is concurrent.
+ */
+public class BatchPayoutBuilder {
+
+    /**
+     * The constant DEFAULT_MAX_VIRTUAL_SIZE. Standard transactions must not exceed 400 000 weight units.
+     */
+    public static final long DEFAULT_MAX_VIRTUAL_SIZE = 100_000;
+
+    private final NetworkParameters network;
+    private final CoinSelector selector;
+
+    private long maxVirtualSize = DEFAULT_MAX_VIRTUAL_SIZE;
+    private long maxFee = Long.MAX_VALUE;
+    private Executor executor = ForkJoinPool.commonPool();
+
+    /**
+     * Instantiates a new Batch payout builder.
+     *
+     * @param network  the network
+     * @param selector the coin selector, decides the fee rate
+     */
+    public BatchPayoutBuilder(NetworkParameters network, CoinSelector selector) {
+        this.network = network;
+        this.selector = selector;
+    }
+
+    /**
+     * Build and sign the transactions paying all payouts.
+     *
+     * @param payouts       the payouts
+     * @param candidates    the outputs which can be spent
+     * @param privateKeys   the private keys by address of the candidates
+     * @param changeAddress the change address
+     * @return the signed transactions in the order of the payouts
+     */
+    public List<PayoutBatch> build(List<Payout> payouts, Collection<Utxo> candidates, Map<String, String> privateKeys, String changeAddress) {
+        for (Payout payout : payouts) {
+            if (payout.getValue() < selector.getDustThreshold()) {
+                throw new IllegalArgumentException("Payout of " + payout.getValue() + " satoshis to " + payout.getAddress() + " is dust.");
+            }
+        }
+
+        List<Utxo> pool = new ArrayList<>(candidates);
+        Deque<List<Payout>> groups = new ArrayDeque<>(group(payouts, pool));
+        List<TransactionBuilder> builders = new ArrayList<>();
+        List<PayoutBatch> batches = new ArrayList<>();
+
+        while (!groups.isEmpty()) {
+            List<Payout> group = groups.pollFirst();
+            TransactionBuilder builder = new TransactionBuilder(network);
+            group.forEach(payout -> builder.addOutput(payout.getAddress(), payout.getValue()));
+            CoinSelection selection = builder.addInputs(pool, privateKeys, selector, changeAddress);
+            long virtualSize = builder.estimateVirtualSize();
+
+            if (virtualSize > maxVirtualSize || selection.getFee() > maxFee) {
+                if (group.size() == 1) {
+                    throw new IllegalStateException("Payout to " + group.get(0).getAddress() + " does not fit in the size and fee limits.");
+                }
+                int half = group.size() / 2;
+                groups.addFirst(new ArrayList<>(group.subList(half, group.size())));
+                groups.addFirst(new ArrayList<>(group.subList(0, half)));
+                continue;
+            }
+
+            Set<String> used = new HashSet<>();
+            selection.getInputs().forEach(utxo -> used.add(utxo.outpoint()));
+            pool.removeIf(utxo -> used.contains(utxo.outpoint()));
+            builders.add(builder);
+            batches.add(new PayoutBatch(group, selection, virtualSize, null));
+        }
+
+        List<CompletableFuture<String>> signed = new ArrayList<>(builders.size());
+        for (TransactionBuilder builder : builders) {
+            // the batches already keep the executor busy
+            builder.setSigningExecutor(null);
+            signed.add(CompletableFuture.supplyAsync(() -> builder.build().toHex(), executor));
+        }
+        try {
+            for (int i = 0; i < batches.size(); i++) {
+                batches.get(i).setTxData(signed.get(i).join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return batches;
+    }
+
+    /**
+     * Sets max virtual size of one transaction.
+     *
+     * @param maxVirtualSize the max virtual size
+     */
+    public void setMaxVirtualSize(long maxVirtualSize) {
+        this.maxVirtualSize = maxVirtualSize;
+    }
+
+    /**
+     * Sets max fee of one transaction in satoshis.
+     *
+     * @param maxFee the max fee
+     */
+    public void setMaxFee(long maxFee) {
+        this.maxFee = maxFee;
+    }
+
+    /**
+     * Sets executor used to sign the transactions.
+     *
+     * @param executor the executor
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Group the payouts by the estimated size of their transactions. Inputs are estimated as if
+     * the largest candidates were spent first, continuing where the previous group stopped.
+     */
+    private List<List<Payout>> group(List<Payout> payouts, List<Utxo> pool) {
+        long[] values = pool.stream().mapToLong(Utxo::getValue).sorted().toArray();
+        long[] prefix = new long[values.length + 1];
+        for (int i = 0; i < values.length; i++) {
+            prefix[i + 1] = prefix[i] + values[values.length - 1 - i];
+        }
+
+        long limit = maxVirtualSize;
+        if (maxFee != Long.MAX_VALUE && selector.getFeeRate() > 0) {
+            limit = Math.min(limit, maxFee / selector.getFeeRate());
+        }
+
+        List<List<Payout>> groups = new ArrayList<>();
+        List<Payout> group = new ArrayList<>();
+        int firstInput = 0;
+        long amount = 0;
+        for (Payout payout : payouts) {
+            long nextAmount = amount + payout.getValue();
+            int inputs = inputs(prefix, firstInput, nextAmount, group.size() + 2) - firstInput;
+            long size = VirtualSize.OVERHEAD + (long) inputs * VirtualSize.P2PKH_INPUT
+                    + (long) (group.size() + 2) * VirtualSize.P2PKH_OUTPUT;
+            if (!group.isEmpty() && size > limit) {
+                groups.add(group);
+                firstInput = inputs(prefix, firstInput, amount, group.size() + 1);
+                group = new ArrayList<>();
+                nextAmount = payout.getValue();
+            }
+            group.add(payout);
+            amount = nextAmount;
+        }
+        if (!group.isEmpty()) {
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    /**
+     * Index after the last of the largest inputs needed to pay the amount and the fee,
+     * the pool size if they do not suffice.
+     */
+    private int inputs(long[] prefix, int firstInput, long amount, int outputs) {
+        int k = firstInput;
+        while (k < prefix.length - 1) {
+            long fee = selector.fee(k - firstInput, outputs);
+            if (prefix[k] - prefix[firstInput] >= amount + fee) {
+                break;
+            }
+            int next = Arrays.binarySearch(prefix, k + 1, prefix.length, prefix[firstInput] + amount + fee);
+            k = next >= 0 ? next : Math.min(-next - 1, prefix.length - 1);
+        }
+        return k;
+    }
+}
@@ -0,0 +1,41 @@
+package io.tatum.transaction.bitcoin;
+
+import io.tatum.transaction.utxo.Utxo;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The type Coin selection. Result of the {@link CoinSelector}, all amounts are in satoshis.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class CoinSelection {
+
+    private List<Utxo> inputs;
+    private long fee;
+
+    /**
+     * Value of the change output, 0 if the transaction has no change.
+     */
+    private long change;
+
+    /**
+     * Algorithm which found the selection.
+     */
+    private String algorithm;
+
+    /**
+     * Sum of the selected inputs.
+     *
+     * @return the long
+     */
+    public long inputValue() {
+        return inputs.stream().mapToLong(Utxo::getValue).sum();
+    }
+}
@@ -0,0 +1,350 @@
+package io.tatum.transaction.bitcoin;
+
+import io.tatum.transaction.utxo.Utxo;
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Fee aware coin selection. All amounts are in satoshis, the fee rate is in satoshis per virtual byte.
+ * <p>
+ * Branch and bound is tried first, it looks for a set of inputs which pays the outputs and the fee
+ * without the need of a change output. When there is no such set, knapsack selection with change is used
+ * and as the last resort the largest inputs are taken until the amount is covered.
+ * <p>
+ * Inputs are compared by their effective value, i.e. value minus the fee for spending them,
+ * so inputs which cost more than they are worth are never selected.
+ */
+@Log4j2
+public class CoinSelector {
+
+    /**
+     * The constant P2PKH_INPUT_SIZE.
+     */
+    public static final int P2PKH_INPUT_SIZE = VirtualSize.P2PKH_INPUT;
+
+    /**
+     * The constant P2PKH_OUTPUT_SIZE.
+     */
+    public static final int P2PKH_OUTPUT_SIZE = VirtualSize.P2PKH_OUTPUT;
+
+    /**
+     * The constant TX_OVERHEAD_SIZE. Version, locktime and input and output counts.
+     */
+    public static final int TX_OVERHEAD_SIZE = VirtualSize.OVERHEAD;
+
+    /**
+     * The constant DUST_THRESHOLD.
+     */
+    public static final long DUST_THRESHOLD = 546;
+
+    /**
+     * The constant P2WPKH_DUST_THRESHOLD.
+     */
+    public static final long P2WPKH_DUST_THRESHOLD = 294;
+
+    /**
+     * The constant BNB_TOTAL_TRIES.
+     */
+    public static final int BNB_TOTAL_TRIES = 100_000;
+
+    private static final int KNAPSACK_ITERATIONS = 1000;
+
+    private final long feeRate;
+    private final int inputSize;
+    private final int outputSize;
+    private final int overheadSize;
+    private final long dustThreshold;
+
+    /**
+     * Instantiates a new Coin selector for P2PKH inputs and outputs.
+     *
+     * @param feeRate the fee rate in satoshis per virtual byte
+     */
+    public CoinSelector(long feeRate) {
+        this(feeRate, P2PKH_INPUT_SIZE, P2PKH_OUTPUT_SIZE, TX_OVERHEAD_SIZE, DUST_THRESHOLD);
+    }
+
+    /**
+     * Coin selector for P2WPKH inputs and bech32 outputs.
+     *
+     * @param feeRate the fee rate in satoshis per virtual byte
+     * @return the coin selector
+     */
+    public static CoinSelector p2wpkh(long feeRate) {
+        // segwit marker and flag add half a virtual byte to the overhead
+        return new CoinSelector(feeRate, VirtualSize.P2WPKH_INPUT, VirtualSize.P2WPKH_OUTPUT, VirtualSize.OVERHEAD + 1, P2WPKH_DUST_THRESHOLD);
+    }
+
+    /**
+     * Instantiates a new Coin selector.
+     *
+     * @param feeRate       the fee rate in satoshis per virtual byte
+     * @param inputSize     the virtual size of one input
+     * @param outputSize    the virtual size of one output
+     * @param overheadSize  the virtual size of the transaction without inputs and outputs
+     * @param dustThreshold the smallest value of an output
+     */
+    public CoinSelector(long feeRate, int inputSize, int outputSize, int overheadSize, long dustThreshold) {
+        if (feeRate < 0) {
+            throw new IllegalArgumentException("Fee rate must not be negative.");
+        }
+        this.feeRate = feeRate;
+        this.inputSize = inputSize;
+        this.outputSize = outputSize;
+        this.overheadSize = overheadSize;
+        this.dustThreshold = dustThreshold;
+    }
+
+    /**
+     * Select inputs paying the outputs.
+     *
+     * @param candidates the candidate inputs
+     * @param outputs    the values of the outputs
+     * @return the coin selection, null if the candidates do not cover the outputs and the fee
+     */
+    public CoinSelection select(Collection<Utxo> candidates, List<Long> outputs) {
+        long payment = 0;
+        for (long output : outputs) {
+            if (output < dustThreshold) {
+                throw new IllegalArgumentException("Output of " + output + " satoshis is below the dust threshold of " + dustThreshold + ".");
+            }
+            payment += output;
+        }
+
+        long inputFee = inputSize * feeRate;
+        List<Utxo> pool = new ArrayList<>();
+        for (Utxo utxo : candidates) {
+            if (utxo.getValue() - inputFee > 0) {
+                pool.add(utxo);
+            }
+        }
+        // largest first, ties broken by outpoint to stay deterministic
+        pool.sort(Comparator.comparingLong(Utxo::getValue).reversed().thenComparing(Utxo::outpoint));
+
+        long target = payment + (overheadSize + (long) outputs.size() * outputSize) * feeRate;
+        long costOfChange = (outputSize + inputSize) * feeRate;
+
+        List<Utxo> selected = branchAndBound(pool, target, costOfChange);
+        if (selected != null) {
+            return result(selected, payment, outputs.size(), false, "bnb");
+        }
+
+        selected = knapsack(pool, target, target + outputSize * feeRate + dustThreshold, ThreadLocalRandom.current());
+        if (selected != null) {
+            CoinSelection selection = result(selected, payment, outputs.size(), true, "knapsack");
+            if (selection != null) {
+                return selection;
+            }
+        }
+
+        selected = largestFirst(pool, target);
+        if (selected != null) {
+            return result(selected, payment, outputs.size(), true, "largest-first");
+        }
+
+        log.error("Insufficient funds to pay {} satoshis at {} sat/vB.", payment, feeRate);
+        return null;
+    }
+
+    /**
+     * Fee for the transaction with the given number of inputs and outputs.
+     *
+     * @param inputs  the inputs
+     * @param outputs the outputs
+     * @return the long
+     */
+    public long fee(int inputs, int outputs) {
+        return (overheadSize + (long) inputs * inputSize + (long) outputs * outputSize) * feeRate;
+    }
+
+    /**
+     * Gets fee rate.
+     *
+     * @return the fee rate in satoshis per virtual byte
+     */
+    public long getFeeRate() {
+        return feeRate;
+    }
+
+    /**
+     * Gets dust threshold.
+     *
+     * @return the dust threshold
+     */
+    public long getDustThreshold() {
+        return dustThreshold;
+    }
+
+    private CoinSelection result(List<Utxo> selected, long payment, int outputs, boolean allowChange, String algorithm) {
+        long value = selected.stream().mapToLong(Utxo::getValue).sum();
+        if (allowChange) {
+            long feeWithChange = fee(selected.size(), outputs + 1);
+            long change = value - payment - feeWithChange;
+            if (change >= dustThreshold) {
+                return new CoinSelection(selected, feeWithChange, change, algorithm);
+            }
+        }
+        if (value - payment < fee(selected.size(), outputs)) {
+            return null;
+        }
+        // whatever is left over goes to the miners
+        return new CoinSelection(selected, value - payment, 0, algorithm);
+    }
+
+    private long effective(Utxo utxo) {
+        return utxo.getValue() - inputSize * feeRate;
+    }
+
+    private List<Utxo> branchAndBound(List<Utxo> pool, long target, long costOfChange) {
+        long available = 0;
+        for (Utxo utxo : pool) {
+            available += effective(utxo);
+        }
+        if (available < target) {
+            return null;
+        }
+
+        List<Integer> selection = new ArrayList<>();
+        List<Integer> best = null;
+        long bestWaste = Long.MAX_VALUE;
+        long value = 0;
+
+        int index = 0;
+        for (int tries = 0; tries < BNB_TOTAL_TRIES; tries++, index++) {
+            boolean backtrack = false;
+            if (value + available < target || value > target + costOfChange) {
+                backtrack = true;
+            } else if (value >= target) {
+                long waste = value - target;
+                if (waste <= bestWaste) {
+                    best = new ArrayList<>(selection);
+                    bestWaste = waste;
+                    if (waste == 0) {
+                        break;
+                    }
+                }
+                backtrack = true;
+            }
+
+            if (backtrack) {
+                if (selection.isEmpty()) {
+                    break;
+                }
+                // put the skipped inputs back and try the branch without the last included input
+                int last = selection.get(selection.size() - 1);
+                for (index--; index > last; index--) {
+                    available += effective(pool.get(index));
+                }
+                value -= effective(pool.get(last));
+                selection.remove(selection.size() - 1);
+            } else {
+                long current = effective(pool.get(index));
+                available -= current;
+                // including an input equal to the excluded previous one would only repeat that branch
+                if (selection.isEmpty() || index - 1 == selection.get(selection.size() - 1)
+                        || current != effective(pool.get(index - 1))) {
+                    selection.add(index);
+                    value += current;
+                }
+            }
+        }
+
+        if (best == null) {
+            return null;
+        }
+        List<Utxo> result = new ArrayList<>(best.size());
+        best.forEach(i -> result.add(pool.get(i)));
+        return result;
+    }
+
+    private List<Utxo> knapsack(List<Utxo> pool, long target, long targetWithChange, Random random) {
+        List<Utxo> lower = new ArrayList<>();
+        long totalLower = 0;
+        Utxo lowestLarger = null;
+
+        for (Utxo utxo : pool) {
+            long value = effective(utxo);
+            if (value == target) {
+                return List.of(utxo);
+            } else if (value < targetWithChange) {
+                lower.add(utxo);
+                totalLower += value;
+            } else if (lowestLarger == null || value < effective(lowestLarger)) {
+                lowestLarger = utxo;
+            }
+        }
+
+        if (totalLower == target) {
+            return lower;
+        }
+        if (totalLower < targetWithChange) {
+            return lowestLarger != null ? List.of(lowestLarger) : null;
+        }
+
+        boolean[] best = approximateBestSubset(lower, totalLower, targetWithChange, random);
+        long bestValue = 0;
+        List<Utxo> result = new ArrayList<>();
+        for (int i = 0; i < lower.size(); i++) {
+            if (best[i]) {
+                result.add(lower.get(i));
+                bestValue += effective(lower.get(i));
+            }
+        }
+        if (lowestLarger != null && bestValue != targetWithChange && effective(lowestLarger) <= bestValue) {
+            return List.of(lowestLarger);
+        }
+        return result;
+    }
+
+    private boolean[] approximateBestSubset(List<Utxo> pool, long total, long target, Random random) {
+        boolean[] best = new boolean[pool.size()];
+        Arrays.fill(best, true);
+        long bestValue = total;
+        boolean[] included = new boolean[pool.size()];
+
+        for (int rep = 0; rep < KNAPSACK_ITERATIONS && bestValue != target; rep++) {
+            Arrays.fill(included, false);
+            long value = 0;
+            boolean reachedTarget = false;
+            for (int pass = 0; pass < 2 && !reachedTarget; pass++) {
+                for (int i = 0; i < pool.size(); i++) {
+                    // first pass picks randomly, second pass fills with what was left out
+                    if (pass == 0 ? random.nextBoolean() : !included[i]) {
+                        value += effective(pool.get(i));
+                        included[i] = true;
+                        if (value >= target) {
+                            reachedTarget = true;
+                            if (value < bestValue) {
+                                bestValue = value;
+                                best = included.clone();
+                            }
+                            value -= effective(pool.get(i));
+                            included[i] = false;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private List<Utxo> largestFirst(List<Utxo> pool, long target) {
+        List<Utxo> result = new ArrayList<>();
+        long value = 0;
+        for (Utxo utxo : pool) {
+            result.add(utxo);
+            value += effective(utxo);
+            if (value >= target) {
+                return result;
+            }
+        }
+        return null;
+    }
+}
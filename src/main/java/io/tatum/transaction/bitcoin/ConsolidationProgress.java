@@ -0,0 +1,41 @@
+package io.tatum.transaction.bitcoin;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The type Consolidation progress. Persist it after every checkpoint to resume an interrupted consolidation.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class ConsolidationProgress {
+
+    /**
+     * Hashes of the consolidation transactions broadcast since the last time all of them were settled.
+     */
+    private List<String> transactions = new ArrayList<>();
+
+    /**
+     * Outpoints spent by the consolidation transactions and still held by the index.
+     */
+    private Set<String> spent = new LinkedHashSet<>();
+
+    /**
+     * Value swept to the target address in satoshis, in total.
+     */
+    private long consolidated;
+
+    /**
+     * Fees paid in satoshis, in total.
+     */
+    private long fees;
+}
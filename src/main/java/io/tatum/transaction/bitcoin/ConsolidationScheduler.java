@@ -0,0 +1,320 @@
+package io.tatum.transaction.bitcoin;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.tatum.blockchain.Bitcoin;
+import io.tatum.model.response.common.TransactionHash;
+import io.tatum.transaction.utxo.FeeRateOracle;
+import io.tatum.transaction.utxo.Utxo;
+import io.tatum.transaction.utxo.UtxoIndex;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Sweeps small unspent outputs of a hot wallet into one output of the target address.
+ * <p>
+ * A consolidation round runs only when the slow fee rate is at or below the configured ceiling.
+ * Small outputs are spent smallest first in transactions of at most {@code maxInputs} inputs and
+ * {@code maxVirtualSize} virtual bytes, outputs which would cost more to spend than they are worth are skipped.
+ * <p>
+ * After every broadcast transaction the progress is passed to the checkpoint callback. A consolidation
+ * started with the persisted progress never spends the recorded outputs again, even if the index
+ * was not synced with the broadcast transactions yet. Recorded outputs are dropped from the progress at the
+ * start of a round once the index no longer holds them, so the persisted progress stays as small as the backlog
+ * of unsettled consolidations.
+ */
+@Log4j2
+public class ConsolidationScheduler implements AutoCloseable {
+
+    /**
+     * The constant DEFAULT_MAX_INPUTS.
+     */
+    public static final int DEFAULT_MAX_INPUTS = 500;
+
+    /**
+     * The constant DEFAULT_MAX_VIRTUAL_SIZE. Standard transactions must not exceed 400 000 weight units.
+     */
+    public static final long DEFAULT_MAX_VIRTUAL_SIZE = 100_000;
+
+    /**
+     * The constant DEFAULT_MIN_INPUTS.
+     */
+    public static final int DEFAULT_MIN_INPUTS = 10;
+
+    /**
+     * Broadcasts signed transactions.
+     */
+    public interface Broadcaster {
+
+        /**
+         * Broadcast transaction.
+         *
+         * @param txData the tx data
+         * @return the transaction hash, null if the transaction was rejected
+         * @throws IOException          the io exception
+         * @throws ExecutionException   the execution exception
+         * @throws InterruptedException the interrupted exception
+         */
+        TransactionHash broadcast(String txData) throws IOException, ExecutionException, InterruptedException;
+    }
+
+    private final UtxoIndex index;
+    private final Map<String, String> privateKeys;
+    private final String targetAddress;
+    private final FeeRateOracle feeRates;
+    private final long maxFeeRate;
+    private final long smallValue;
+    private final Broadcaster broadcaster;
+    private final Consumer<ConsolidationProgress> checkpoint;
+    private final ConsolidationProgress progress;
+    private final ScheduledExecutorService scheduler;
+
+    private int maxInputs = DEFAULT_MAX_INPUTS;
+    private int minInputs = DEFAULT_MIN_INPUTS;
+    private long maxVirtualSize = DEFAULT_MAX_VIRTUAL_SIZE;
+
+    /**
+     * Instantiates a new Consolidation scheduler broadcasting to Bitcoin.
+     *
+     * @param index         the index of the unspent outputs of the wallet
+     * @param privateKeys   the private keys by address of the wallet
+     * @param targetAddress the address receiving the consolidated value
+     * @param feeRates      the fee rates
+     * @param maxFeeRate    the highest slow fee rate in satoshis per virtual byte at which consolidation runs
+     * @param smallValue    outputs up to this value in satoshis are consolidated
+     * @param checkpoint    called with the progress after every broadcast transaction
+     * @param resumeFrom    the persisted progress of an interrupted consolidation, null to start a new one
+     */
+    public ConsolidationScheduler(UtxoIndex index, Map<String, String> privateKeys, String targetAddress,
+                                  FeeRateOracle feeRates, long maxFeeRate, long smallValue,
+                                  Consumer<ConsolidationProgress> checkpoint, ConsolidationProgress resumeFrom) {
+        this(index, privateKeys, targetAddress, feeRates, maxFeeRate, smallValue,
+                txData -> new Bitcoin().btcBroadcast(txData, null), checkpoint, resumeFrom);
+    }
+
+    /**
+     * Instantiates a new Consolidation scheduler.
+     *
+     * @param index         the index of the unspent outputs of the wallet
+     * @param privateKeys   the private keys by address of the wallet
+     * @param targetAddress the address receiving the consolidated value
+     * @param feeRates      the fee rates
+     * @param maxFeeRate    the highest slow fee rate in satoshis per virtual byte at which consolidation runs
+     * @param smallValue    outputs up to this value in satoshis are consolidated
+     * @param broadcaster   the broadcaster
+     * @param checkpoint    called with the progress after every broadcast transaction
+     * @param resumeFrom    the persisted progress of an interrupted consolidation, null to start a new one
+     */
+    public ConsolidationScheduler(UtxoIndex index, Map<String, String> privateKeys, String targetAddress,
+                                  FeeRateOracle feeRates, long maxFeeRate, long smallValue, Broadcaster broadcaster,
+                                  Consumer<ConsolidationProgress> checkpoint, ConsolidationProgress resumeFrom) {
+        this.index = index;
+        this.privateKeys = privateKeys;
+        this.targetAddress = targetAddress;
+        this.feeRates = feeRates;
+        this.maxFeeRate = maxFeeRate;
+        this.smallValue = smallValue;
+        this.broadcaster = broadcaster;
+        this.checkpoint = checkpoint;
+        this.progress = resumeFrom != null ? resumeFrom : new ConsolidationProgress();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("utxo-consolidation-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Run a consolidation round every interval until {@link #close()} is called.
+     *
+     * @param intervalMillis the interval millis
+     */
+    public void start(long intervalMillis) {
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                runOnce();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run a consolidation round.
+     *
+     * @return the number of broadcast transactions
+     * @throws IOException          the io exception
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public synchronized int runOnce() throws IOException, ExecutionException, InterruptedException {
+        long feeRate = feeRates.getFeeRate(FeeRateOracle.Urgency.SLOW);
+        if (feeRates.getUpdated() == 0) {
+            log.debug("Fee rates are unknown, skipping consolidation.");
+            return 0;
+        }
+        if (feeRate > maxFeeRate) {
+            log.debug("Fee rate {} is above the consolidation ceiling {}.", feeRate, maxFeeRate);
+            return 0;
+        }
+
+        prune();
+
+        TransactionBuilder sizing = new TransactionBuilder(index.getNetwork());
+        List<Utxo> candidates = new ArrayList<>();
+        for (Utxo utxo : index.spendable(privateKeys.keySet())) {
+            long inputFee = (VirtualSize.inputWeight(sizing.inputType(utxo.getAddress())) + 3) / 4 * feeRate;
+            if (utxo.getValue() <= smallValue && utxo.getValue() > inputFee && !progress.getSpent().contains(utxo.outpoint())) {
+                candidates.add(utxo);
+            }
+        }
+        candidates.sort(Comparator.comparingLong(Utxo::getValue).thenComparing(Utxo::outpoint));
+
+        int broadcast = 0;
+        int from = 0;
+        while (candidates.size() - from >= minInputs) {
+            List<Utxo> batch = batch(candidates, from);
+            from += batch.size();
+            if (batch.size() < minInputs) {
+                break;
+            }
+            long value = batch.stream().mapToLong(Utxo::getValue).sum();
+            long fee = fee(batch, feeRate);
+            if (value - fee < CoinSelector.DUST_THRESHOLD) {
+                log.debug("Consolidation of {} inputs would leave a dust output of {} satoshis.", batch.size(), value - fee);
+                continue;
+            }
+            if (!consolidate(batch, value, fee)) {
+                break;
+            }
+            broadcast++;
+        }
+        return broadcast;
+    }
+
+    /**
+     * Gets progress.
+     *
+     * @return the progress
+     */
+    public synchronized ConsolidationProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Sets max inputs of one transaction.
+     *
+     * @param maxInputs the max inputs
+     */
+    public void setMaxInputs(int maxInputs) {
+        this.maxInputs = maxInputs;
+    }
+
+    /**
+     * Sets min inputs worth a consolidation transaction.
+     *
+     * @param minInputs the min inputs
+     */
+    public void setMinInputs(int minInputs) {
+        this.minInputs = Math.max(1, minInputs);
+    }
+
+    /**
+     * Sets max virtual size of one transaction.
+     *
+     * @param maxVirtualSize the max virtual size
+     */
+    public void setMaxVirtualSize(long maxVirtualSize) {
+        this.maxVirtualSize = maxVirtualSize;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void prune() {
+        if (!progress.getSpent().removeIf(outpoint -> !index.contains(outpoint))) {
+            return;
+        }
+        if (progress.getSpent().isEmpty()) {
+            progress.getTransactions().clear();
+        }
+        if (checkpoint != null) {
+            checkpoint.accept(progress);
+        }
+    }
+
+    private List<Utxo> batch(List<Utxo> candidates, int from) {
+        TransactionBuilder builder = new TransactionBuilder(index.getNetwork());
+        builder.addOutput(targetAddress, 0L);
+        List<Utxo> batch = new ArrayList<>();
+        for (int i = from; i < candidates.size() && batch.size() < maxInputs; i++) {
+            Utxo utxo = candidates.get(i);
+            builder.addInput(utxo, privateKeys.get(utxo.getAddress()));
+            if (builder.estimateVirtualSize() > maxVirtualSize) {
+                break;
+            }
+            batch.add(utxo);
+        }
+        return batch;
+    }
+
+    private long fee(List<Utxo> batch, long feeRate) {
+        TransactionBuilder builder = new TransactionBuilder(index.getNetwork());
+        builder.addOutput(targetAddress, 0L);
+        batch.forEach(utxo -> builder.addInput(utxo, privateKeys.get(utxo.getAddress())));
+        return builder.estimateFee(feeRate);
+    }
+
+    private boolean consolidate(List<Utxo> batch, long value, long fee) throws IOException, ExecutionException, InterruptedException {
+        if (!index.reserve(batch)) {
+            log.warn("Consolidation inputs are reserved by another transaction.");
+            return false;
+        }
+
+        String txData;
+        try {
+            TransactionBuilder builder = new TransactionBuilder(index.getNetwork());
+            builder.addOutput(targetAddress, value - fee);
+            batch.forEach(utxo -> builder.addInput(utxo, privateKeys.get(utxo.getAddress())));
+            txData = builder.build().toHex();
+        } catch (RuntimeException e) {
+            index.release(batch.stream().map(Utxo::outpoint).collect(Collectors.toList()));
+            throw e;
+        }
+
+        TransactionHash hash = null;
+        try {
+            hash = broadcaster.broadcast(txData);
+        } finally {
+            if (hash != null) {
+                index.apply(txData);
+            } else {
+                index.release(txData);
+            }
+        }
+        if (hash == null) {
+            log.error("Consolidation transaction was rejected.");
+            return false;
+        }
+
+        progress.getTransactions().add(hash.getTxId());
+        batch.forEach(utxo -> progress.getSpent().add(utxo.outpoint()));
+        progress.setConsolidated(progress.getConsolidated() + value - fee);
+        progress.setFees(progress.getFees() + fee);
+        if (checkpoint != null) {
+            checkpoint.accept(progress);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,28 @@
+package io.tatum.transaction.bitcoin;
+
+/**
+ * Type of the output spent by an input, decides how the input is signed.
+ */
+public enum InputType {
+    /**
+     * Pay to public key hash, legacy signature in the script sig.
+     */
+    P2PKH,
+    /**
+     * Native segwit pay to witness public key hash, BIP143 signature in the witness.
+     */
+    P2WPKH,
+    /**
+     * P2WPKH nested in pay to script hash, BIP143 signature in the witness and the redeem script in the script sig.
+     */
+    P2SH_P2WPKH;
+
+    /**
+     * Is segwit boolean.
+     *
+     * @return the boolean
+     */
+    public boolean isSegwit() {
+        return this != P2PKH;
+    }
+}
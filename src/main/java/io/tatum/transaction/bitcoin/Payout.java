@@ -0,0 +1,23 @@
+package io.tatum.transaction.bitcoin;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Payout. One recipient of a batch payout.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class Payout {
+
+    private String address;
+
+    /**
+     * Value in satoshis.
+     */
+    private long value;
+}
@@ -0,0 +1,23 @@
+package io.tatum.transaction.bitcoin;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The type Payout batch. One signed transaction of a batch payout.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class PayoutBatch {
+
+    private List<Payout> payouts;
+    private CoinSelection selection;
+    private long virtualSize;
+    private String txData;
+}
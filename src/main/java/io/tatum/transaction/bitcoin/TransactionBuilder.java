@@ -1,13 +1,23 @@
 package io.tatum.transaction.bitcoin;
 
+import io.tatum.transaction.utxo.ParallelSigning;
+import io.tatum.transaction.utxo.RawTransaction;
+import io.tatum.transaction.utxo.RawTransactionWriter;
+import io.tatum.transaction.utxo.SigHashData;
+import io.tatum.transaction.utxo.Utxo;
 import org.bitcoinj.core.*;
 import org.bitcoinj.crypto.TransactionSignature;
 import org.bitcoinj.script.Script;
 import org.bitcoinj.script.ScriptBuilder;
 
+import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.bitcoinj.core.Utils.HEX;
 
@@ -21,7 +31,9 @@ public class TransactionBuilder {
     private Transaction transaction;
 
     private List<ECKey> privateKeysToSign;
-    private byte[] bitcoinSerialize;
+    private List<InputType> inputTypes;
+    private List<Long> inputValues;
+    private Executor signingExecutor = ForkJoinPool.commonPool();
 
     private long version;
     private long lockTime;
@@ -48,6 +60,8 @@ public class TransactionBuilder {
         this.transaction = new Transaction(this.network);
         this.transaction.setVersion(2);
         this.privateKeysToSign = new ArrayList<>();
+        this.inputTypes = new ArrayList<>();
+        this.inputValues = new ArrayList<>();
     }
 
     /**
@@ -69,13 +83,25 @@ public class TransactionBuilder {
     }
 
     /**
-     * Add output.
+     * Add output. Both base58 and bech32 addresses are accepted.
+     *
+     * @param address  the address
+     * @param satoshis the value in satoshis
+     */
+    public void addOutput(String address, long satoshis) {
+        Script scriptPubKey = ScriptBuilder.createOutputScript(Address.fromString(this.network, address));
+        this.transaction.addOutput(Coin.valueOf(satoshis), scriptPubKey);
+    }
+
+    /**
+     * Add output. Both base58 and bech32 addresses are accepted.
      *
      * @param address the address
      * @param value   the value
      */
     public void addOutput(String address, String value) {
-        this.addOutput(address, value, false);
+        Script scriptPubKey = ScriptBuilder.createOutputScript(Address.fromString(this.network, address));
+        this.transaction.addOutput(Coin.parseCoin(value), scriptPubKey);
     }
 
     /**
@@ -91,20 +117,175 @@ public class TransactionBuilder {
         byte[] message = HEX.decode(txHash);
         this.transaction.addInput(Sha256Hash.wrap(message), index, p2PKHOutputScript);
         this.privateKeysToSign.add(ecKey);
+        this.inputTypes.add(InputType.P2PKH);
+        this.inputValues.add(null);
+    }
+
+    /**
+     * Add input of the given type. Segwit inputs are signed according to BIP143, which commits to the spent value.
+     *
+     * @param txHash   the tx hash
+     * @param index    the index
+     * @param key      the key
+     * @param type     the type of the spent output
+     * @param satoshis the value of the spent output
+     */
+    public void addInput(String txHash, long index, String key, InputType type, long satoshis) {
+        if (type == InputType.P2PKH) {
+            this.addInput(txHash, index, key);
+            return;
+        }
+        ECKey ecKey = DumpedPrivateKey.fromBase58(network, key).getKey();
+        Script p2WPKHOutputScript = ScriptBuilder.createP2WPKHOutputScript(ecKey);
+        this.transaction.addInput(Sha256Hash.wrap(HEX.decode(txHash)), index, p2WPKHOutputScript);
+        this.privateKeysToSign.add(ecKey);
+        this.inputTypes.add(type);
+        this.inputValues.add(satoshis);
+    }
+
+    /**
+     * Add input spending the unspent output, the type of the input is derived from its address.
+     *
+     * @param utxo the utxo
+     * @param key  the key
+     */
+    public void addInput(Utxo utxo, String key) {
+        this.addInput(utxo.getTxHash(), utxo.getIndex(), key, inputType(utxo.getAddress()), utxo.getValue());
+    }
+
+    /**
+     * Input type for spending outputs of the address. P2SH addresses are expected to wrap P2WPKH.
+     *
+     * @param address the address
+     * @return the input type
+     */
+    public InputType inputType(String address) {
+        if (address == null) {
+            return InputType.P2PKH;
+        }
+        switch (Address.fromString(this.network, address).getOutputScriptType()) {
+            case P2WPKH:
+                return InputType.P2WPKH;
+            case P2SH:
+                return InputType.P2SH_P2WPKH;
+            case P2PKH:
+                return InputType.P2PKH;
+            default:
+                throw new IllegalArgumentException("Unsupported address type " + address);
+        }
+    }
+
+    /**
+     * Estimate virtual size of the transaction once it is signed.
+     *
+     * @return the long
+     */
+    public long estimateVirtualSize() {
+        return VirtualSize.estimate(this.transaction, this.inputTypes);
+    }
+
+    /**
+     * Estimate fee of the transaction once it is signed.
+     *
+     * @param feeRate the fee rate in satoshis per virtual byte
+     * @return the fee in satoshis
+     */
+    public long estimateFee(long feeRate) {
+        return estimateVirtualSize() * feeRate;
+    }
+
+    /**
+     * Select inputs for the outputs added so far, add them and add the change output if needed.
+     *
+     * @param candidates    the candidate inputs
+     * @param privateKeys   the private keys by address of the candidates
+     * @param selector      the coin selector
+     * @param changeAddress the change address, base58 or bech32
+     * @return the coin selection
+     */
+    public CoinSelection addInputs(Collection<Utxo> candidates, Map<String, String> privateKeys, CoinSelector selector, String changeAddress) {
+        List<Long> outputs = new ArrayList<>();
+        for (TransactionOutput output : this.transaction.getOutputs()) {
+            outputs.add(output.getValue().value);
+        }
+
+        CoinSelection selection = selector.select(candidates, outputs);
+        if (selection == null) {
+            throw new IllegalStateException("Insufficient funds.");
+        }
+        for (Utxo utxo : selection.getInputs()) {
+            this.addInput(utxo, privateKeys.get(utxo.getAddress()));
+        }
+        if (selection.getChange() > 0) {
+            Address address = Address.fromString(this.network, changeAddress);
+            this.transaction.addOutput(Coin.valueOf(selection.getChange()), ScriptBuilder.createOutputScript(address));
+        }
+        return selection;
     }
 
     private void signInput() {
-        for (int i = 0; i < privateKeysToSign.size(); i++) {
+        SigHashData data = sigHashData();
+        Script[] scriptSigs = new Script[this.transaction.getInputs().size()];
+        TransactionWitness[] witnesses = new TransactionWitness[scriptSigs.length];
+        int count = Math.min(privateKeysToSign.size(), scriptSigs.length);
+
+        ParallelSigning.forEach(count, this.signingExecutor, i -> {
             ECKey key = privateKeysToSign.get(i);
-            if (key != null) {
-                Address sourceAddress = Address.fromKey(this.network, key, Script.ScriptType.P2PKH);
-                Script scriptPubKey = ScriptBuilder.createOutputScript(sourceAddress);
-                TransactionSignature txSignature = transaction.calculateSignature(i, key, scriptPubKey, Transaction.SigHash.ALL, false);
-                this.transaction.getInput(i).setScriptSig(ScriptBuilder.createInputScript(txSignature, key));
+            if (key == null) {
+                return;
+            }
+            // P2PKH script of the key, the script code of P2WPKH as well
+            Script scriptCode = ScriptBuilder.createP2PKHOutputScript(key);
+            InputType type = i < inputTypes.size() ? inputTypes.get(i) : InputType.P2PKH;
+            if (type == InputType.P2PKH) {
+                byte[] hash = data.legacy(i, scriptCode.getProgram(), Transaction.SigHash.ALL.value);
+                TransactionSignature txSignature = new TransactionSignature(key.sign(Sha256Hash.wrap(hash)), Transaction.SigHash.ALL, false);
+                scriptSigs[i] = ScriptBuilder.createInputScript(txSignature, key);
+            } else {
+                byte[] hash = data.witnessV0(i, scriptCode.getProgram(), inputValues.get(i), Transaction.SigHash.ALL.value);
+                TransactionSignature txSignature = new TransactionSignature(key.sign(Sha256Hash.wrap(hash)), Transaction.SigHash.ALL, false);
+                witnesses[i] = TransactionWitness.redeemP2WPKH(txSignature, key);
+                scriptSigs[i] = type == InputType.P2WPKH
+                        ? ScriptBuilder.createEmpty()
+                        : new ScriptBuilder().data(ScriptBuilder.createP2WPKHOutputScript(key).getProgram()).build();
+            }
+        });
+
+        for (int i = 0; i < count; i++) {
+            if (scriptSigs[i] != null) {
+                this.transaction.getInput(i).setScriptSig(scriptSigs[i]);
+            }
+            if (witnesses[i] != null) {
+                this.transaction.getInput(i).setWitness(witnesses[i]);
             }
         }
     }
 
+    private SigHashData sigHashData() {
+        List<TransactionInput> inputs = this.transaction.getInputs();
+        byte[][] outpoints = new byte[inputs.size()][];
+        long[] sequences = new long[inputs.size()];
+        for (int i = 0; i < inputs.size(); i++) {
+            outpoints[i] = inputs.get(i).getOutpoint().bitcoinSerialize();
+            sequences[i] = inputs.get(i).getSequenceNumber();
+        }
+        ByteArrayOutputStream outputs = new ByteArrayOutputStream();
+        for (TransactionOutput output : this.transaction.getOutputs()) {
+            outputs.writeBytes(output.bitcoinSerialize());
+        }
+        return new SigHashData(this.transaction.getVersion(), outpoints, sequences, outputs.toByteArray(),
+                this.transaction.getOutputs().size(), this.transaction.getLockTime());
+    }
+
+    /**
+     * Sets executor used to sign inputs, null to sign on the calling thread.
+     *
+     * @param signingExecutor the signing executor
+     */
+    public void setSigningExecutor(Executor signingExecutor) {
+        this.signingExecutor = signingExecutor;
+    }
+
     /**
      * Build transaction builder.
      *
@@ -115,17 +296,45 @@ public class TransactionBuilder {
         this.transaction.verify();
         this.transaction.getConfidence().setSource(TransactionConfidence.Source.SELF);
         this.transaction.setPurpose(Transaction.Purpose.USER_PAYMENT);
-        this.bitcoinSerialize = this.transaction.bitcoinSerialize();
         return this;
     }
 
     /**
-     * To hex string.
+     * To hex string. The transaction is serialized straight into the reusable buffer of the current thread.
      *
      * @return the string
      */
     public String toHex() {
-        return HEX.encode(this.bitcoinSerialize);
+        RawTransactionWriter writer = RawTransactionWriter.get();
+        boolean witness = this.transaction.hasWitnesses();
+        writer.uint32(this.transaction.getVersion());
+        if (witness) {
+            writer.write(0);
+            writer.write(1);
+        }
+        writer.varInt(this.transaction.getInputs().size());
+        for (TransactionInput input : this.transaction.getInputs()) {
+            writer.reversed(input.getOutpoint().getHash().getBytes());
+            writer.uint32(input.getOutpoint().getIndex());
+            writer.varBytes(input.getScriptBytes());
+            writer.uint32(input.getSequenceNumber());
+        }
+        writer.varInt(this.transaction.getOutputs().size());
+        for (TransactionOutput output : this.transaction.getOutputs()) {
+            writer.uint64(output.getValue().value);
+            writer.varBytes(output.getScriptBytes());
+        }
+        if (witness) {
+            for (TransactionInput input : this.transaction.getInputs()) {
+                TransactionWitness inputWitness = input.getWitness();
+                writer.varInt(inputWitness.getPushCount());
+                for (int i = 0; i < inputWitness.getPushCount(); i++) {
+                    writer.varBytes(inputWitness.getPush(i));
+                }
+            }
+        }
+        writer.uint32(this.transaction.getLockTime());
+        return writer.toHex();
     }
 
     /**
@@ -147,6 +356,8 @@ public class TransactionBuilder {
      */
     public void addInput(Sha256Hash txHash, long index, Script script) {
         this.transaction.addInput(txHash, index, script);
+        this.inputTypes.add(InputType.P2PKH);
+        this.inputValues.add(null);
     }
 
     /**
@@ -178,16 +389,41 @@ public class TransactionBuilder {
             this.addInput(txIn.getHash(), txIn.getIndex(), txIn.getScriptSig());
         });
 
+        this.addPrivateKeys(privateKeys);
+        return this;
+    }
+
+    /**
+     * From serialized transaction, without parsing it into a transaction first.
+     *
+     * @param transaction the serialized transaction
+     * @param privateKeys the private keys, null for inputs which are not signed
+     * @return the transaction builder
+     */
+    public TransactionBuilder fromRawTransaction(RawTransaction transaction, String[] privateKeys) {
+        this.setVersion(transaction.getVersion());
+        this.setLockTime(transaction.getLockTime());
+
+        for (int i = 0; i < transaction.getOutputCount(); i++) {
+            this.addOutput(Coin.valueOf(transaction.getOutputValue(i)), new Script(transaction.getOutputScript(i)));
+        }
+        for (int i = 0; i < transaction.getInputCount(); i++) {
+            this.addInput(Sha256Hash.wrap(transaction.getInputHash(i)), transaction.getInputIndex(i), new Script(transaction.getInputScript(i)));
+        }
+
+        this.addPrivateKeys(privateKeys);
+        return this;
+    }
+
+    private void addPrivateKeys(String[] privateKeys) {
         for (String privKey : privateKeys) {
-            if (privateKeys != null) {
+            if (privKey != null) {
                 ECKey ecKey = DumpedPrivateKey.fromBase58(this.network, privKey).getKey();
                 this.privateKeysToSign.add(ecKey);
             } else {
                 this.privateKeysToSign.add(null);
             }
         }
-
-        return this;
     }
 
     /**
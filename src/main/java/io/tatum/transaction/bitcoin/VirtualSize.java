@@ -0,0 +1,121 @@
+package io.tatum.transaction.bitcoin;
+
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionOutput;
+import org.bitcoinj.core.VarInt;
+
+import java.util.List;
+
+/**
+ * Virtual size estimation of transactions before they are signed.
+ * <p>
+ * Sizes are computed in weight units (base bytes count four times, witness bytes once)
+ * and rounded up to virtual bytes at the end. Signatures are assumed to take 72 bytes with the sighash flag,
+ * the maximum for the low S signatures bitcoinj creates, so the estimate never undershoots the signed transaction.
+ */
+public final class VirtualSize {
+
+    /**
+     * The constant P2PKH_INPUT. Outpoint, sequence and script sig with signature and compressed public key.
+     */
+    public static final int P2PKH_INPUT = 148;
+
+    /**
+     * The constant P2WPKH_INPUT.
+     */
+    public static final int P2WPKH_INPUT = 68;
+
+    /**
+     * The constant P2SH_P2WPKH_INPUT.
+     */
+    public static final int P2SH_P2WPKH_INPUT = 91;
+
+    /**
+     * The constant P2PKH_OUTPUT.
+     */
+    public static final int P2PKH_OUTPUT = 34;
+
+    /**
+     * The constant P2WPKH_OUTPUT.
+     */
+    public static final int P2WPKH_OUTPUT = 31;
+
+    /**
+     * The constant P2SH_OUTPUT.
+     */
+    public static final int P2SH_OUTPUT = 32;
+
+    /**
+     * The constant OVERHEAD. Version, locktime and one byte input and output counts.
+     */
+    public static final int OVERHEAD = 10;
+
+    // outpoint 36, sequence 4, script sig length 1
+    private static final int INPUT_BASE = 41;
+    // items count, signature with length, compressed public key with length
+    private static final int P2WPKH_WITNESS = 1 + 1 + 72 + 1 + 33;
+    // push of the 22 byte witness program
+    private static final int P2SH_P2WPKH_SCRIPT_SIG = 23;
+    // segwit marker and flag
+    private static final int SEGWIT_HEADER_WEIGHT = 2;
+
+    private VirtualSize() {
+    }
+
+    /**
+     * Weight of an input spending the given type of output.
+     *
+     * @param type the type
+     * @return the int
+     */
+    public static int inputWeight(InputType type) {
+        switch (type) {
+            case P2WPKH:
+                return INPUT_BASE * 4 + P2WPKH_WITNESS;
+            case P2SH_P2WPKH:
+                return (INPUT_BASE + P2SH_P2WPKH_SCRIPT_SIG) * 4 + P2WPKH_WITNESS;
+            default:
+                return P2PKH_INPUT * 4;
+        }
+    }
+
+    /**
+     * Weight of the output.
+     *
+     * @param output the output
+     * @return the int
+     */
+    public static int outputWeight(TransactionOutput output) {
+        int script = output.getScriptBytes().length;
+        return (8 + VarInt.sizeOf(script) + script) * 4;
+    }
+
+    /**
+     * Virtual size of the transaction once all inputs are signed.
+     *
+     * @param transaction the unsigned transaction
+     * @param inputTypes  the types of the outputs spent by the inputs
+     * @return the long
+     */
+    public static long estimate(Transaction transaction, List<InputType> inputTypes) {
+        int inputs = transaction.getInputs().size();
+        int outputs = transaction.getOutputs().size();
+        long weight = (8 + VarInt.sizeOf(inputs) + VarInt.sizeOf(outputs)) * 4L;
+
+        boolean segwit = false;
+        for (int i = 0; i < inputs; i++) {
+            InputType type = i < inputTypes.size() ? inputTypes.get(i) : InputType.P2PKH;
+            weight += inputWeight(type);
+            segwit |= type.isSegwit();
+        }
+        if (segwit) {
+            weight += SEGWIT_HEADER_WEIGHT;
+            // legacy inputs of a segwit transaction carry an empty witness
+            weight += inputs - inputTypes.stream().filter(InputType::isSegwit).count();
+        }
+        for (TransactionOutput output : transaction.getOutputs()) {
+            weight += outputWeight(output);
+        }
+        return (weight + 3) / 4;
+    }
+}
@@ -0,0 +1,277 @@
+package io.tatum.transaction.eth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.log4j.Log4j2;
+import org.web3j.protocol.Service;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Web3j service which collects JSON-RPC requests issued within a short window and sends them
+ * to the provider as a single JSON-RPC batch. Responses are matched back to the callers by request id.
+ */
+@Log4j2
+public class BatchHttpService extends Service {
+
+    /**
+     * The constant DEFAULT_WINDOW_MILLIS.
+     */
+    public static final long DEFAULT_WINDOW_MILLIS = 10;
+
+    /**
+     * The constant DEFAULT_MAX_BATCH_SIZE.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final String url;
+    private final long windowMillis;
+    private final int maxBatchSize;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler;
+
+    private final Object lock = new Object();
+    private List<PendingCall> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Instantiates a new Batch http service.
+     *
+     * @param url the url of the JSON-RPC provider
+     */
+    public BatchHttpService(String url) {
+        this(url, DEFAULT_WINDOW_MILLIS, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Instantiates a new Batch http service.
+     *
+     * @param url          the url of the JSON-RPC provider
+     * @param windowMillis how long to wait for more requests before a batch is sent
+     * @param maxBatchSize the maximum number of requests in one batch
+     */
+    public BatchHttpService(String url, long windowMillis, int maxBatchSize) {
+        this(url, windowMillis, maxBatchSize, HttpClient.newHttpClient());
+    }
+
+    /**
+     * Instantiates a new Batch http service.
+     *
+     * @param url          the url of the JSON-RPC provider
+     * @param windowMillis how long to wait for more requests before a batch is sent
+     * @param maxBatchSize the maximum number of requests in one batch
+     * @param httpClient   the http client used to send batches
+     */
+    public BatchHttpService(String url, long windowMillis, int maxBatchSize, HttpClient httpClient) {
+        super(false);
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive.");
+        }
+        this.url = url;
+        this.windowMillis = Math.max(windowMillis, 0);
+        this.maxBatchSize = maxBatchSize;
+        this.httpClient = httpClient;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("web3j-batch-%d").setDaemon(true).build());
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        try {
+            return sendAsync(request, responseType).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for JSON-RPC batch.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(Request request, Class<T> responseType) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(request);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        PendingCall call = new PendingCall(request.getId(), payload);
+        enqueue(call);
+
+        return call.response.thenApply(node -> {
+            try {
+                return objectMapper.treeToValue(node, responseType);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+
+    /**
+     * Send the request on its own, bypassing the batch queue.
+     *
+     * @param payload the payload
+     * @return the input stream
+     * @throws IOException the io exception
+     */
+    @Override
+    protected InputStream performIO(String payload) throws IOException {
+        try {
+            return new ByteArrayInputStream(post(payload).get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for JSON-RPC response.");
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /**
+     * Send all queued requests immediately.
+     */
+    public void flush() {
+        List<PendingCall> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        scheduler.shutdown();
+    }
+
+    private void enqueue(PendingCall call) {
+        List<PendingCall> batch = null;
+        synchronized (lock) {
+            pending.add(call);
+            if (pending.size() >= maxBatchSize) {
+                batch = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    private List<PendingCall> takePending() {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        List<PendingCall> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private void dispatch(List<PendingCall> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        StringBuilder body = new StringBuilder();
+        if (batch.size() == 1) {
+            body.append(batch.get(0).payload);
+        } else {
+            body.append('[');
+            for (int i = 0; i < batch.size(); i++) {
+                if (i > 0) {
+                    body.append(',');
+                }
+                body.append(batch.get(i).payload);
+            }
+            body.append(']');
+        }
+
+        post(body.toString()).whenComplete((bytes, error) -> {
+            if (error != null) {
+                batch.forEach(call -> call.response.completeExceptionally(error));
+                return;
+            }
+            try {
+                demultiplex(batch, objectMapper.readTree(bytes));
+            } catch (IOException e) {
+                batch.forEach(call -> call.response.completeExceptionally(e));
+            }
+        });
+    }
+
+    private void demultiplex(List<PendingCall> batch, JsonNode result) {
+        Map<Long, PendingCall> byId = new HashMap<>(batch.size() * 2);
+        batch.forEach(call -> byId.put(call.id, call));
+
+        if (result.isArray()) {
+            for (JsonNode item : result) {
+                PendingCall call = byId.remove(item.path("id").asLong());
+                if (call != null) {
+                    call.response.complete(item);
+                }
+            }
+        } else if (batch.size() == 1) {
+            byId.remove(batch.get(0).id).response.complete(result);
+        } else {
+            log.error("Unexpected JSON-RPC batch response: {}", result);
+        }
+
+        byId.values().forEach(call -> call.response.completeExceptionally(
+                new IOException("No JSON-RPC response for request id " + call.id)));
+    }
+
+    private CompletableFuture<byte[]> post(String body) {
+        var request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofSeconds(20))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        throw new CompletionException(new IOException(
+                                "Invalid response received: " + response.statusCode() + "; " + new String(response.body())));
+                    }
+                    return response.body();
+                });
+    }
+
+    private static class PendingCall {
+        private final long id;
+        private final String payload;
+        private final CompletableFuture<JsonNode> response = new CompletableFuture<>();
+
+        private PendingCall(long id, String payload) {
+            this.id = id;
+            this.payload = payload;
+        }
+    }
+}
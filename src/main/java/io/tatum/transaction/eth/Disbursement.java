@@ -0,0 +1,26 @@
+package io.tatum.transaction.eth;
+
+import io.tatum.model.request.Currency;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Disbursement. One payment of ETH or a supported ERC20 token.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class Disbursement {
+
+    private String to;
+
+    /**
+     * Amount in ETH or in whole tokens.
+     */
+    private String amount;
+
+    private Currency currency;
+}
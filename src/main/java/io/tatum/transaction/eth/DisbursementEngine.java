@@ -0,0 +1,419 @@
+package io.tatum.transaction.eth;
+
+import io.tatum.blockchain.Ethereum;
+import io.tatum.contracts.erc20.Erc20Calldata;
+import io.tatum.model.request.Currency;
+import io.tatum.model.request.transaction.Fee;
+import io.tatum.model.response.common.TransactionHash;
+import io.tatum.security.KeyCache;
+import lombok.extern.log4j.Log4j2;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.utils.Convert;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.tatum.constants.Constant.CONTRACT_ADDRESSES;
+import static io.tatum.constants.Constant.CONTRACT_DECIMALS;
+import static org.bitcoinj.core.Utils.HEX;
+import static org.web3j.utils.Convert.Unit.ETHER;
+
+/**
+ * Pays a list of ETH and ERC20 disbursements from one address.
+ * <p>
+ * The gas price is read once per run and the nonces are allocated up front from the {@link NonceManager},
+ * then all transactions are signed in parallel. Broadcasting starts with the lowest nonce as soon as it is signed.
+ * The requests are issued one after another from the calling thread in nonce order, only the waits for
+ * the responses overlap, up to {@link #setMaxInFlight(int)} at once.
+ * <p>
+ * A nonce without a transaction would block all later ones, so the first failure stops the run.
+ * Transactions not broadcast yet give their nonces back and return to {@link DisbursementItem.Status#PENDING}.
+ * A transaction whose broadcast failed stays {@link DisbursementItem.Status#SIGNED}: the node may have received it,
+ * so {@link #resume(List)} broadcasts exactly the same transaction again instead of paying twice.
+ * Every change of an item is reported to the {@link Listener}, so the caller can persist the progress.
+ */
+@Log4j2
+public class DisbursementEngine {
+
+    /**
+     * The constant DEFAULT_MAX_IN_FLIGHT.
+     */
+    public static final int DEFAULT_MAX_IN_FLIGHT = 8;
+
+    /**
+     * Broadcasts signed transactions.
+     */
+    public interface Broadcaster {
+
+        /**
+         * Broadcast the transaction. The request is issued before the method returns, the response may arrive later.
+         *
+         * @param txData the signed transaction
+         * @return the transaction hash, completed with null if the broadcast failed
+         * @throws IOException the io exception
+         */
+        CompletableFuture<TransactionHash> broadcast(String txData) throws IOException;
+    }
+
+    /**
+     * Receives every change of an item. Called concurrently from the calling thread and the threads receiving responses.
+     */
+    public interface Listener {
+
+        /**
+         * On update.
+         *
+         * @param item the item
+         */
+        void onUpdate(DisbursementItem item);
+    }
+
+    private static class Job {
+        private final DisbursementItem item;
+        private final CompletableFuture<Void> signing;
+        private final boolean fresh;
+
+        private Job(DisbursementItem item, CompletableFuture<Void> signing, boolean fresh) {
+            this.item = item;
+            this.signing = signing;
+            this.fresh = fresh;
+        }
+    }
+
+    private final Credentials credentials;
+    private final Web3j web3j;
+    private final NonceManager nonces;
+    private final Broadcaster broadcaster;
+
+    private Fee fee;
+    private Executor signingExecutor = ForkJoinPool.commonPool();
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    private Listener listener = item -> {
+    };
+
+    private final AtomicInteger signed = new AtomicInteger();
+    private final AtomicInteger sent = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile long started;
+    private volatile long finished;
+
+    /**
+     * Instantiates a new Disbursement engine broadcasting through the Tatum API.
+     *
+     * @param fromPrivateKey the private key of the paying address
+     * @param provider       url of the Ethereum Server used for gas estimates. If not set, default public server will be used.
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public DisbursementEngine(String fromPrivateKey, String provider) throws ExecutionException, InterruptedException {
+        this(fromPrivateKey, Web3jClient.get(provider), NonceManager.getInstance(), txData -> new Ethereum().ethBroadcastAsync(txData, null));
+    }
+
+    /**
+     * Instantiates a new Disbursement engine.
+     *
+     * @param fromPrivateKey the private key of the paying address
+     * @param web3j          the web 3 j used for gas estimates
+     * @param nonces         the nonce manager
+     * @param broadcaster    the broadcaster
+     */
+    public DisbursementEngine(String fromPrivateKey, Web3j web3j, NonceManager nonces, Broadcaster broadcaster) {
+        this.credentials = KeyCache.getInstance().credentials(fromPrivateKey);
+        this.web3j = web3j;
+        this.nonces = nonces;
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Pay the disbursements.
+     *
+     * @param disbursements the disbursements
+     * @return the items in the order of the disbursements
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public List<DisbursementItem> disburse(List<Disbursement> disbursements) throws ExecutionException, InterruptedException {
+        List<DisbursementItem> items = new ArrayList<>(disbursements.size());
+        for (Disbursement disbursement : disbursements) {
+            items.add(new DisbursementItem(disbursement));
+        }
+        return resume(items);
+    }
+
+    /**
+     * Continue an interrupted run. Sent and failed items are skipped, signed items are broadcast again
+     * with their original nonce and pending items are signed with new nonces.
+     *
+     * @param items the items of the previous run
+     * @return the items
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public List<DisbursementItem> resume(List<DisbursementItem> items) throws ExecutionException, InterruptedException {
+        signed.set(0);
+        sent.set(0);
+        failed.set(0);
+        started = System.currentTimeMillis();
+        finished = 0;
+
+        String from = credentials.getAddress();
+        BigInteger gasPrice = EthUtil.getGasPrice(fee);
+        List<Job> jobs = new ArrayList<>();
+        for (DisbursementItem item : items) {
+            if (item.getStatus() == DisbursementItem.Status.SIGNED) {
+                // the nonce manager may be new or may have freed the nonce as dropped
+                nonces.reserve(from, item.getNonce());
+                jobs.add(new Job(item, CompletableFuture.completedFuture(null), false));
+            }
+        }
+        try {
+            for (DisbursementItem item : items) {
+                if (item.getStatus() == DisbursementItem.Status.PENDING) {
+                    item.setNonce(nonces.acquire(from));
+                    jobs.add(new Job(item, CompletableFuture.runAsync(() -> sign(item, gasPrice), signingExecutor), true));
+                }
+            }
+        } catch (ExecutionException | InterruptedException | RuntimeException e) {
+            jobs.stream().filter(job -> job.fresh).forEach(job -> unwind(job, from));
+            throw e;
+        }
+        jobs.sort(Comparator.comparing(job -> job.item.getNonce()));
+
+        Semaphore window = new Semaphore(maxInFlight);
+        AtomicBoolean stopped = new AtomicBoolean();
+        try {
+            for (Job job : jobs) {
+                if (!stopped.get() && signed(job, from)) {
+                    window.acquire();
+                    if (!stopped.get()) {
+                        // the next request is issued only after this one, the response is handled when it arrives
+                        send(job.item).whenComplete((hash, error) -> {
+                            try {
+                                broadcast(job.item, from, hash, error, stopped);
+                            } finally {
+                                window.release();
+                            }
+                        });
+                        continue;
+                    }
+                    window.release();
+                }
+                stopped.set(true);
+                if (job.fresh && job.item.getStatus() != DisbursementItem.Status.FAILED) {
+                    unwind(job, from);
+                }
+            }
+            // wait for the responses still outstanding
+            window.acquire(maxInFlight);
+        } finally {
+            finished = System.currentTimeMillis();
+        }
+        log.info("Disbursed {} of {} transactions, {} failed, {} tx/s.", sent.get(), jobs.size(), failed.get(), getTransactionsPerSecond());
+        return items;
+    }
+
+    /**
+     * Sets fee of all transactions. If not set, the gas price is read from the {@link GasPriceOracle}
+     * and the gas limits from the {@link GasLimitEstimator}.
+     *
+     * @param fee the fee
+     */
+    public void setFee(Fee fee) {
+        this.fee = fee;
+    }
+
+    /**
+     * Sets executor used to sign the transactions.
+     *
+     * @param signingExecutor the signing executor
+     */
+    public void setSigningExecutor(Executor signingExecutor) {
+        this.signingExecutor = signingExecutor;
+    }
+
+    /**
+     * Sets how many broadcasts may wait for a response at once.
+     *
+     * @param maxInFlight the max in flight
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Sets listener.
+     *
+     * @param listener the listener
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Number of transactions signed in the last run.
+     *
+     * @return the signed
+     */
+    public int getSigned() {
+        return signed.get();
+    }
+
+    /**
+     * Number of transactions accepted by the node in the last run.
+     *
+     * @return the sent
+     */
+    public int getSent() {
+        return sent.get();
+    }
+
+    /**
+     * Number of transactions which could not be built or broadcast in the last run.
+     *
+     * @return the failed
+     */
+    public int getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Duration of the last run, or of the current run so far.
+     *
+     * @return the elapsed millis
+     */
+    public long getElapsedMillis() {
+        if (started == 0) {
+            return 0;
+        }
+        return (finished != 0 ? finished : System.currentTimeMillis()) - started;
+    }
+
+    /**
+     * Transactions accepted by the node per second in the last run.
+     *
+     * @return the transactions per second
+     */
+    public double getTransactionsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed > 0 ? sent.get() * 1000.0 / elapsed : 0;
+    }
+
+    private void sign(DisbursementItem item, BigInteger gasPrice) {
+        try {
+            Disbursement disbursement = item.getDisbursement();
+            String to = disbursement.getTo();
+            BigInteger value = BigInteger.ZERO;
+            String data = "";
+            if (disbursement.getCurrency() == Currency.ETH) {
+                value = Convert.toWei(new BigDecimal(disbursement.getAmount()), ETHER).toBigInteger();
+            } else {
+                String currency = disbursement.getCurrency().getCurrency();
+                to = CONTRACT_ADDRESSES.get(currency);
+                if (to == null || !CONTRACT_DECIMALS.containsKey(currency)) {
+                    throw new IllegalArgumentException("Unsupported currency " + currency);
+                }
+                data = Erc20Calldata.transfer(disbursement.getTo(), EthUtil.convertAmount(disbursement.getAmount(), CONTRACT_DECIMALS.get(currency)));
+            }
+
+            BigInteger gasLimit = fee != null ? new BigInteger(fee.getGasLimit()) : GasLimitEstimator.getInstance().estimate(web3j,
+                    new Transaction(credentials.getAddress(), item.getNonce(), gasPrice, null, to, value, data));
+            RawTransaction rawTransaction = RawTransaction.createTransaction(item.getNonce(), gasPrice, gasLimit, to, value, data);
+            byte[] signedMessage = TransactionEncoder.signMessage(rawTransaction, credentials);
+            item.setTxData(HEX.encode(signedMessage));
+            item.setTxId(Numeric.toHexString(Hash.sha3(signedMessage)));
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /**
+     * Wait until the transaction of the job is signed. A transaction which cannot be built fails its item.
+     */
+    private boolean signed(Job job, String from) {
+        DisbursementItem item = job.item;
+        try {
+            job.signing.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Unable to sign disbursement to {}: {}", item.getDisbursement().getTo(), cause.getMessage());
+            nonces.release(from, item.getNonce());
+            item.setStatus(DisbursementItem.Status.FAILED);
+            item.setNonce(null);
+            item.setError(cause.getMessage());
+            failed.incrementAndGet();
+            listener.onUpdate(item);
+            return false;
+        }
+        if (job.fresh) {
+            item.setStatus(DisbursementItem.Status.SIGNED);
+            item.setError(null);
+            signed.incrementAndGet();
+            listener.onUpdate(item);
+        }
+        return true;
+    }
+
+    private CompletableFuture<TransactionHash> send(DisbursementItem item) {
+        try {
+            return broadcaster.broadcast(item.getTxData());
+        } catch (IOException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void broadcast(DisbursementItem item, String from, TransactionHash hash, Throwable failure, AtomicBoolean stopped) {
+        String error = null;
+        if (failure != null) {
+            Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+            error = cause.getMessage();
+        }
+
+        // a failed broadcast may still have reached the node, so its nonce stays in use until the node resyncs
+        nonces.sent(from, item.getNonce());
+        if (hash != null) {
+            item.setStatus(DisbursementItem.Status.SENT);
+            if (hash.getTxId() != null) {
+                item.setTxId(hash.getTxId());
+            }
+            sent.incrementAndGet();
+        } else {
+            stopped.set(true);
+            item.setError(error != null ? error : "Broadcast failed.");
+            failed.incrementAndGet();
+            log.error("Unable to broadcast disbursement to {} with nonce {}: {}", item.getDisbursement().getTo(), item.getNonce(), item.getError());
+        }
+        listener.onUpdate(item);
+    }
+
+    /**
+     * Give the nonce of a transaction which was not broadcast back.
+     */
+    private void unwind(Job job, String from) {
+        job.signing.handle((result, error) -> null).join();
+        DisbursementItem item = job.item;
+        nonces.release(from, item.getNonce());
+        item.setStatus(DisbursementItem.Status.PENDING);
+        item.setNonce(null);
+        item.setTxData(null);
+        item.setTxId(null);
+        listener.onUpdate(item);
+    }
+}
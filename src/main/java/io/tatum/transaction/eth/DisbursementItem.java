@@ -0,0 +1,61 @@
+package io.tatum.transaction.eth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+
+/**
+ * The type Disbursement item. Progress of one disbursement, persisted by the caller to resume an interrupted batch.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class DisbursementItem {
+
+    /**
+     * The enum Status.
+     */
+    public enum Status {
+        /**
+         * Not signed yet, or signed but given up before the broadcast.
+         */
+        PENDING,
+        /**
+         * Signed with the nonce, the transaction may or may not have reached the node.
+         */
+        SIGNED,
+        /**
+         * Accepted by the node.
+         */
+        SENT,
+        /**
+         * The transaction could not be built, e.g. the recipient is invalid.
+         */
+        FAILED
+    }
+
+    private Disbursement disbursement;
+    private Status status;
+    private BigInteger nonce;
+    private String txData;
+
+    /**
+     * Hash of the signed transaction, known before the broadcast.
+     */
+    private String txId;
+
+    private String error;
+
+    /**
+     * Instantiates a new pending Disbursement item.
+     *
+     * @param disbursement the disbursement
+     */
+    public DisbursementItem(Disbursement disbursement) {
+        this(disbursement, Status.PENDING, null, null, null, null);
+    }
+}
@@ -0,0 +1,31 @@
+package io.tatum.transaction.eth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+
+/**
+ * The type Erc 20 transfer. One Transfer event of a token contract, addresses are in lower case.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class Erc20Transfer {
+
+    private String token;
+    private String from;
+    private String to;
+
+    /**
+     * Value in the smallest unit of the token.
+     */
+    private BigInteger value;
+
+    private String txId;
+    private long blockNumber;
+    private long logIndex;
+}
@@ -1,24 +1,22 @@
 package io.tatum.transaction.eth;
 
 import io.tatum.model.request.transaction.Fee;
-import io.tatum.utils.Async;
 import io.tatum.utils.NumericUtil;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang3.StringUtils;
-import org.json.JSONObject;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.EthEstimateGas;
-import org.web3j.utils.Convert;
 import org.web3j.utils.Numeric;
 
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
-import static org.web3j.utils.Convert.Unit.GWEI;
-
 /**
  * The type Eth util.
  */
@@ -43,7 +41,7 @@ public class EthUtil {
     }
 
     /**
-     * Estimate gas big integer.
+     * Estimate gas big integer. Known cases are answered by the {@link GasLimitEstimator} without a request.
      *
      * @param web3j       the web 3 j
      * @param transaction the transaction
@@ -51,6 +49,18 @@ public class EthUtil {
      * @throws IOException the io exception
      */
     public static BigInteger estimateGas(Web3j web3j, Transaction transaction) throws IOException {
+        return GasLimitEstimator.getInstance().estimate(web3j, transaction);
+    }
+
+    /**
+     * Estimate gas big integer with the node.
+     *
+     * @param web3j       the web 3 j
+     * @param transaction the transaction
+     * @return the big integer
+     * @throws IOException the io exception
+     */
+    public static BigInteger estimateGasRemotely(Web3j web3j, Transaction transaction) throws IOException {
         EthEstimateGas ethEstimateGas = web3j.ethEstimateGas(transaction).send();
         if (ethEstimateGas.getError() != null) {
             log.error(ethEstimateGas.getError().getMessage());
@@ -58,6 +68,33 @@ public class EthUtil {
         return ethEstimateGas.getAmountUsed().add(BigInteger.valueOf(5000));
     }
 
+    /**
+     * Estimate gas for several transactions at once. All requests are issued concurrently,
+     * so a batching web3j client sends them to the provider in a single round-trip.
+     *
+     * @param web3j        the web 3 j
+     * @param transactions the transactions
+     * @return the list of gas limits in the order of the transactions
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public static List<BigInteger> estimateGas(Web3j web3j, List<Transaction> transactions) throws ExecutionException, InterruptedException {
+        List<CompletableFuture<EthEstimateGas>> futures = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            futures.add(web3j.ethEstimateGas(transaction).sendAsync());
+        }
+
+        List<BigInteger> result = new ArrayList<>(futures.size());
+        for (CompletableFuture<EthEstimateGas> future : futures) {
+            EthEstimateGas ethEstimateGas = future.get();
+            if (ethEstimateGas.getError() != null) {
+                log.error(ethEstimateGas.getError().getMessage());
+            }
+            result.add(ethEstimateGas.getAmountUsed().add(BigInteger.valueOf(5000)));
+        }
+        return result;
+    }
+
     /**
      * Convert amount big integer.
      *
@@ -82,15 +119,18 @@ public class EthUtil {
     }
 
     /**
-     * Estimate Gas price for the transaction.
+     * Estimate Gas price for the transaction. The price is read from the {@link GasPriceOracle} without any request,
+     * fetching is left to its background refresh.
      *
      * @return the big decimal
-     * @throws ExecutionException   the execution exception
+     * @throws ExecutionException   when the oracle has no fresh gas price
      * @throws InterruptedException the interrupted exception
      */
     public static BigDecimal ethGetGasPriceInWei() throws ExecutionException, InterruptedException {
-        var data = Async.getJson("https://ethgasstation.info/json/ethgasAPI.json");
-        JSONObject jsonObject = new JSONObject(data);
-        return Convert.toWei(jsonObject.getBigDecimal("fast").divide(BigDecimal.TEN), GWEI);
+        GasPriceOracle oracle = GasPriceOracle.getInstance();
+        if (!oracle.isFresh()) {
+            throw new ExecutionException(new IllegalStateException("Unable to get gas price."));
+        }
+        return new BigDecimal(oracle.getGasPrice(GasPriceOracle.Speed.FAST));
     }
 }
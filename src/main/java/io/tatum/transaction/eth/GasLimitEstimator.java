@@ -0,0 +1,202 @@
+package io.tatum.transaction.eth;
+
+import org.apache.commons.lang3.StringUtils;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.request.Transaction;
+import org.web3j.protocol.core.methods.response.EthGetCode;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gas limits answered locally whenever possible.
+ * <p>
+ * A transfer of ether without data to an address without code always costs 21000 gas.
+ * ABI encoded calls of contracts, a method selector followed by 32 byte words, are cached per contract,
+ * method selector and calldata length: the first call is estimated by the node, later calls use that estimate
+ * increased by the safety margin until the estimate is refreshed. Transactions with any other data, e.g. a note
+ * attached to a transfer of ether, and contract deployments are always estimated by the node.
+ */
+public class GasLimitEstimator {
+
+    /**
+     * The constant TRANSFER_GAS_LIMIT.
+     */
+    public static final BigInteger TRANSFER_GAS_LIMIT = BigInteger.valueOf(21_000);
+
+    /**
+     * The constant DEFAULT_REFRESH_MILLIS.
+     */
+    public static final long DEFAULT_REFRESH_MILLIS = 600_000;
+
+    /**
+     * The constant DEFAULT_MARGIN. A token transfer to a new holder costs about 40 % more than to an existing one.
+     */
+    public static final BigDecimal DEFAULT_MARGIN = new BigDecimal("0.5");
+
+    private static final int MAX_ENTRIES = 100_000;
+    private static final GasLimitEstimator INSTANCE = new GasLimitEstimator(DEFAULT_REFRESH_MILLIS, DEFAULT_MARGIN);
+
+    /**
+     * Estimates gas limits remotely.
+     */
+    public interface Remote {
+
+        /**
+         * Estimate gas.
+         *
+         * @param web3j       the web 3 j
+         * @param transaction the transaction
+         * @return the gas limit
+         * @throws IOException the io exception
+         */
+        BigInteger estimate(Web3j web3j, Transaction transaction) throws IOException;
+    }
+
+    /**
+     * Reads the code deployed at addresses.
+     */
+    public interface Code {
+
+        /**
+         * Get code.
+         *
+         * @param web3j   the web 3 j
+         * @param address the address
+         * @return the code, null if it is not known
+         * @throws IOException the io exception
+         */
+        String get(Web3j web3j, String address) throws IOException;
+    }
+
+    private static class Estimate {
+        private final BigInteger gasLimit;
+        private final long estimated;
+
+        private Estimate(BigInteger gasLimit, long estimated) {
+            this.gasLimit = gasLimit;
+            this.estimated = estimated;
+        }
+    }
+
+    private final long refreshMillis;
+    private final BigDecimal margin;
+    private final Remote remote;
+    private final Code code;
+    private final Map<String, Boolean> contracts = new ConcurrentHashMap<>();
+    private final Map<String, Estimate> estimates = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Gas limit estimator estimating with the node.
+     *
+     * @param refreshMillis how long a cached estimate is used
+     * @param margin        the margin added to cached estimates, e.g. 0.5 for 50 %
+     */
+    public GasLimitEstimator(long refreshMillis, BigDecimal margin) {
+        this(refreshMillis, margin, EthUtil::estimateGasRemotely);
+    }
+
+    /**
+     * Instantiates a new Gas limit estimator.
+     *
+     * @param refreshMillis how long a cached estimate is used
+     * @param margin        the margin added to cached estimates, e.g. 0.5 for 50 %
+     * @param remote        the remote estimation
+     */
+    public GasLimitEstimator(long refreshMillis, BigDecimal margin, Remote remote) {
+        this(refreshMillis, margin, remote, GasLimitEstimator::nodeCode);
+    }
+
+    /**
+     * Instantiates a new Gas limit estimator.
+     *
+     * @param refreshMillis how long a cached estimate is used
+     * @param margin        the margin added to cached estimates, e.g. 0.5 for 50 %
+     * @param remote        the remote estimation
+     * @param code          the code of the called addresses
+     */
+    public GasLimitEstimator(long refreshMillis, BigDecimal margin, Remote remote, Code code) {
+        this.refreshMillis = refreshMillis;
+        this.margin = margin;
+        this.remote = remote;
+        this.code = code;
+    }
+
+    /**
+     * Shared gas limit estimator.
+     *
+     * @return the instance
+     */
+    public static GasLimitEstimator getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Estimate gas limit of the transaction.
+     *
+     * @param web3j       the web 3 j
+     * @param transaction the transaction
+     * @return the gas limit
+     * @throws IOException the io exception
+     */
+    public BigInteger estimate(Web3j web3j, Transaction transaction) throws IOException {
+        String to = transaction.getTo();
+        if (StringUtils.isEmpty(to)) {
+            return remote.estimate(web3j, transaction);
+        }
+        to = to.toLowerCase();
+
+        String data = Numeric.cleanHexPrefix(StringUtils.defaultString(transaction.getData())).toLowerCase();
+        Boolean contract = isContract(web3j, to);
+        if (data.isEmpty()) {
+            // an address with unknown code is left to the node
+            return Boolean.FALSE.equals(contract) ? TRANSFER_GAS_LIMIT : remote.estimate(web3j, transaction);
+        }
+        if (!Boolean.TRUE.equals(contract) || data.length() < 8 || (data.length() - 8) % 64 != 0) {
+            return remote.estimate(web3j, transaction);
+        }
+
+        String key = to + ':' + data.substring(0, 8) + ':' + data.length() / 2;
+        long now = System.currentTimeMillis();
+        Estimate cached = estimates.get(key);
+        if (cached != null && now - cached.estimated < refreshMillis) {
+            return new BigDecimal(cached.gasLimit).multiply(BigDecimal.ONE.add(margin)).toBigInteger();
+        }
+
+        BigInteger gasLimit = remote.estimate(web3j, transaction);
+        if (estimates.size() >= MAX_ENTRIES) {
+            estimates.clear();
+        }
+        estimates.put(key, new Estimate(gasLimit, now));
+        return gasLimit;
+    }
+
+    /**
+     * Whether code is deployed at the address, null if it is not known.
+     */
+    private Boolean isContract(Web3j web3j, String address) throws IOException {
+        Boolean contract = contracts.get(address);
+        if (contract == null) {
+            String deployed = code.get(web3j, address);
+            if (deployed == null) {
+                return null;
+            }
+            contract = !deployed.isEmpty() && !deployed.equals("0x");
+            if (contracts.size() >= MAX_ENTRIES) {
+                contracts.clear();
+            }
+            contracts.put(address, contract);
+        }
+        return contract;
+    }
+
+    private static String nodeCode(Web3j web3j, String address) throws IOException {
+        EthGetCode code = web3j.ethGetCode(address, DefaultBlockParameterName.LATEST).send();
+        return code.hasError() ? null : StringUtils.defaultString(code.getCode());
+    }
+}
@@ -0,0 +1,250 @@
+package io.tatum.transaction.eth;
+
+import io.tatum.utils.Async;
+import io.tatum.utils.TieredPriceCache;
+import lombok.extern.log4j.Log4j2;
+import org.json.JSONObject;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+import org.web3j.utils.Convert;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static org.web3j.utils.Convert.Unit.GWEI;
+
+/**
+ * Cached Ethereum gas prices, refreshed in the background.
+ * <p>
+ * Callers read the last known price without any network call and never wait for a refresh. Until the first
+ * refresh succeeds, or when the last successful refresh is older than the staleness bound, the fallback prices
+ * are returned with a warning; {@link #isFresh()} tells the two apart.
+ *
+ * @see TieredPriceCache
+ */
+@Log4j2
+public class GasPriceOracle implements AutoCloseable {
+
+    /**
+     * The constant DEFAULT_REFRESH_MILLIS.
+     */
+    public static final long DEFAULT_REFRESH_MILLIS = 15_000;
+
+    /**
+     * The constant DEFAULT_MAX_STALENESS_MILLIS.
+     */
+    public static final long DEFAULT_MAX_STALENESS_MILLIS = 300_000;
+
+    private static final String ETH_GAS_STATION_URL = "https://ethgasstation.info/json/ethgasAPI.json";
+
+    /**
+     * How soon the transaction should be mined.
+     */
+    public enum Speed {
+        /**
+         * Within a few blocks.
+         */
+        FAST,
+        /**
+         * Within a few minutes.
+         */
+        STANDARD,
+        /**
+         * Cheapest price still mined.
+         */
+        SLOW
+    }
+
+    /**
+     * Source of the recommended gas prices.
+     */
+    public interface Source {
+
+        /**
+         * Fetch gas prices in wei.
+         *
+         * @return the gas prices by speed, null if they are not available
+         * @throws IOException          the io exception
+         * @throws ExecutionException   the execution exception
+         * @throws InterruptedException the interrupted exception
+         */
+        Map<Speed, BigInteger> fetch() throws IOException, ExecutionException, InterruptedException;
+    }
+
+    private static class Holder {
+        private static final GasPriceOracle INSTANCE = new GasPriceOracle(node(null), DEFAULT_REFRESH_MILLIS,
+                DEFAULT_MAX_STALENESS_MILLIS, fallback(Convert.toWei(BigDecimal.valueOf(20), GWEI).toBigInteger()));
+    }
+
+    private final long maxStalenessMillis;
+    private final Map<Speed, BigInteger> fallback;
+    private final TieredPriceCache<Speed, BigInteger> prices;
+
+    /**
+     * Instantiates a new Gas price oracle.
+     *
+     * @param source             the source
+     * @param refreshMillis      how often the prices are refreshed
+     * @param maxStalenessMillis how long the last fetched prices are used when refreshes fail
+     * @param fallback           the prices used when there are no fresh prices
+     */
+    public GasPriceOracle(Source source, long refreshMillis, long maxStalenessMillis, Map<Speed, BigInteger> fallback) {
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.fallback = new EnumMap<>(fallback);
+        this.prices = new TieredPriceCache<>("gas-price", fallback, () -> positive(source.fetch()), refreshMillis);
+    }
+
+    /**
+     * Shared oracle backed by eth_gasPrice of the default provider.
+     *
+     * @return the instance
+     */
+    public static GasPriceOracle getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Prices of ETH Gas Station.
+     *
+     * @return the source
+     */
+    public static Source ethGasStation() {
+        return () -> {
+            String data = Async.getJson(ETH_GAS_STATION_URL);
+            if (data == null) {
+                return null;
+            }
+            JSONObject json = new JSONObject(data);
+            Map<Speed, BigInteger> prices = new EnumMap<>(Speed.class);
+            // ETH Gas Station reports prices in tenths of gwei
+            prices.put(Speed.FAST, Convert.toWei(json.getBigDecimal("fast").divide(BigDecimal.TEN), GWEI).toBigInteger());
+            prices.put(Speed.STANDARD, Convert.toWei(json.getBigDecimal("average").divide(BigDecimal.TEN), GWEI).toBigInteger());
+            prices.put(Speed.SLOW, Convert.toWei(json.getBigDecimal("safeLow").divide(BigDecimal.TEN), GWEI).toBigInteger());
+            return prices;
+        };
+    }
+
+    /**
+     * Price reported by eth_gasPrice of the provider, see {@link #web3(Web3j)}. The client is looked up
+     * in the {@link Web3jClient} registry on every fetch, so it survives {@link Web3jClient#shutdown()}.
+     *
+     * @param provider the provider, null for the Tatum provider
+     * @return the source
+     */
+    public static Source node(String provider) {
+        return () -> web3(Web3jClient.get(provider)).fetch();
+    }
+
+    /**
+     * Price reported by eth_gasPrice of the node as the standard price, fast and slow prices are 25 % above and 20 % below.
+     *
+     * @param web3j the web 3 j
+     * @return the source
+     */
+    public static Source web3(Web3j web3j) {
+        return () -> {
+            EthGasPrice gasPrice = web3j.ethGasPrice().send();
+            if (gasPrice.hasError()) {
+                log.error(gasPrice.getError().getMessage());
+                return null;
+            }
+            BigInteger standard = gasPrice.getGasPrice();
+            Map<Speed, BigInteger> prices = new EnumMap<>(Speed.class);
+            prices.put(Speed.FAST, standard.multiply(BigInteger.valueOf(5)).divide(BigInteger.valueOf(4)));
+            prices.put(Speed.STANDARD, standard);
+            prices.put(Speed.SLOW, standard.multiply(BigInteger.valueOf(4)).divide(BigInteger.valueOf(5)));
+            return prices;
+        };
+    }
+
+    /**
+     * Same fixed price for all speeds, e.g. for local development networks.
+     *
+     * @param gasPrice the gas price in wei
+     * @return the source
+     */
+    public static Source fixed(BigInteger gasPrice) {
+        Map<Speed, BigInteger> prices = new EnumMap<>(Speed.class);
+        for (Speed speed : Speed.values()) {
+            prices.put(speed, gasPrice);
+        }
+        return () -> prices;
+    }
+
+    /**
+     * Fallback prices around the standard price, fast is 50 % above and slow 50 % below.
+     *
+     * @param standard the standard gas price in wei
+     * @return the fallback prices
+     */
+    public static Map<Speed, BigInteger> fallback(BigInteger standard) {
+        Map<Speed, BigInteger> prices = new EnumMap<>(Speed.class);
+        prices.put(Speed.FAST, standard.multiply(BigInteger.valueOf(3)).divide(BigInteger.TWO));
+        prices.put(Speed.STANDARD, standard);
+        prices.put(Speed.SLOW, standard.divide(BigInteger.TWO));
+        return prices;
+    }
+
+    /**
+     * Gas price in wei.
+     *
+     * @param speed the speed
+     * @return the gas price
+     */
+    public BigInteger getGasPrice(Speed speed) {
+        BigInteger price = prices.get(speed);
+        if (!isFresh()) {
+            log.warn("No fresh gas price, using the fallback price.");
+            return fallback.get(speed);
+        }
+        return price;
+    }
+
+    /**
+     * Whether the prices were refreshed within the staleness bound.
+     *
+     * @return the boolean
+     */
+    public boolean isFresh() {
+        long updated = prices.getUpdated();
+        return updated != 0 && System.currentTimeMillis() - updated <= maxStalenessMillis;
+    }
+
+    /**
+     * Time of the last successful refresh in milliseconds, 0 if the fallback prices are used.
+     *
+     * @return the updated
+     */
+    public long getUpdated() {
+        return prices.getUpdated();
+    }
+
+    /**
+     * Refresh the prices now.
+     */
+    public void refresh() {
+        prices.refresh();
+    }
+
+    @Override
+    public void close() {
+        prices.close();
+    }
+
+    private static Map<Speed, BigInteger> positive(Map<Speed, BigInteger> fetched) {
+        if (fetched == null) {
+            return null;
+        }
+        Map<Speed, BigInteger> prices = new EnumMap<>(Speed.class);
+        fetched.forEach((speed, price) -> {
+            if (price != null && price.signum() > 0) {
+                prices.put(speed, price);
+            }
+        });
+        return prices;
+    }
+}
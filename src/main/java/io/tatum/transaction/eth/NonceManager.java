@@ -0,0 +1,284 @@
+package io.tatum.transaction.eth;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.tatum.blockchain.Ethereum;
+import lombok.extern.log4j.Log4j2;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands out nonces of Ethereum addresses to concurrent senders.
+ * <p>
+ * The nonce of an address is read from the chain once, then nonces are allocated locally.
+ * A nonce is allocated by {@link #acquire(String)} and must be reported either by {@link #sent(String, BigInteger)}
+ * when the transaction was broadcast or by {@link #release(String, BigInteger)} when it was not.
+ * Released nonces are handed out again before new ones, so a failed broadcast does not leave a gap
+ * which would block all later transactions of the address.
+ * <p>
+ * {@link #resync(String)} compares the local state with the pending transaction count of the node.
+ * When the node is ahead, another sender used the address and the local counter jumps forward.
+ * When the node is behind, broadcast transactions were dropped and their nonces are handed out again.
+ */
+@Log4j2
+public class NonceManager implements AutoCloseable {
+
+    /**
+     * The constant DEFAULT_DROP_GRACE_MILLIS. Broadcast transactions younger than this are never considered dropped.
+     */
+    public static final long DEFAULT_DROP_GRACE_MILLIS = 30_000;
+
+    private static final NonceManager INSTANCE = new NonceManager(address -> new Ethereum().ethGetTransactionsCount(address));
+
+    /**
+     * Source of the transaction counts of the addresses.
+     */
+    public interface Source {
+
+        /**
+         * Transaction count of the address including pending transactions.
+         *
+         * @param address the address
+         * @return the transaction count, null if it is not available
+         * @throws ExecutionException   the execution exception
+         * @throws InterruptedException the interrupted exception
+         */
+        BigInteger pendingCount(String address) throws ExecutionException, InterruptedException;
+    }
+
+    private static class Account {
+        private final String address;
+        private final TreeSet<BigInteger> released = new TreeSet<>();
+        private final Set<BigInteger> allocated = new HashSet<>();
+        private final Map<BigInteger, Long> inFlight = new HashMap<>();
+        private BigInteger next;
+
+        private Account(String address) {
+            this.address = address;
+        }
+    }
+
+    private final Source source;
+    private final Map<String, Account> accounts = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private volatile long dropGraceMillis = DEFAULT_DROP_GRACE_MILLIS;
+
+    /**
+     * Instantiates a new Nonce manager.
+     *
+     * @param source the source
+     */
+    public NonceManager(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * Shared nonce manager backed by the Tatum API.
+     *
+     * @return the instance
+     */
+    public static NonceManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Allocate the next nonce of the address.
+     *
+     * @param address the address
+     * @return the nonce
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public BigInteger acquire(String address) throws ExecutionException, InterruptedException {
+        Account account = account(address);
+        synchronized (account) {
+            if (account.next == null) {
+                account.next = count(address);
+            }
+            BigInteger nonce = account.released.pollFirst();
+            if (nonce == null) {
+                nonce = account.next;
+                account.next = nonce.add(BigInteger.ONE);
+            }
+            account.allocated.add(nonce);
+            return nonce;
+        }
+    }
+
+    /**
+     * Mark a nonce used by a transaction signed earlier, e.g. before a restart, as in flight.
+     * It is not handed out again, and the counter moves past it; nonces skipped that way are handed out first.
+     *
+     * @param address the address
+     * @param nonce   the nonce
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public void reserve(String address, BigInteger nonce) throws ExecutionException, InterruptedException {
+        Account account = account(address);
+        synchronized (account) {
+            if (account.next == null) {
+                account.next = count(address);
+            }
+            account.released.remove(nonce);
+            account.inFlight.put(nonce, System.currentTimeMillis());
+            while (account.next.compareTo(nonce) < 0) {
+                account.released.add(account.next);
+                account.next = account.next.add(BigInteger.ONE);
+            }
+            if (account.next.equals(nonce)) {
+                account.next = nonce.add(BigInteger.ONE);
+            }
+        }
+    }
+
+    /**
+     * Report that the transaction with the allocated nonce was broadcast.
+     *
+     * @param address the address
+     * @param nonce   the nonce
+     */
+    public void sent(String address, BigInteger nonce) {
+        Account account = account(address);
+        synchronized (account) {
+            account.allocated.remove(nonce);
+            account.inFlight.put(nonce, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Report that the transaction with the allocated nonce was not broadcast, the nonce is handed out again.
+     *
+     * @param address the address
+     * @param nonce   the nonce
+     */
+    public void release(String address, BigInteger nonce) {
+        Account account = account(address);
+        synchronized (account) {
+            if (account.allocated.remove(nonce)) {
+                account.released.add(nonce);
+                trim(account);
+            }
+        }
+    }
+
+    /**
+     * Compare the local state of the address with the node and fix drift and gaps.
+     *
+     * @param address the address
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public void resync(String address) throws ExecutionException, InterruptedException {
+        BigInteger count = count(address);
+        Account account = account(address);
+        synchronized (account) {
+            account.released.removeIf(nonce -> nonce.compareTo(count) < 0);
+            account.inFlight.keySet().removeIf(nonce -> nonce.compareTo(count) < 0);
+            if (account.next == null || count.compareTo(account.next) > 0) {
+                if (account.next != null) {
+                    log.warn("Nonce of {} drifted from {} to {}.", address, account.next, count);
+                }
+                account.next = count;
+                return;
+            }
+
+            long dropped = System.currentTimeMillis() - dropGraceMillis;
+            for (BigInteger nonce = count; nonce.compareTo(account.next) < 0; nonce = nonce.add(BigInteger.ONE)) {
+                Long sent = account.inFlight.get(nonce);
+                if (account.allocated.contains(nonce) || (sent != null && sent > dropped)) {
+                    continue;
+                }
+                if (sent != null) {
+                    log.warn("Transaction of {} with nonce {} was dropped.", address, nonce);
+                    account.inFlight.remove(nonce);
+                }
+                account.released.add(nonce);
+            }
+            trim(account);
+        }
+    }
+
+    /**
+     * Resync all known addresses every interval until {@link #close()} is called.
+     *
+     * @param intervalMillis the interval millis
+     */
+    public synchronized void start(long intervalMillis) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("eth-nonce-%d").setDaemon(true).build());
+        scheduler.scheduleWithFixedDelay(() -> {
+            for (Account account : accounts.values()) {
+                try {
+                    resync(account.address);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (Exception e) {
+                    log.error(e.getMessage(), e);
+                }
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Number of broadcast transactions of the address not yet seen by the node.
+     *
+     * @param address the address
+     * @return the int
+     */
+    public int getInFlight(String address) {
+        Account account = account(address);
+        synchronized (account) {
+            return account.inFlight.size();
+        }
+    }
+
+    /**
+     * Sets how long a broadcast transaction may be missing at the node before its nonce is handed out again.
+     *
+     * @param dropGraceMillis the drop grace millis
+     */
+    public void setDropGraceMillis(long dropGraceMillis) {
+        this.dropGraceMillis = dropGraceMillis;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private Account account(String address) {
+        return accounts.computeIfAbsent(address.toLowerCase(), Account::new);
+    }
+
+    private BigInteger count(String address) throws ExecutionException, InterruptedException {
+        BigInteger count = source.pendingCount(address);
+        if (count == null) {
+            throw new ExecutionException(new IllegalStateException("Unable to get transaction count of " + address));
+        }
+        return count;
+    }
+
+    // released nonces at the top are not gaps, the counter moves back instead
+    private static void trim(Account account) {
+        while (!account.released.isEmpty() && account.released.last().equals(account.next.subtract(BigInteger.ONE))) {
+            account.next = account.released.pollLast();
+        }
+    }
+}
@@ -0,0 +1,357 @@
+package io.tatum.transaction.eth;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.tatum.blockchain.Ethereum;
+import io.tatum.model.response.common.TransactionHash;
+import io.tatum.security.KeyCache;
+import lombok.extern.log4j.Log4j2;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.crypto.TransactionEncoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.bitcoinj.core.Utils.HEX;
+
+/**
+ * Replaces Ethereum transactions which stay pending too long.
+ * <p>
+ * An underpriced transaction blocks all later nonces of its address. Every check, a tracked transaction pending
+ * longer than the stuck time is signed again with the same nonce and parameters and a higher gas price,
+ * and broadcast. The gas price grows by the bump, at least by the 10 % nodes require to accept a replacement,
+ * and at least to the fast price of the {@link GasPriceOracle}, but never above the maximum gas price.
+ * Once the nonce is mined, the monitor finds which of the transactions it was and stops tracking it.
+ */
+@Log4j2
+public class StuckTransactionMonitor implements AutoCloseable {
+
+    /**
+     * The constant DEFAULT_STUCK_MILLIS.
+     */
+    public static final long DEFAULT_STUCK_MILLIS = 180_000;
+
+    /**
+     * The constant DEFAULT_BUMP. Nodes accept a replacement only with at least 10 % higher gas price.
+     */
+    public static final BigDecimal DEFAULT_BUMP = new BigDecimal("0.125");
+
+    private static final BigDecimal MIN_BUMP = new BigDecimal("0.1");
+
+    /**
+     * State of the transactions on the chain.
+     */
+    public interface Chain {
+
+        /**
+         * Number of mined transactions of the address.
+         *
+         * @param address the address
+         * @return the mined count
+         * @throws IOException the io exception
+         */
+        BigInteger minedCount(String address) throws IOException;
+
+        /**
+         * Whether the transaction was mined.
+         *
+         * @param txId the tx id
+         * @return the boolean
+         * @throws IOException the io exception
+         */
+        boolean isMined(String txId) throws IOException;
+    }
+
+    /**
+     * Broadcasts signed transactions.
+     */
+    public interface Broadcaster {
+
+        /**
+         * Broadcast the transaction.
+         *
+         * @param txData the signed transaction
+         * @return the transaction hash, null if the broadcast failed
+         * @throws IOException          the io exception
+         * @throws ExecutionException   the execution exception
+         * @throws InterruptedException the interrupted exception
+         */
+        TransactionHash broadcast(String txData) throws IOException, ExecutionException, InterruptedException;
+    }
+
+    /**
+     * Receives the tracked transactions whose nonce was mined.
+     */
+    public interface Listener {
+
+        /**
+         * On mined.
+         *
+         * @param transaction the transaction, {@link TrackedTransaction#getMinedTxId()} tells which one was mined
+         */
+        void onMined(TrackedTransaction transaction);
+    }
+
+    private static class Holder {
+        private static final StuckTransactionMonitor INSTANCE = new StuckTransactionMonitor(web3(), txData -> new Ethereum().ethBroadcast(txData, null),
+                GasPriceOracle.getInstance(), DEFAULT_STUCK_MILLIS, DEFAULT_BUMP, null);
+    }
+
+    private final Chain chain;
+    private final Broadcaster broadcaster;
+    private final GasPriceOracle oracle;
+    private final long stuckMillis;
+    private final BigDecimal bump;
+    private final BigInteger maxGasPrice;
+    private final Map<String, TrackedTransaction> tracked = new ConcurrentHashMap<>();
+    private final Map<String, Credentials> credentials = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private volatile Listener listener = transaction -> {
+    };
+
+    /**
+     * Instantiates a new Stuck transaction monitor.
+     *
+     * @param chain       the chain
+     * @param broadcaster the broadcaster
+     * @param oracle      the gas price oracle, null to bump by the bump only
+     * @param stuckMillis how long a transaction may be pending before it is replaced
+     * @param bump        the gas price increase of a replacement, e.g. 0.125 for 12.5 %
+     * @param maxGasPrice the highest gas price of a replacement in wei, null for no limit
+     */
+    public StuckTransactionMonitor(Chain chain, Broadcaster broadcaster, GasPriceOracle oracle, long stuckMillis,
+                                   BigDecimal bump, BigInteger maxGasPrice) {
+        this.chain = chain;
+        this.broadcaster = broadcaster;
+        this.oracle = oracle;
+        this.stuckMillis = stuckMillis;
+        this.bump = bump.max(MIN_BUMP);
+        this.maxGasPrice = maxGasPrice;
+    }
+
+    /**
+     * Shared monitor backed by the Tatum API. It tracks transactions sent by {@link io.tatum.transaction.EthTx}
+     * only after {@link #start(long)} was called.
+     *
+     * @return the instance
+     */
+    public static StuckTransactionMonitor getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Chain state read from the default Web3j provider.
+     *
+     * @return the chain
+     */
+    public static Chain web3() {
+        return new Chain() {
+            @Override
+            public BigInteger minedCount(String address) throws IOException {
+                EthGetTransactionCount count = web3j().ethGetTransactionCount(address, DefaultBlockParameterName.LATEST).send();
+                if (count.hasError()) {
+                    throw new IOException(count.getError().getMessage());
+                }
+                return count.getTransactionCount();
+            }
+
+            @Override
+            public boolean isMined(String txId) throws IOException {
+                EthGetTransactionReceipt receipt = web3j().ethGetTransactionReceipt(txId).send();
+                if (receipt.hasError()) {
+                    throw new IOException(receipt.getError().getMessage());
+                }
+                return receipt.getTransactionReceipt().isPresent();
+            }
+
+            private Web3j web3j() throws IOException {
+                try {
+                    return Web3jClient.get(null);
+                } catch (ExecutionException e) {
+                    throw new IOException(e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * Track a broadcast transaction.
+     *
+     * @param fromPrivateKey the private key which signed the transaction
+     * @param txData         the signed transaction
+     * @param txId           the hash of the transaction
+     * @return the tracked transaction
+     */
+    public TrackedTransaction track(String fromPrivateKey, String txData, String txId) {
+        Credentials signer = KeyCache.getInstance().credentials(fromPrivateKey);
+        RawTransaction raw = TransactionDecoder.decode(txData.startsWith("0x") ? txData : "0x" + txData);
+        String from = signer.getAddress();
+
+        List<String> txIds = new ArrayList<>();
+        txIds.add(txId);
+        TrackedTransaction transaction = new TrackedTransaction(from, raw.getNonce(), raw.getGasPrice(), raw.getGasLimit(),
+                raw.getTo(), raw.getValue(), raw.getData(), txIds, System.currentTimeMillis(), null);
+        tracked.put(key(from, raw.getNonce()), transaction);
+        // put after the transaction, so a concurrent check never drops the credentials of a tracked address
+        credentials.put(from.toLowerCase(), signer);
+        return transaction;
+    }
+
+    /**
+     * Check all tracked transactions once: forget the mined ones and replace the stuck ones.
+     */
+    public synchronized void check() {
+        Map<String, BigInteger> minedCounts = new HashMap<>();
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, TrackedTransaction> entry : tracked.entrySet()) {
+            TrackedTransaction transaction = entry.getValue();
+            try {
+                BigInteger minedCount = minedCounts.get(transaction.getFrom());
+                if (minedCount == null) {
+                    minedCount = chain.minedCount(transaction.getFrom());
+                    minedCounts.put(transaction.getFrom(), minedCount);
+                }
+                if (minedCount.compareTo(transaction.getNonce()) > 0) {
+                    mined(transaction);
+                    tracked.remove(entry.getKey());
+                    forget(transaction.getFrom());
+                    listener.onMined(transaction);
+                } else if (now - transaction.getSent() > stuckMillis) {
+                    replace(transaction, now);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Unable to check transaction of {} with nonce {}: {}", transaction.getFrom(), transaction.getNonce(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Check the tracked transactions every interval until {@link #close()} is called.
+     *
+     * @param intervalMillis the interval millis
+     */
+    public synchronized void start(long intervalMillis) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("eth-stuck-tx-%d").setDaemon(true).build());
+        scheduler.scheduleWithFixedDelay(this::check, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Whether the periodic checks run.
+     *
+     * @return the boolean
+     */
+    public synchronized boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Transactions not mined yet.
+     *
+     * @return the tracked transactions
+     */
+    public List<TrackedTransaction> getTracked() {
+        return new ArrayList<>(tracked.values());
+    }
+
+    /**
+     * Sets listener.
+     *
+     * @param listener the listener
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private void mined(TrackedTransaction transaction) throws IOException {
+        List<String> txIds = transaction.getTxIds();
+        // the latest replacement is the most likely to be mined
+        for (int i = txIds.size() - 1; i >= 0; i--) {
+            if (chain.isMined(txIds.get(i))) {
+                transaction.setMinedTxId(txIds.get(i));
+                return;
+            }
+        }
+        log.warn("Nonce {} of {} was used by another transaction.", transaction.getNonce(), transaction.getFrom());
+    }
+
+    private void replace(TrackedTransaction transaction, long now) throws IOException, ExecutionException, InterruptedException {
+        BigInteger gasPrice = bumped(transaction.getGasPrice(), bump);
+        if (oracle != null) {
+            gasPrice = gasPrice.max(oracle.getGasPrice(GasPriceOracle.Speed.FAST));
+        }
+        if (maxGasPrice != null && gasPrice.compareTo(maxGasPrice) > 0) {
+            if (maxGasPrice.compareTo(bumped(transaction.getGasPrice(), MIN_BUMP)) < 0) {
+                log.warn("Transaction of {} with nonce {} is stuck at the maximum gas price.", transaction.getFrom(), transaction.getNonce());
+                return;
+            }
+            gasPrice = maxGasPrice;
+        }
+
+        RawTransaction raw = RawTransaction.createTransaction(transaction.getNonce(), gasPrice, transaction.getGasLimit(),
+                transaction.getTo(), transaction.getValue(), transaction.getData());
+        byte[] signedMessage = TransactionEncoder.signMessage(raw, credentials.get(transaction.getFrom().toLowerCase()));
+        TransactionHash hash = broadcaster.broadcast(HEX.encode(signedMessage));
+        if (hash == null) {
+            log.error("Unable to replace transaction of {} with nonce {}.", transaction.getFrom(), transaction.getNonce());
+            return;
+        }
+        String txId = hash.getTxId() != null ? hash.getTxId() : Numeric.toHexString(Hash.sha3(signedMessage));
+        log.info("Replaced transaction of {} with nonce {} by {} with gas price {}.", transaction.getFrom(), transaction.getNonce(), txId, gasPrice);
+        transaction.getTxIds().add(txId);
+        transaction.setGasPrice(gasPrice);
+        transaction.setSent(now);
+    }
+
+    /**
+     * Drop the signing credentials of the address once none of its transactions is tracked,
+     * so keys of idle addresses are held only by the bounded {@link KeyCache}.
+     */
+    private void forget(String from) {
+        credentials.computeIfPresent(from.toLowerCase(), (address, signer) ->
+                tracked.values().stream().anyMatch(transaction -> transaction.getFrom().equalsIgnoreCase(address)) ? signer : null);
+    }
+
+    private static BigInteger bumped(BigInteger gasPrice, BigDecimal bump) {
+        return new BigDecimal(gasPrice).multiply(BigDecimal.ONE.add(bump)).setScale(0, RoundingMode.UP).toBigInteger();
+    }
+
+    private static String key(String from, BigInteger nonce) {
+        return from.toLowerCase() + ':' + nonce;
+    }
+}
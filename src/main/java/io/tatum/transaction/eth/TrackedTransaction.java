@@ -0,0 +1,49 @@
+package io.tatum.transaction.eth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The type Tracked transaction. A broadcast transaction watched by the {@link StuckTransactionMonitor}
+ * together with all its replacements.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class TrackedTransaction {
+
+    private String from;
+    private BigInteger nonce;
+
+    /**
+     * Gas price of the latest replacement.
+     */
+    private BigInteger gasPrice;
+
+    private BigInteger gasLimit;
+    private String to;
+    private BigInteger value;
+    private String data;
+
+    /**
+     * Hashes of the original transaction and of all its replacements, oldest first.
+     */
+    private List<String> txIds = new ArrayList<>();
+
+    /**
+     * Time of the latest broadcast in milliseconds.
+     */
+    private long sent;
+
+    /**
+     * Hash of the transaction which was mined, null until mined or when another transaction used the nonce.
+     */
+    private String minedTxId;
+}
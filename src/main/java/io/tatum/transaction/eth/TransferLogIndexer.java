@@ -0,0 +1,361 @@
+package io.tatum.transaction.eth;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.log4j.Log4j2;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Finds ERC20 transfers from and to our addresses in the Transfer logs of token contracts.
+ * <p>
+ * One eth_getLogs request covers all tokens over a range of blocks, so the number of requests does not grow
+ * with the number of addresses. Providers limit the size of a response: a range rejected as too large is halved,
+ * a range answered with few logs lets the next one grow. Topics are decoded from their hex strings, and only
+ * the value of a transfer touching an indexed address is parsed. The last indexed block is saved to the
+ * {@link Checkpoint} after every range, so indexing continues where it stopped.
+ */
+@Log4j2
+public class TransferLogIndexer implements AutoCloseable {
+
+    /**
+     * The constant TRANSFER_TOPIC. Keccak hash of Transfer(address,address,uint256).
+     */
+    public static final String TRANSFER_TOPIC = "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+
+    /**
+     * The constant DEFAULT_CONFIRMATIONS. Blocks this close to the head may still be reorganized.
+     */
+    public static final int DEFAULT_CONFIRMATIONS = 12;
+
+    /**
+     * The constant DEFAULT_MAX_RANGE.
+     */
+    public static final long DEFAULT_MAX_RANGE = 5_000;
+
+    private static final long INITIAL_RANGE = 500;
+    private static final int GROW_BELOW_LOGS = 2_000;
+    // block range and result count limits of the providers, rate limits and other errors must not match
+    private static final Pattern TOO_LARGE = Pattern.compile("query returned more than|more than [\\d,]+ results"
+            + "|response size (is )?(exceeded|too (large|big))|(block )?range (is )?too (large|wide|big)"
+            + "|exceeds? (the )?max(imum)? (block )?range|too many blocks|limited to a [\\d,]+ (block )?range", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Source of the logs.
+     */
+    public interface Source {
+
+        /**
+         * Number of the latest block.
+         *
+         * @return the head
+         * @throws IOException the io exception
+         */
+        long head() throws IOException;
+
+        /**
+         * Transfer logs of the tokens in the blocks.
+         *
+         * @param tokens    the token contracts
+         * @param fromBlock the first block
+         * @param toBlock   the last block, inclusive
+         * @return the logs
+         * @throws RangeTooLargeException when the provider refuses the range
+         * @throws IOException            the io exception
+         */
+        List<Log> transferLogs(List<String> tokens, long fromBlock, long toBlock) throws IOException;
+    }
+
+    /**
+     * Thrown by the {@link Source} when the provider refuses to answer the block range at once.
+     */
+    public static class RangeTooLargeException extends IOException {
+
+        /**
+         * Instantiates a new Range too large exception.
+         *
+         * @param message the message
+         */
+        public RangeTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Stores the last indexed block.
+     */
+    public interface Checkpoint {
+
+        /**
+         * Load the last indexed block.
+         *
+         * @return the block, null if nothing was indexed yet
+         */
+        Long load();
+
+        /**
+         * Save the last indexed block.
+         *
+         * @param block the block
+         */
+        void save(long block);
+    }
+
+    /**
+     * Receives the transfers found in a range, before the range is checkpointed.
+     */
+    public interface Listener {
+
+        /**
+         * On transfers.
+         *
+         * @param transfers the transfers in the order of the chain
+         */
+        void onTransfers(List<Erc20Transfer> transfers);
+    }
+
+    private final Source source;
+    private final List<String> tokens;
+    private final Checkpoint checkpoint;
+    private final Listener listener;
+    private final Set<String> addresses = ConcurrentHashMap.newKeySet();
+
+    private int confirmations = DEFAULT_CONFIRMATIONS;
+    private long maxRange = DEFAULT_MAX_RANGE;
+    private long range = INITIAL_RANGE;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Instantiates a new Transfer log indexer.
+     *
+     * @param source     the source
+     * @param tokens     the token contracts
+     * @param checkpoint the checkpoint
+     * @param listener   the listener
+     */
+    public TransferLogIndexer(Source source, Collection<String> tokens, Checkpoint checkpoint, Listener listener) {
+        this.source = source;
+        this.tokens = new ArrayList<>();
+        tokens.forEach(token -> this.tokens.add(token.toLowerCase()));
+        this.checkpoint = checkpoint;
+        this.listener = listener;
+    }
+
+    /**
+     * Logs read through the Web3j provider.
+     *
+     * @param web3j the web 3 j
+     * @return the source
+     */
+    public static Source web3(Web3j web3j) {
+        return new Source() {
+            @Override
+            public long head() throws IOException {
+                EthBlockNumber blockNumber = web3j.ethBlockNumber().send();
+                if (blockNumber.hasError()) {
+                    throw new IOException(blockNumber.getError().getMessage());
+                }
+                return blockNumber.getBlockNumber().longValueExact();
+            }
+
+            @Override
+            public List<Log> transferLogs(List<String> tokens, long fromBlock, long toBlock) throws IOException {
+                EthFilter filter = new EthFilter(DefaultBlockParameter.valueOf(BigInteger.valueOf(fromBlock)),
+                        DefaultBlockParameter.valueOf(BigInteger.valueOf(toBlock)), tokens);
+                filter.addSingleTopic(TRANSFER_TOPIC);
+                EthLog ethLog = web3j.ethGetLogs(filter).send();
+                if (ethLog.hasError()) {
+                    String message = ethLog.getError().getMessage();
+                    throw isRangeTooLarge(message) ? new RangeTooLargeException(message) : new IOException(message);
+                }
+                List<Log> logs = new ArrayList<>(ethLog.getLogs().size());
+                for (EthLog.LogResult<?> result : ethLog.getLogs()) {
+                    logs.add((Log) result.get());
+                }
+                return logs;
+            }
+        };
+    }
+
+    /**
+     * In-memory checkpoint starting after the block.
+     *
+     * @param startAfter the block before the first indexed one
+     * @return the checkpoint
+     */
+    public static Checkpoint inMemory(long startAfter) {
+        return new Checkpoint() {
+            private volatile long block = startAfter;
+
+            @Override
+            public Long load() {
+                return block;
+            }
+
+            @Override
+            public void save(long block) {
+                this.block = block;
+            }
+        };
+    }
+
+    /**
+     * Add address to the index.
+     *
+     * @param address the address
+     */
+    public void addAddress(String address) {
+        addresses.add(address.toLowerCase());
+    }
+
+    /**
+     * Remove address from the index.
+     *
+     * @param address the address
+     */
+    public void removeAddress(String address) {
+        addresses.remove(address.toLowerCase());
+    }
+
+    /**
+     * Index all confirmed blocks after the checkpoint.
+     *
+     * @return the number of transfers found
+     * @throws IOException the io exception
+     */
+    public synchronized int poll() throws IOException {
+        long target = source.head() - confirmations;
+        Long last = checkpoint.load();
+        long next = last != null ? last + 1 : target;
+        int found = 0;
+        while (next <= target) {
+            long to = Math.min(target, next + range - 1);
+            List<Log> logs;
+            try {
+                logs = source.transferLogs(tokens, next, to);
+            } catch (RangeTooLargeException e) {
+                if (to == next) {
+                    throw e;
+                }
+                range = Math.max(1, (to - next + 1) / 2);
+                log.debug("Log range too large, shrinking to {} blocks: {}", range, e.getMessage());
+                continue;
+            }
+
+            List<Erc20Transfer> transfers = match(logs);
+            if (!transfers.isEmpty()) {
+                listener.onTransfers(transfers);
+                found += transfers.size();
+            }
+            checkpoint.save(to);
+            next = to + 1;
+            if (logs.size() < GROW_BELOW_LOGS) {
+                range = Math.min(maxRange, range * 2);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Poll every interval until {@link #close()} is called.
+     *
+     * @param intervalMillis the interval millis
+     */
+    public synchronized void start(long intervalMillis) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("eth-transfer-index-%d").setDaemon(true).build());
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sets how many blocks below the head are left unindexed.
+     *
+     * @param confirmations the confirmations
+     */
+    public void setConfirmations(int confirmations) {
+        this.confirmations = confirmations;
+    }
+
+    /**
+     * Sets the largest block range of one request.
+     *
+     * @param maxRange the max range
+     */
+    public synchronized void setMaxRange(long maxRange) {
+        this.maxRange = maxRange;
+        this.range = Math.min(range, maxRange);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    private List<Erc20Transfer> match(List<Log> logs) {
+        List<Erc20Transfer> transfers = new ArrayList<>();
+        for (Log entry : logs) {
+            List<String> topics = entry.getTopics();
+            // ERC721 transfers have the same signature with the token id as a fourth topic
+            if (entry.isRemoved() || topics == null || topics.size() != 3 || !TRANSFER_TOPIC.equalsIgnoreCase(topics.get(0))) {
+                continue;
+            }
+            String from = address(topics.get(1));
+            String to = address(topics.get(2));
+            if (from == null || to == null || !(addresses.contains(to) || addresses.contains(from))) {
+                continue;
+            }
+            transfers.add(new Erc20Transfer(entry.getAddress().toLowerCase(), from, to, value(entry.getData()),
+                    entry.getTransactionHash(), entry.getBlockNumber().longValueExact(), entry.getLogIndex().longValueExact()));
+        }
+        return transfers;
+    }
+
+    /**
+     * Whether the error message of the provider refuses the block range or the number of results.
+     */
+    static boolean isRangeTooLarge(String message) {
+        return message != null && TOO_LARGE.matcher(message).find();
+    }
+
+    /**
+     * Address of an indexed topic, the last 20 of its 32 bytes.
+     */
+    private static String address(String topic) {
+        if (topic.length() != 66) {
+            return null;
+        }
+        return "0x" + topic.substring(26).toLowerCase();
+    }
+
+    private static BigInteger value(String data) {
+        int start = data.startsWith("0x") ? 2 : 0;
+        return data.length() > start ? new BigInteger(data.substring(start), 16) : BigInteger.ZERO;
+    }
+}
@@ -1,22 +1,62 @@
 package io.tatum.transaction.eth;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.tatum.utils.ApiKey;
 import lombok.extern.log4j.Log4j2;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
 import org.apache.commons.lang3.StringUtils;
 import org.web3j.protocol.Web3j;
-import org.web3j.protocol.core.methods.response.Web3ClientVersion;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.JsonRpc2_0Web3j;
 import org.web3j.protocol.http.HttpService;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import static io.tatum.constants.Constant.TATUM_API_URL;
 
 /**
- * The type Web 3 j client.
+ * Registry of long-lived Web3j clients, one per provider url.
+ * <p>
+ * All clients share one tuned connection pool, so sends to a provider reuse warm connections.
+ * The client version of every provider is checked in the background instead of before each use.
+ * WebSocket providers are available for push notifications through {@link #subscriptions(String)}.
+ * {@link #shutdown()} closes all clients; a later {@link #get(String)} creates them again.
  */
 @Log4j2
 public class Web3jClient {
 
+    /**
+     * The constant HEALTH_CHECK_MILLIS.
+     */
+    public static final long HEALTH_CHECK_MILLIS = 60_000;
+
+    private static final int MAX_IDLE_CONNECTIONS = 32;
+    private static final int MAX_REQUESTS_PER_HOST = 64;
+    private static final long TIMEOUT_SECONDS = 20;
+    private static final ThreadFactory THREADS = new ThreadFactoryBuilder().setNameFormat("web3j-%d").setDaemon(true).build();
+
+    private static final Map<String, Web3j> CLIENTS = new ConcurrentHashMap<>();
+    private static final Map<String, Web3j> BATCHED_CLIENTS = new ConcurrentHashMap<>();
+    private static final Map<String, Web3jSubscriptions> SUBSCRIPTIONS = new ConcurrentHashMap<>();
+    private static final Map<String, Boolean> HEALTH = new ConcurrentHashMap<>();
+
+    private static OkHttpClient httpClient;
+    private static HttpClient batchHttpClient;
+    private static ScheduledExecutorService healthCheck;
+
     private Web3jClient() {
     }
 
@@ -29,11 +69,127 @@ public class Web3jClient {
      * @throws InterruptedException the interrupted exception
      */
     public static Web3j get(String provider) throws ExecutionException, InterruptedException {
-        var url = StringUtils.isNotEmpty(provider) ? provider : TATUM_API_URL + "/v3/ethereum/web3/" + ApiKey.getInstance().getApiKey();
-        Web3j web3j = Web3j.build(new HttpService(url));
-        Web3ClientVersion web3ClientVersion = web3j.web3ClientVersion().sendAsync().get();
-        String clientVersion = web3ClientVersion.getWeb3ClientVersion();
-        log.info(clientVersion);
-        return web3j;
+        return CLIENTS.computeIfAbsent(url(provider), url -> build(new HttpService(url, okHttpClient())));
+    }
+
+    /**
+     * Get web 3 j which sends concurrent requests to the provider as JSON-RPC batches.
+     *
+     * @param provider the provider
+     * @return the web 3 j
+     */
+    public static Web3j getBatched(String provider) {
+        return BATCHED_CLIENTS.computeIfAbsent(url(provider), url -> build(new BatchHttpService(url,
+                BatchHttpService.DEFAULT_WINDOW_MILLIS, BatchHttpService.DEFAULT_MAX_BATCH_SIZE, batchHttpClient())));
+    }
+
+    /**
+     * Get push notifications of a custom WebSocket provider. The subscriptions are shared per url.
+     *
+     * @param provider the ws:// or wss:// url of the provider
+     * @return the web 3 j subscriptions
+     */
+    public static Web3jSubscriptions subscriptions(String provider) {
+        String scheme = StringUtils.isNotEmpty(provider) ? URI.create(provider).getScheme() : null;
+        if (!"ws".equalsIgnoreCase(scheme) && !"wss".equalsIgnoreCase(scheme)) {
+            throw new IllegalArgumentException("WebSocket provider url expected.");
+        }
+        return SUBSCRIPTIONS.computeIfAbsent(provider, Web3jSubscriptions::new);
+    }
+
+    /**
+     * Whether the last health check of the provider succeeded. Unchecked providers are considered healthy.
+     *
+     * @param provider the provider
+     * @return the boolean
+     */
+    public static boolean isHealthy(String provider) {
+        return HEALTH.getOrDefault(url(provider), true);
+    }
+
+    /**
+     * Shut down all clients, the shared connection pool and the health checks.
+     */
+    public static void shutdown() {
+        for (Map<String, Web3j> clients : List.of(CLIENTS, BATCHED_CLIENTS)) {
+            for (String url : new ArrayList<>(clients.keySet())) {
+                Web3j web3j = clients.remove(url);
+                if (web3j != null) {
+                    web3j.shutdown();
+                }
+            }
+        }
+        for (String url : new ArrayList<>(SUBSCRIPTIONS.keySet())) {
+            Web3jSubscriptions subscriptions = SUBSCRIPTIONS.remove(url);
+            if (subscriptions != null) {
+                subscriptions.close();
+            }
+        }
+        HEALTH.clear();
+        synchronized (Web3jClient.class) {
+            if (healthCheck != null) {
+                healthCheck.shutdownNow();
+                healthCheck = null;
+            }
+            if (httpClient != null) {
+                httpClient.dispatcher().executorService().shutdown();
+                httpClient.connectionPool().evictAll();
+                httpClient = null;
+            }
+            batchHttpClient = null;
+        }
+    }
+
+    private static Web3j build(Web3jService service) {
+        startHealthCheck();
+        // every client gets its own polling executor, so shutting one down does not affect the others
+        return Web3j.build(service, JsonRpc2_0Web3j.DEFAULT_BLOCK_TIME, Executors.newSingleThreadScheduledExecutor(THREADS));
+    }
+
+    private static synchronized OkHttpClient okHttpClient() {
+        if (httpClient == null) {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(MAX_REQUESTS_PER_HOST * 4);
+            dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+            httpClient = new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, 5, TimeUnit.MINUTES))
+                    .dispatcher(dispatcher)
+                    .connectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .build();
+        }
+        return httpClient;
+    }
+
+    private static synchronized HttpClient batchHttpClient() {
+        if (batchHttpClient == null) {
+            batchHttpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(TIMEOUT_SECONDS)).build();
+        }
+        return batchHttpClient;
+    }
+
+    private static synchronized void startHealthCheck() {
+        if (healthCheck != null) {
+            return;
+        }
+        healthCheck = Executors.newSingleThreadScheduledExecutor(THREADS);
+        healthCheck.scheduleWithFixedDelay(Web3jClient::checkHealth, 0, HEALTH_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private static void checkHealth() {
+        CLIENTS.forEach((url, web3j) -> web3j.web3ClientVersion().sendAsync().whenComplete((version, error) -> {
+            boolean healthy = error == null && !version.hasError();
+            if (healthy) {
+                log.debug(version.getWeb3ClientVersion());
+            } else if (HEALTH.getOrDefault(url, true)) {
+                // the url of the Tatum provider contains the api key
+                log.warn("Web3 provider {} is not healthy.", URI.create(url).getHost(), error);
+            }
+            HEALTH.put(url, healthy);
+        }));
+    }
+
+    private static String url(String provider) {
+        return StringUtils.isNotEmpty(provider) ? provider : TATUM_API_URL + "/v3/ethereum/web3/" + ApiKey.getInstance().getApiKey();
     }
 }
@@ -0,0 +1,298 @@
+package io.tatum.transaction.eth;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import lombok.extern.log4j.Log4j2;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.websocket.WebSocketService;
+import org.web3j.protocol.websocket.events.Log;
+import org.web3j.protocol.websocket.events.NewHead;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Push notifications of an Ethereum node over WebSocket.
+ * <p>
+ * Listeners of new heads, logs and pending transactions are registered once and stay registered across connections.
+ * When the connection drops, it is opened again with a growing delay and all listeners are subscribed again.
+ * Events emitted while disconnected are lost, so listeners which must not miss blocks compare the block numbers
+ * they receive and fill gaps over HTTP.
+ */
+@Log4j2
+public class Web3jSubscriptions implements AutoCloseable {
+
+    /**
+     * The constant DEFAULT_MIN_RECONNECT_MILLIS.
+     */
+    public static final long DEFAULT_MIN_RECONNECT_MILLIS = 1_000;
+
+    /**
+     * The constant MAX_RECONNECT_MILLIS.
+     */
+    public static final long MAX_RECONNECT_MILLIS = 30_000;
+
+    /**
+     * Opens the connection to the node.
+     */
+    public interface Connector {
+
+        /**
+         * Connect.
+         *
+         * @return the web 3 j using the connection
+         * @throws IOException the io exception
+         */
+        Web3j connect() throws IOException;
+    }
+
+    /**
+     * Receives the events of a subscription, called from the WebSocket thread.
+     *
+     * @param <T> the type of the events
+     */
+    public interface Listener<T> {
+
+        /**
+         * On event.
+         *
+         * @param event the event
+         */
+        void onEvent(T event);
+    }
+
+    /**
+     * A registered listener.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final Function<Web3j, Flowable<?>> source;
+        private final Listener<Object> listener;
+        private Disposable disposable;
+
+        private Subscription(Function<Web3j, Flowable<?>> source, Listener<Object> listener) {
+            this.source = source;
+            this.listener = listener;
+        }
+
+        /**
+         * Unregister the listener.
+         */
+        @Override
+        public void close() {
+            synchronized (Web3jSubscriptions.this) {
+                subscriptions.remove(this);
+                dispose(this);
+            }
+        }
+    }
+
+    private final Connector connector;
+    private final String name;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler;
+
+    private Web3j web3j;
+    private int generation;
+    private long minReconnectMillis = DEFAULT_MIN_RECONNECT_MILLIS;
+    private long reconnectMillis = DEFAULT_MIN_RECONNECT_MILLIS;
+    private boolean closed;
+
+    /**
+     * Instantiates new Web3j subscriptions of the node at the WebSocket url. The connection is opened in the background.
+     *
+     * @param url the ws:// or wss:// url
+     */
+    public Web3jSubscriptions(String url) {
+        // the url of the Tatum provider contains the api key
+        this(URI.create(url).getHost(), () -> {
+            WebSocketService service = new WebSocketService(url, false);
+            service.connect();
+            return Web3j.build(service);
+        });
+    }
+
+    /**
+     * Instantiates new Web3j subscriptions. The connection is opened in the background.
+     *
+     * @param name      the name of the node used in logs
+     * @param connector the connector
+     */
+    public Web3jSubscriptions(String name, Connector connector) {
+        this.name = name;
+        this.connector = connector;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("eth-ws-%d").setDaemon(true).build());
+        scheduler.execute(this::connect);
+    }
+
+    /**
+     * Listen to the headers of new blocks.
+     *
+     * @param listener the listener
+     * @return the subscription
+     */
+    public Subscription newHeads(Listener<NewHead> listener) {
+        return register(web3j -> web3j.newHeadsNotifications().map(notification -> notification.getParams().getResult()), listener);
+    }
+
+    /**
+     * Listen to the logs of the contracts matching the topics.
+     *
+     * @param addresses the contract addresses
+     * @param topics    the topics, empty for all
+     * @param listener  the listener
+     * @return the subscription
+     */
+    public Subscription logs(List<String> addresses, List<String> topics, Listener<Log> listener) {
+        return register(web3j -> web3j.logsNotifications(addresses, topics).map(notification -> notification.getParams().getResult()), listener);
+    }
+
+    /**
+     * Listen to the hashes of transactions entering the mempool of the node.
+     *
+     * @param listener the listener
+     * @return the subscription
+     */
+    public Subscription pendingTransactions(Listener<String> listener) {
+        return register(web3j -> web3j.newPendingTransactionsNotifications().map(notification -> notification.getParams().getResult()), listener);
+    }
+
+    /**
+     * Whether the connection is open.
+     *
+     * @return the boolean
+     */
+    public synchronized boolean isConnected() {
+        return web3j != null;
+    }
+
+    /**
+     * Sets the first delay of reconnection, it doubles with every failed attempt up to {@link #MAX_RECONNECT_MILLIS}.
+     *
+     * @param minReconnectMillis the min reconnect millis
+     */
+    public synchronized void setMinReconnectMillis(long minReconnectMillis) {
+        this.minReconnectMillis = minReconnectMillis;
+        this.reconnectMillis = minReconnectMillis;
+    }
+
+    @Override
+    public void close() {
+        Web3j connected;
+        synchronized (this) {
+            closed = true;
+            subscriptions.forEach(this::dispose);
+            subscriptions.clear();
+            connected = web3j;
+            web3j = null;
+        }
+        scheduler.shutdownNow();
+        if (connected != null) {
+            connected.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Subscription register(Function<Web3j, Flowable<T>> source, Listener<T> listener) {
+        Subscription subscription = new Subscription((Function<Web3j, Flowable<?>>) (Function<?, ?>) source, (Listener<Object>) listener);
+        synchronized (this) {
+            subscriptions.add(subscription);
+            if (web3j != null) {
+                subscribe(subscription, web3j, generation);
+            }
+        }
+        return subscription;
+    }
+
+    private void connect() {
+        Web3j connected;
+        try {
+            connected = connector.connect();
+        } catch (Exception e) {
+            log.warn("Unable to connect to {}: {}", name, e.getMessage());
+            scheduleReconnect();
+            return;
+        }
+        synchronized (this) {
+            if (closed) {
+                connected.shutdown();
+                return;
+            }
+            web3j = connected;
+            generation++;
+            reconnectMillis = minReconnectMillis;
+            for (Subscription subscription : subscriptions) {
+                if (web3j != connected) {
+                    // a subscription already reported the connection lost
+                    return;
+                }
+                subscribe(subscription, connected, generation);
+            }
+        }
+        log.info("Connected to {}.", name);
+    }
+
+    private void subscribe(Subscription subscription, Web3j connected, int connection) {
+        subscription.disposable = subscription.source.apply(connected).subscribe(event -> {
+            try {
+                subscription.listener.onEvent(event);
+            } catch (Exception e) {
+                log.error(e.getMessage(), e);
+            }
+        }, error -> lost(connection, error), () -> lost(connection, null));
+    }
+
+    /**
+     * A subscription ended, the connection is considered lost. Only the first report of a connection reconnects.
+     */
+    private void lost(int connection, Throwable error) {
+        Web3j old;
+        synchronized (this) {
+            if (closed || connection != generation || web3j == null) {
+                return;
+            }
+            log.warn("Connection to {} lost: {}", name, error != null ? error.getMessage() : "subscription completed");
+            subscriptions.forEach(this::dispose);
+            old = web3j;
+            web3j = null;
+        }
+        try {
+            // shut the old connection down outside of its own thread
+            scheduler.execute(old::shutdown);
+        } catch (RejectedExecutionException e) {
+            return;
+        }
+        scheduleReconnect();
+    }
+
+    private void scheduleReconnect() {
+        long delay;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            delay = reconnectMillis;
+            reconnectMillis = Math.min(MAX_RECONNECT_MILLIS, reconnectMillis * 2);
+        }
+        try {
+            scheduler.schedule(this::connect, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Subscriptions of {} closed.", name);
+        }
+    }
+
+    private void dispose(Subscription subscription) {
+        if (subscription.disposable != null) {
+            subscription.disposable.dispose();
+            subscription.disposable = null;
+        }
+    }
+}
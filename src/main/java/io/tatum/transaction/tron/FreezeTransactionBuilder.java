@@ -2,6 +2,7 @@ package io.tatum.transaction.tron;
 
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import io.tatum.security.KeyCache;
 import org.tron.api.GrpcAPI;
 import org.tron.common.crypto.ECKey;
 import org.tron.common.crypto.Hash;
@@ -27,7 +28,7 @@ public class FreezeTransactionBuilder {
     private int resource;
     private byte[] receiverAddress;
 
-    private byte[] privateKey;
+    private ECKey key;
     private long amount;
     private Protocol.Transaction refTransaction;
 
@@ -44,9 +45,8 @@ public class FreezeTransactionBuilder {
     }
 
     public FreezeTransactionBuilder from(String from) {
-        this.privateKey = ByteArray.fromHexString(from);
-        ECKey ecKey = ECKey.fromPrivate(this.privateKey);
-        this.ownerAddress = ecKey.getAddress();
+        this.key = KeyCache.getInstance().tronKey(from);
+        this.ownerAddress = key.getAddress();
         return this;
     }
 
@@ -101,11 +101,10 @@ public class FreezeTransactionBuilder {
     }
 
     public byte[] sign() throws InvalidProtocolBufferException, CancelException {
-        ECKey ecKey = ECKey.fromPrivate(privateKey);
         Protocol.Transaction transaction = Protocol.Transaction.parseFrom(refTransaction.toByteArray());
         byte[] rawdata = transaction.getRawData().toByteArray();
         byte[] hash = Sha256Sm3Hash.hash(rawdata);
-        byte[] sign = ecKey.sign(hash).toByteArray();
+        byte[] sign = key.sign(hash).toByteArray();
         transaction = transaction.toBuilder().addSignature(ByteString.copyFrom(sign)).build();
 
 //        GrpcAPI.TransactionSignWeight weight = rpcCli.getTransactionSignWeight(transaction);
@@ -3,6 +3,7 @@ package io.tatum.transaction.tron;
 import com.google.protobuf.Any;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.InvalidProtocolBufferException;
+import io.tatum.security.KeyCache;
 import org.tron.common.crypto.ECKey;
 import org.tron.common.crypto.Sha256Sm3Hash;
 import org.tron.common.utils.ByteArray;
@@ -18,7 +19,7 @@ public class TronTransactionBuilder {
     private String fullNode;
     private String solidityNode;
 
-    private byte[] privateKey;
+    private ECKey key;
     private byte[] from;
     private byte[] to;
     private long amount;
@@ -37,9 +38,8 @@ public class TronTransactionBuilder {
     }
 
     public TronTransactionBuilder from(String from) {
-        this.privateKey = ByteArray.fromHexString(from);
-        ECKey ecKey = ECKey.fromPrivate(this.privateKey);
-        this.from = ecKey.getAddress();
+        this.key = KeyCache.getInstance().tronKey(from);
+        this.from = key.getAddress();
         return this;
     }
 
@@ -113,11 +113,10 @@ public class TronTransactionBuilder {
     }
 
     public byte[] sign() throws InvalidProtocolBufferException {
-        ECKey ecKey = ECKey.fromPrivate(privateKey);
         Protocol.Transaction transaction = Protocol.Transaction.parseFrom(refTransaction.toByteArray());
         byte[] rawdata = transaction.getRawData().toByteArray();
         byte[] hash = Sha256Sm3Hash.hash(rawdata);
-        byte[] sign = ecKey.sign(hash).toByteArray();
+        byte[] sign = key.sign(hash).toByteArray();
         return transaction.toBuilder().addSignature(ByteString.copyFrom(sign)).build().toByteArray();
     }
 
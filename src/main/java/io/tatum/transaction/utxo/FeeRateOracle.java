@@ -0,0 +1,197 @@
+package io.tatum.transaction.utxo;
+
+import io.tatum.blockchain.BlockchainUtil;
+import io.tatum.model.request.Currency;
+import io.tatum.model.response.common.BlockchainFee;
+import io.tatum.utils.TieredPriceCache;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Cached fee rates of a UTXO chain, refreshed in the background.
+ * <p>
+ * Callers read the last known rate without any network call and never wait for a refresh.
+ * Until the first refresh succeeds, the fallback rate of the chain is returned.
+ * Rates are never below the minimal relay fee of the chain.
+ *
+ * @see TieredPriceCache
+ */
+public class FeeRateOracle implements AutoCloseable {
+
+    /**
+     * The constant DEFAULT_REFRESH_MILLIS.
+     */
+    public static final long DEFAULT_REFRESH_MILLIS = 60_000;
+
+    /**
+     * The constant MIN_FEE_RATE. Minimal relay fee of Bitcoin nodes in satoshis per virtual byte.
+     */
+    public static final long MIN_FEE_RATE = 1;
+
+    /**
+     * The constant LTC_MIN_FEE_RATE. Minimal relay fee of Litecoin nodes in litoshis per virtual byte.
+     */
+    public static final long LTC_MIN_FEE_RATE = 10;
+
+    private static final Map<Currency, FeeRateOracle> INSTANCES = new ConcurrentHashMap<>();
+
+    /**
+     * How soon the transaction should be mined.
+     */
+    public enum Urgency {
+        /**
+         * Next block.
+         */
+        FAST,
+        /**
+         * Within a few blocks.
+         */
+        MEDIUM,
+        /**
+         * Within a day.
+         */
+        SLOW
+    }
+
+    /**
+     * Source of the recommended fee rates.
+     */
+    public interface Source {
+
+        /**
+         * Fetch blockchain fee.
+         *
+         * @param chain the chain
+         * @return the blockchain fee
+         * @throws ExecutionException   the execution exception
+         * @throws InterruptedException the interrupted exception
+         */
+        BlockchainFee fetch(Currency chain) throws ExecutionException, InterruptedException;
+    }
+
+    private final Currency chain;
+    private final TieredPriceCache<Urgency, Long> rates;
+
+    /**
+     * Instantiates a new Fee rate oracle.
+     *
+     * @param chain         the chain
+     * @param source        the source
+     * @param refreshMillis how often the rates are refreshed
+     */
+    public FeeRateOracle(Currency chain, Source source, long refreshMillis) {
+        if (chain != Currency.BTC && chain != Currency.LTC && chain != Currency.BCH) {
+            throw new IllegalArgumentException("Unsupported chain " + chain);
+        }
+        this.chain = chain;
+        this.rates = new TieredPriceCache<>("fee-rate-" + chain.getCurrency().toLowerCase(), fallback(chain),
+                () -> rates(chain, source.fetch(chain)), refreshMillis);
+    }
+
+    /**
+     * Shared oracle of the chain backed by the Tatum API.
+     *
+     * @param chain the chain
+     * @return the fee rate oracle
+     */
+    public static FeeRateOracle of(Currency chain) {
+        return INSTANCES.computeIfAbsent(chain, c -> new FeeRateOracle(c, BlockchainUtil::getBlockchainFee, DEFAULT_REFRESH_MILLIS));
+    }
+
+    /**
+     * Fee rate in satoshis per virtual byte.
+     *
+     * @param urgency the urgency
+     * @return the fee rate
+     */
+    public long getFeeRate(Urgency urgency) {
+        return rates.get(urgency);
+    }
+
+    /**
+     * Fee for a transaction of the given size.
+     *
+     * @param virtualSize the virtual size
+     * @param urgency     the urgency
+     * @return the fee in satoshis
+     */
+    public long getFee(long virtualSize, Urgency urgency) {
+        return virtualSize * getFeeRate(urgency);
+    }
+
+    /**
+     * Fee for a transaction of the given size in whole coins, e.g. BTC.
+     *
+     * @param virtualSize the virtual size
+     * @param urgency     the urgency
+     * @return the fee
+     */
+    public BigDecimal getFeeInCoins(long virtualSize, Urgency urgency) {
+        return BigDecimal.valueOf(getFee(virtualSize, urgency)).movePointLeft(8).stripTrailingZeros();
+    }
+
+    /**
+     * Time of the last successful refresh in milliseconds, 0 if the fallback rates are used.
+     *
+     * @return the updated
+     */
+    public long getUpdated() {
+        return rates.getUpdated();
+    }
+
+    /**
+     * Minimal relay fee of the chain in satoshis per virtual byte.
+     *
+     * @param chain the chain
+     * @return the min fee rate
+     */
+    public static long minFeeRate(Currency chain) {
+        return chain == Currency.LTC ? LTC_MIN_FEE_RATE : MIN_FEE_RATE;
+    }
+
+    /**
+     * Refresh the rates now.
+     */
+    public void refresh() {
+        rates.refresh();
+    }
+
+    @Override
+    public void close() {
+        rates.close();
+        INSTANCES.remove(chain, this);
+    }
+
+    private static Map<Urgency, Long> rates(Currency chain, BlockchainFee fee) {
+        if (fee == null) {
+            return null;
+        }
+        Map<Urgency, Long> rates = new EnumMap<>(Urgency.class);
+        long min = minFeeRate(chain);
+        put(rates, Urgency.FAST, fee.getFast(), min);
+        put(rates, Urgency.MEDIUM, fee.getMedium(), min);
+        put(rates, Urgency.SLOW, fee.getSlow(), min);
+        return rates;
+    }
+
+    private static void put(Map<Urgency, Long> rates, Urgency urgency, BigDecimal rate, long min) {
+        if (rate != null) {
+            rates.put(urgency, Math.max(min, rate.setScale(0, RoundingMode.CEILING).longValueExact()));
+        }
+    }
+
+    private static Map<Urgency, Long> fallback(Currency chain) {
+        Map<Urgency, Long> rates = new EnumMap<>(Urgency.class);
+        long min = minFeeRate(chain);
+        long base = chain == Currency.BTC ? 20 : min * 2;
+        rates.put(Urgency.FAST, base * 2);
+        rates.put(Urgency.MEDIUM, base);
+        rates.put(Urgency.SLOW, Math.max(min, base / 2));
+        return rates;
+    }
+}
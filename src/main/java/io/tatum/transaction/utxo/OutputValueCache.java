@@ -0,0 +1,146 @@
+package io.tatum.transaction.utxo;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Values of the outputs of funding transactions, needed to sign inputs with BIP143 style hashes.
+ * <p>
+ * Output values of a transaction never change, so they are cached per transaction hash in a bounded
+ * least recently used map. Every missing transaction is fetched once, even if many inputs spend its outputs,
+ * and the missing transactions are fetched in parallel.
+ */
+@Log4j2
+public class OutputValueCache {
+
+    /**
+     * The constant DEFAULT_MAX_TRANSACTIONS.
+     */
+    public static final int DEFAULT_MAX_TRANSACTIONS = 10_000;
+
+    /**
+     * Loads the output values of a transaction.
+     */
+    public interface Loader {
+
+        /**
+         * Load output values.
+         *
+         * @param txHash the tx hash
+         * @return the values of the outputs in satoshis by output index, null if the transaction was not found
+         * @throws ExecutionException   the execution exception
+         * @throws InterruptedException the interrupted exception
+         */
+        long[] load(String txHash) throws ExecutionException, InterruptedException;
+    }
+
+    private final Loader loader;
+    private final Map<String, long[]> values;
+
+    /**
+     * Instantiates a new Output value cache.
+     *
+     * @param loader          the loader
+     * @param maxTransactions the max number of cached transactions
+     */
+    public OutputValueCache(Loader loader, int maxTransactions) {
+        this.loader = loader;
+        this.values = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, long[]> eldest) {
+                return size() > maxTransactions;
+            }
+        };
+    }
+
+    /**
+     * Values of the spent outputs.
+     *
+     * @param txHashes the hashes of the spent transactions
+     * @param indexes  the indexes of the spent outputs
+     * @return the values in satoshis, null if any of the transactions or outputs was not found
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public long[] get(String[] txHashes, long[] indexes) throws ExecutionException, InterruptedException {
+        Map<String, long[]> found = new LinkedHashMap<>();
+        Set<String> missing = new LinkedHashSet<>();
+        synchronized (values) {
+            for (String txHash : txHashes) {
+                long[] outputs = values.get(txHash);
+                if (outputs != null) {
+                    found.put(txHash, outputs);
+                } else {
+                    missing.add(txHash);
+                }
+            }
+        }
+
+        List<String> hashes = new ArrayList<>(missing);
+        List<CompletableFuture<long[]>> futures = new ArrayList<>(hashes.size());
+        for (String txHash : hashes) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loader.load(txHash);
+                } catch (ExecutionException | InterruptedException e) {
+                    throw new CompletionException(e);
+                }
+            }));
+        }
+        for (int i = 0; i < hashes.size(); i++) {
+            long[] outputs = join(futures.get(i));
+            if (outputs == null) {
+                log.error("Transaction {} not found.", hashes.get(i));
+                return null;
+            }
+            found.put(hashes.get(i), outputs);
+        }
+        if (!hashes.isEmpty()) {
+            synchronized (values) {
+                hashes.forEach(txHash -> values.put(txHash, found.get(txHash)));
+            }
+        }
+
+        long[] result = new long[txHashes.length];
+        for (int i = 0; i < txHashes.length; i++) {
+            long[] outputs = found.get(txHashes[i]);
+            if (indexes[i] < 0 || indexes[i] >= outputs.length) {
+                log.error("Output {} of transaction {} not found.", indexes[i], txHashes[i]);
+                return null;
+            }
+            result[i] = outputs[(int) indexes[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Number of cached transactions.
+     *
+     * @return the int
+     */
+    public int size() {
+        synchronized (values) {
+            return values.size();
+        }
+    }
+
+    private static long[] join(CompletableFuture<long[]> future) throws ExecutionException, InterruptedException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof InterruptedException) {
+                throw (InterruptedException) e.getCause();
+            }
+            throw new ExecutionException(e.getCause());
+        }
+    }
+}
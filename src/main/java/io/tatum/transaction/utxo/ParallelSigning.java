@@ -0,0 +1,61 @@
+package io.tatum.transaction.utxo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntConsumer;
+
+/**
+ * Runs per input signing work on an executor.
+ * Every input is processed exactly once and results are expected to be stored by index,
+ * so the signed transaction does not depend on the scheduling.
+ */
+public final class ParallelSigning {
+
+    /**
+     * The constant THRESHOLD. Smaller transactions are signed on the calling thread.
+     */
+    public static final int THRESHOLD = 8;
+
+    private static final int CHUNK = 4;
+
+    private ParallelSigning() {
+    }
+
+    /**
+     * Run the action for every index from 0 to count - 1.
+     *
+     * @param count    the count
+     * @param executor the executor, null to run on the calling thread
+     * @param action   the action
+     */
+    public static void forEach(int count, Executor executor, IntConsumer action) {
+        if (executor == null || count < THRESHOLD) {
+            for (int i = 0; i < count; i++) {
+                action.accept(i);
+            }
+            return;
+        }
+
+        List<CompletableFuture<Void>> chunks = new ArrayList<>((count + CHUNK - 1) / CHUNK);
+        for (int start = 0; start < count; start += CHUNK) {
+            final int from = start;
+            final int to = Math.min(start + CHUNK, count);
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    action.accept(i);
+                }
+            }, executor));
+        }
+        try {
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package io.tatum.transaction.utxo;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * Lazy view of a serialized transaction.
+ * <p>
+ * Parsing only records where the inputs and outputs start, no input or output objects are created.
+ * Fields are decoded from the serialized bytes when they are read, which keeps signing of transactions
+ * prepared by Tatum KMS from building the whole transaction twice.
+ */
+public class RawTransaction {
+
+    private final byte[] data;
+    private final boolean witness;
+
+    private final int[] inputs;
+    private final int[] inputScripts;
+    private final int[] inputScriptLengths;
+    private final int[] outputs;
+    private final int[] outputScripts;
+    private final int[] outputScriptLengths;
+    private final int outputsEnd;
+    private final int lockTime;
+
+    private int position;
+
+    /**
+     * Instantiates a new Raw transaction.
+     *
+     * @param data the serialized transaction
+     */
+    public RawTransaction(byte[] data) {
+        this.data = data;
+        try {
+            position = 4;
+            this.witness = data[4] == 0 && data[5] == 1;
+            if (witness) {
+                position += 2;
+            }
+
+            int inputCount = count();
+            this.inputs = new int[inputCount];
+            this.inputScripts = new int[inputCount];
+            this.inputScriptLengths = new int[inputCount];
+            for (int i = 0; i < inputCount; i++) {
+                inputs[i] = position;
+                position += 36;
+                inputScriptLengths[i] = count();
+                inputScripts[i] = position;
+                position += inputScriptLengths[i] + 4;
+            }
+
+            int outputCount = count();
+            this.outputs = new int[outputCount];
+            this.outputScripts = new int[outputCount];
+            this.outputScriptLengths = new int[outputCount];
+            for (int i = 0; i < outputCount; i++) {
+                outputs[i] = position;
+                position += 8;
+                outputScriptLengths[i] = count();
+                outputScripts[i] = position;
+                position += outputScriptLengths[i];
+            }
+            this.outputsEnd = position;
+
+            if (witness) {
+                for (int i = 0; i < inputCount; i++) {
+                    for (int pushes = count(); pushes > 0; pushes--) {
+                        position += count();
+                    }
+                }
+            }
+            this.lockTime = position;
+            if (position + 4 != data.length) {
+                throw new IllegalArgumentException("Invalid transaction, " + (data.length - position - 4) + " unexpected bytes.");
+            }
+        } catch (ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid transaction, unexpected end of data.");
+        }
+    }
+
+    /**
+     * Raw transaction from hex.
+     *
+     * @param hex the hex
+     * @return the raw transaction
+     */
+    public static RawTransaction fromHex(String hex) {
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("Invalid hex length " + hex.length());
+        }
+        byte[] data = new byte[hex.length() / 2];
+        for (int i = 0; i < data.length; i++) {
+            int high = Character.digit(hex.charAt(2 * i), 16);
+            int low = Character.digit(hex.charAt(2 * i + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("Invalid hex character at " + 2 * i);
+            }
+            data[i] = (byte) (high << 4 | low);
+        }
+        return new RawTransaction(data);
+    }
+
+    /**
+     * Gets version.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return uint32(0);
+    }
+
+    /**
+     * Whether the transaction has segwit witnesses.
+     *
+     * @return the boolean
+     */
+    public boolean hasWitness() {
+        return witness;
+    }
+
+    /**
+     * Gets input count.
+     *
+     * @return the input count
+     */
+    public int getInputCount() {
+        return inputs.length;
+    }
+
+    /**
+     * Hash of the transaction spent by the input in the display order.
+     *
+     * @param index the index of the input
+     * @return the byte [ ]
+     */
+    public byte[] getInputHash(int index) {
+        return reversed(inputs[index], 32);
+    }
+
+    /**
+     * Index of the output spent by the input.
+     *
+     * @param index the index of the input
+     * @return the long
+     */
+    public long getInputIndex(int index) {
+        return uint32(inputs[index] + 32);
+    }
+
+    /**
+     * Gets input script.
+     *
+     * @param index the index of the input
+     * @return the byte [ ]
+     */
+    public byte[] getInputScript(int index) {
+        return Arrays.copyOfRange(data, inputScripts[index], inputScripts[index] + inputScriptLengths[index]);
+    }
+
+    /**
+     * Gets input sequence.
+     *
+     * @param index the index of the input
+     * @return the long
+     */
+    public long getInputSequence(int index) {
+        return uint32(inputScripts[index] + inputScriptLengths[index]);
+    }
+
+    /**
+     * Gets output count.
+     *
+     * @return the output count
+     */
+    public int getOutputCount() {
+        return outputs.length;
+    }
+
+    /**
+     * Gets output value.
+     *
+     * @param index the index of the output
+     * @return the value in satoshis
+     */
+    public long getOutputValue(int index) {
+        return uint32(outputs[index]) | uint32(outputs[index] + 4) << 32;
+    }
+
+    /**
+     * Gets output script.
+     *
+     * @param index the index of the output
+     * @return the byte [ ]
+     */
+    public byte[] getOutputScript(int index) {
+        return Arrays.copyOfRange(data, outputScripts[index], outputScripts[index] + outputScriptLengths[index]);
+    }
+
+    /**
+     * Gets lock time.
+     *
+     * @return the lock time
+     */
+    public long getLockTime() {
+        return uint32(lockTime);
+    }
+
+    /**
+     * Transaction id, the hash of the transaction without witnesses in the display order.
+     *
+     * @return the tx id
+     */
+    public String getTxId() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(data, 0, 4);
+            int start = witness ? 6 : 4;
+            digest.update(data, start, outputsEnd - start);
+            digest.update(data, lockTime, 4);
+            byte[] hash = digest.digest(digest.digest());
+            StringBuilder hex = new StringBuilder(64);
+            for (int i = hash.length - 1; i >= 0; i--) {
+                hex.append(Character.forDigit((hash[i] >>> 4) & 0x0f, 16)).append(Character.forDigit(hash[i] & 0x0f, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Copy of the serialized transaction.
+     *
+     * @return the byte [ ]
+     */
+    public byte[] toByteArray() {
+        return data.clone();
+    }
+
+    private int count() {
+        long value = varInt();
+        if (value > data.length) {
+            throw new IllegalArgumentException("Invalid transaction, count " + value + " exceeds the data.");
+        }
+        return (int) value;
+    }
+
+    private long varInt() {
+        int first = data[position++] & 0xff;
+        long value;
+        if (first < 0xfd) {
+            return first;
+        } else if (first == 0xfd) {
+            value = (data[position] & 0xff) | (data[position + 1] & 0xff) << 8;
+            position += 2;
+        } else if (first == 0xfe) {
+            value = uint32(position);
+            position += 4;
+        } else {
+            value = uint32(position) | uint32(position + 4) << 32;
+            position += 8;
+        }
+        return value;
+    }
+
+    private long uint32(int offset) {
+        return (data[offset] & 0xffL) | (data[offset + 1] & 0xffL) << 8 | (data[offset + 2] & 0xffL) << 16 | (data[offset + 3] & 0xffL) << 24;
+    }
+
+    private byte[] reversed(int offset, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = data[offset + length - 1 - i];
+        }
+        return bytes;
+    }
+}
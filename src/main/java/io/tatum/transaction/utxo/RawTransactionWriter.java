@@ -0,0 +1,168 @@
+package io.tatum.transaction.utxo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Serializes raw transactions into a reusable per thread buffer.
+ * <p>
+ * The hex form is produced in place: every byte is expanded into two hex digits from the end of the buffer
+ * to its start, so the only allocation of {@link #toHex()} is the resulting string.
+ * A writer obtained by {@link #get()} is valid until the next call of {@link #get()} on the same thread.
+ */
+public final class RawTransactionWriter {
+
+    private static final byte[] DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int INITIAL_CAPACITY = 1024;
+    // buffers of huge transactions are dropped instead of being kept by the thread
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+    private static final ThreadLocal<RawTransactionWriter> WRITERS = ThreadLocal.withInitial(RawTransactionWriter::new);
+
+    private byte[] buffer = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    private RawTransactionWriter() {
+    }
+
+    /**
+     * Empty writer of the current thread.
+     *
+     * @return the raw transaction writer
+     */
+    public static RawTransactionWriter get() {
+        RawTransactionWriter writer = WRITERS.get();
+        if (writer.buffer.length > MAX_RETAINED_CAPACITY) {
+            writer.buffer = new byte[INITIAL_CAPACITY];
+        }
+        writer.size = 0;
+        return writer;
+    }
+
+    /**
+     * Write one byte.
+     *
+     * @param value the value
+     */
+    public void write(int value) {
+        ensure(1);
+        buffer[size++] = (byte) value;
+    }
+
+    /**
+     * Write bytes.
+     *
+     * @param bytes the bytes
+     */
+    public void bytes(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, size, bytes.length);
+        size += bytes.length;
+    }
+
+    /**
+     * Write bytes in reversed order, e.g. a hash in the display order.
+     *
+     * @param bytes the bytes
+     */
+    public void reversed(byte[] bytes) {
+        ensure(bytes.length);
+        for (int i = bytes.length - 1; i >= 0; i--) {
+            buffer[size++] = bytes[i];
+        }
+    }
+
+    /**
+     * Write bytes prefixed by their length.
+     *
+     * @param bytes the bytes
+     */
+    public void varBytes(byte[] bytes) {
+        varInt(bytes.length);
+        bytes(bytes);
+    }
+
+    /**
+     * Write little endian uint32.
+     *
+     * @param value the value
+     */
+    public void uint32(long value) {
+        ensure(4);
+        buffer[size++] = (byte) value;
+        buffer[size++] = (byte) (value >>> 8);
+        buffer[size++] = (byte) (value >>> 16);
+        buffer[size++] = (byte) (value >>> 24);
+    }
+
+    /**
+     * Write little endian uint64.
+     *
+     * @param value the value
+     */
+    public void uint64(long value) {
+        uint32(value);
+        uint32(value >>> 32);
+    }
+
+    /**
+     * Write variable length integer.
+     *
+     * @param value the value
+     */
+    public void varInt(long value) {
+        if (value < 0xfd) {
+            write((int) value);
+        } else if (value <= 0xffff) {
+            write(0xfd);
+            write((int) value);
+            write((int) (value >>> 8));
+        } else if (value <= 0xffffffffL) {
+            write(0xfe);
+            uint32(value);
+        } else {
+            write(0xff);
+            uint64(value);
+        }
+    }
+
+    /**
+     * Number of written bytes.
+     *
+     * @return the int
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copy of the written bytes.
+     *
+     * @return the byte [ ]
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Hex of the written bytes. The writer is empty afterwards.
+     *
+     * @return the string
+     */
+    public String toHex() {
+        ensure(size);
+        for (int i = size - 1; i >= 0; i--) {
+            int value = buffer[i] & 0xff;
+            buffer[2 * i + 1] = DIGITS[value & 0x0f];
+            buffer[2 * i] = DIGITS[value >>> 4];
+        }
+        String hex = new String(buffer, 0, 2 * size, StandardCharsets.ISO_8859_1);
+        size = 0;
+        return hex;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package io.tatum.transaction.utxo;
+
+import java.io.ByteArrayOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Serialized parts of an unsigned transaction shared by the signature hashes of all its inputs.
+ * <p>
+ * Everything which does not depend on the signed input is serialized once, so computing the hash
+ * of one input only concatenates prepared bytes. For BIP143 style hashes (segwit, Bitcoin Cash fork id)
+ * the prevouts, sequences and outputs hashes are computed once as well, so signing all inputs is linear.
+ * Instances are immutable and can be used from many threads.
+ */
+public class SigHashData {
+
+    private final long version;
+    private final byte[][] outpoints;
+    private final long[] sequences;
+    private final byte[] outputs;
+    private final int outputCount;
+    private final long lockTime;
+
+    private final byte[] hashPrevouts;
+    private final byte[] hashSequence;
+    private final byte[] hashOutputs;
+
+    /**
+     * Instantiates a new Sig hash data.
+     *
+     * @param version     the version
+     * @param outpoints   the serialized outpoints of the inputs
+     * @param sequences   the sequence numbers of the inputs
+     * @param outputs     the serialized outputs
+     * @param outputCount the number of outputs
+     * @param lockTime    the lock time
+     */
+    public SigHashData(long version, byte[][] outpoints, long[] sequences, byte[] outputs, int outputCount, long lockTime) {
+        this.version = version;
+        this.outpoints = outpoints;
+        this.sequences = sequences;
+        this.outputs = outputs;
+        this.outputCount = outputCount;
+        this.lockTime = lockTime;
+
+        ByteArrayOutputStream prevouts = new ByteArrayOutputStream(outpoints.length * 36);
+        ByteArrayOutputStream sequence = new ByteArrayOutputStream(sequences.length * 4);
+        for (int i = 0; i < outpoints.length; i++) {
+            prevouts.writeBytes(outpoints[i]);
+            uint32(sequence, sequences[i]);
+        }
+        this.hashPrevouts = doubleSha256(prevouts.toByteArray());
+        this.hashSequence = doubleSha256(sequence.toByteArray());
+        this.hashOutputs = doubleSha256(outputs);
+    }
+
+    /**
+     * Legacy signature hash of the input, SIGHASH_ALL without anyone can pay.
+     *
+     * @param index       the index of the input
+     * @param scriptCode  the script of the spent output
+     * @param sigHashType the sig hash type
+     * @return the hash
+     */
+    public byte[] legacy(int index, byte[] scriptCode, int sigHashType) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + outpoints.length * 41 + scriptCode.length + outputs.length);
+        uint32(out, version);
+        varInt(out, outpoints.length);
+        for (int i = 0; i < outpoints.length; i++) {
+            out.writeBytes(outpoints[i]);
+            if (i == index) {
+                varInt(out, scriptCode.length);
+                out.writeBytes(scriptCode);
+            } else {
+                out.write(0);
+            }
+            uint32(out, sequences[i]);
+        }
+        varInt(out, outputCount);
+        out.writeBytes(outputs);
+        uint32(out, lockTime);
+        uint32(out, sigHashType);
+        return doubleSha256(out.toByteArray());
+    }
+
+    /**
+     * BIP143 signature hash of the input, SIGHASH_ALL without anyone can pay.
+     * Used by segwit v0 inputs and by Bitcoin Cash with the fork id flag.
+     *
+     * @param index       the index of the input
+     * @param scriptCode  the script code of the spent output
+     * @param value       the value of the spent output in satoshis
+     * @param sigHashType the sig hash type
+     * @return the hash
+     */
+    public byte[] witnessV0(int index, byte[] scriptCode, long value, int sigHashType) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(160 + scriptCode.length);
+        uint32(out, version);
+        out.writeBytes(hashPrevouts);
+        out.writeBytes(hashSequence);
+        out.writeBytes(outpoints[index]);
+        varInt(out, scriptCode.length);
+        out.writeBytes(scriptCode);
+        uint64(out, value);
+        uint32(out, sequences[index]);
+        out.writeBytes(hashOutputs);
+        uint32(out, lockTime);
+        uint32(out, sigHashType);
+        return doubleSha256(out.toByteArray());
+    }
+
+    /**
+     * Double SHA-256.
+     *
+     * @param data the data
+     * @return the hash
+     */
+    public static byte[] doubleSha256(byte[] data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return digest.digest(digest.digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void uint32(ByteArrayOutputStream out, long value) {
+        out.write((int) value);
+        out.write((int) (value >>> 8));
+        out.write((int) (value >>> 16));
+        out.write((int) (value >>> 24));
+    }
+
+    private static void uint64(ByteArrayOutputStream out, long value) {
+        uint32(out, value);
+        uint32(out, value >>> 32);
+    }
+
+    private static void varInt(ByteArrayOutputStream out, long value) {
+        if (value < 0xfd) {
+            out.write((int) value);
+        } else if (value <= 0xffff) {
+            out.write(0xfd);
+            out.write((int) value);
+            out.write((int) (value >>> 8));
+        } else if (value <= 0xffffffffL) {
+            out.write(0xfe);
+            uint32(out, value);
+        } else {
+            out.write(0xff);
+            uint64(out, value);
+        }
+    }
+}
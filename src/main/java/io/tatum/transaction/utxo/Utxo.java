@@ -0,0 +1,50 @@
+package io.tatum.transaction.utxo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Utxo. Output of a transaction which can be spent.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class Utxo {
+
+    private String txHash;
+    private long index;
+    private String address;
+
+    /**
+     * Value in satoshis.
+     */
+    private long value;
+
+    /**
+     * Height of the block with the transaction, -1 if the transaction is not in a block yet.
+     */
+    private long height;
+
+    /**
+     * Outpoint of the output in the form txHash:index.
+     *
+     * @param txHash the tx hash
+     * @param index  the index
+     * @return the string
+     */
+    public static String outpoint(String txHash, long index) {
+        return txHash + ":" + index;
+    }
+
+    /**
+     * Outpoint of the output in the form txHash:index.
+     *
+     * @return the string
+     */
+    public String outpoint() {
+        return outpoint(txHash, index);
+    }
+}
@@ -0,0 +1,141 @@
+package io.tatum.transaction.utxo;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Finds unspent outputs of a set of addresses.
+ * <p>
+ * Histories of all addresses are paged concurrently. Outputs spent within the history are dropped locally,
+ * the remaining candidates are confirmed with the UTXO endpoint in parallel. At most {@code parallelism}
+ * requests are in flight at the same time.
+ * <p>
+ * The result is deterministic: addresses in the given order, outputs of an address ordered by tx hash and index.
+ */
+public class UtxoDiscovery implements AutoCloseable {
+
+    /**
+     * The constant DEFAULT_PARALLELISM.
+     */
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    private static final Comparator<Utxo> ORDER = Comparator.comparing(Utxo::getTxHash).thenComparingLong(Utxo::getIndex);
+
+    private final UtxoSource source;
+    private final ExecutorService executor;
+
+    /**
+     * Instantiates a new Utxo discovery.
+     *
+     * @param source the source
+     */
+    public UtxoDiscovery(UtxoSource source) {
+        this(source, DEFAULT_PARALLELISM);
+    }
+
+    /**
+     * Instantiates a new Utxo discovery.
+     *
+     * @param source      the source
+     * @param parallelism the maximum number of concurrent requests
+     */
+    public UtxoDiscovery(UtxoSource source, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive.");
+        }
+        this.source = source;
+        this.executor = Executors.newFixedThreadPool(parallelism,
+                new ThreadFactoryBuilder().setNameFormat("utxo-discovery-%d").setDaemon(true).build());
+    }
+
+    /**
+     * Discover unspent outputs of the addresses.
+     *
+     * @param addresses the addresses
+     * @return the list
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public List<Utxo> discover(Collection<String> addresses) throws ExecutionException, InterruptedException {
+        List<CompletableFuture<List<Utxo>>> perAddress = new ArrayList<>();
+        for (String address : new LinkedHashSet<>(addresses)) {
+            perAddress.add(CompletableFuture
+                    .supplyAsync(() -> history(address), executor)
+                    .thenCompose(history -> confirm(candidates(address, history))));
+        }
+
+        CompletableFuture.allOf(perAddress.toArray(new CompletableFuture[0])).get();
+
+        List<Utxo> result = new ArrayList<>();
+        for (CompletableFuture<List<Utxo>> future : perAddress) {
+            result.addAll(future.get());
+        }
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private List<UtxoTransaction> history(String address) {
+        try {
+            return source.history(address);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private static List<Utxo> candidates(String address, List<UtxoTransaction> history) {
+        Set<String> spent = new HashSet<>();
+        history.forEach(tx -> spent.addAll(tx.getSpent()));
+
+        Set<String> seen = new HashSet<>();
+        List<Utxo> candidates = new ArrayList<>();
+        for (UtxoTransaction tx : history) {
+            for (Utxo output : tx.getOutputs()) {
+                if (address.equals(output.getAddress()) && !spent.contains(output.outpoint()) && seen.add(output.outpoint())) {
+                    candidates.add(output);
+                }
+            }
+        }
+        candidates.sort(ORDER);
+        return candidates;
+    }
+
+    private CompletableFuture<List<Utxo>> confirm(List<Utxo> candidates) {
+        List<CompletableFuture<Utxo>> checks = candidates.stream()
+                .map(utxo -> CompletableFuture.supplyAsync(() -> isUnspent(utxo) ? utxo : null, executor))
+                .collect(Collectors.toList());
+        return CompletableFuture.allOf(checks.toArray(new CompletableFuture[0]))
+                .thenApply(v -> checks.stream().map(CompletableFuture::join).filter(Objects::nonNull).collect(Collectors.toList()));
+    }
+
+    private boolean isUnspent(Utxo utxo) {
+        try {
+            return source.isUnspent(utxo.getTxHash(), utxo.getIndex());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        }
+    }
+}
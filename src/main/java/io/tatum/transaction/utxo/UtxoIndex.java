@@ -0,0 +1,318 @@
+package io.tatum.transaction.utxo;
+
+import lombok.extern.log4j.Log4j2;
+import org.bitcoinj.core.NetworkParameters;
+import org.bitcoinj.core.Utils;
+import org.bitcoinj.script.Script;
+import org.bitcoinj.script.ScriptException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Local index of unspent outputs of tracked addresses.
+ * <p>
+ * The history of an address is downloaded once when it is registered. After that the index is kept
+ * up to date incrementally by {@link #sync()}, which applies only the blocks mined since the last sync,
+ * and by {@link #apply(String)}, which applies transactions broadcast by this process right away.
+ * Building a transaction from the index therefore does not need any network call.
+ * <p>
+ * Outputs selected for a transaction are reserved, so concurrent builders never pick the same output.
+ * A reservation ends when the spending transaction is applied, when it is released or when it expires.
+ */
+@Log4j2
+public class UtxoIndex {
+
+    /**
+     * The constant DEFAULT_RESERVATION_MILLIS.
+     */
+    public static final long DEFAULT_RESERVATION_MILLIS = 10 * 60 * 1000;
+
+    private static final int RECENTLY_SPENT_LIMIT = 100_000;
+
+    private final UtxoSource source;
+    private final NetworkParameters network;
+    private final long reservationMillis;
+
+    private final Set<String> addresses = ConcurrentHashMap.newKeySet();
+    private final Map<String, Utxo> utxos = new LinkedHashMap<>();
+    private final Map<String, Long> reserved = new HashMap<>();
+    private final Set<String> recentlySpent = new LinkedHashSet<>();
+
+    private long height = -1;
+
+    /**
+     * Instantiates a new Utxo index.
+     *
+     * @param source  the source of the blockchain data
+     * @param network the network used to parse transactions broadcast by this process
+     */
+    public UtxoIndex(UtxoSource source, NetworkParameters network) {
+        this(source, network, DEFAULT_RESERVATION_MILLIS);
+    }
+
+    /**
+     * Instantiates a new Utxo index.
+     *
+     * @param source            the source of the blockchain data
+     * @param network           the network used to parse transactions broadcast by this process
+     * @param reservationMillis how long an output stays reserved
+     */
+    public UtxoIndex(UtxoSource source, NetworkParameters network, long reservationMillis) {
+        this.source = source;
+        this.network = network;
+        this.reservationMillis = reservationMillis;
+    }
+
+    /**
+     * Start tracking the address. The history of the address is downloaded only the first time.
+     *
+     * @param address the address
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public void register(String address) throws ExecutionException, InterruptedException {
+        if (addresses.contains(address)) {
+            return;
+        }
+        long tip = source.currentHeight();
+        List<UtxoTransaction> history = source.history(address);
+        seed(address, history, tip);
+    }
+
+    /**
+     * Start tracking the address with an already downloaded history.
+     *
+     * @param address the address
+     * @param history the full history of the address
+     * @param tip     the block height the history was downloaded at
+     */
+    public synchronized void seed(String address, Collection<UtxoTransaction> history, long tip) {
+        if (!addresses.add(address)) {
+            return;
+        }
+        if (height < 0) {
+            height = tip;
+        }
+
+        Set<String> spent = new HashSet<>(recentlySpent);
+        for (UtxoTransaction tx : history) {
+            spent.addAll(tx.getSpent());
+        }
+        for (UtxoTransaction tx : history) {
+            for (Utxo output : tx.getOutputs()) {
+                if (address.equals(output.getAddress()) && !spent.contains(output.outpoint())) {
+                    utxos.putIfAbsent(output.outpoint(), output);
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply all blocks mined since the last sync.
+     *
+     * @return the height of the last applied block
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public long sync() throws ExecutionException, InterruptedException {
+        long tip = source.currentHeight();
+        synchronized (this) {
+            if (height < 0) {
+                height = tip;
+                return height;
+            }
+        }
+        for (long h = getHeight() + 1; h <= tip; h++) {
+            List<UtxoTransaction> block = source.block(h);
+            synchronized (this) {
+                if (h != height + 1) {
+                    // another sync applied this block meanwhile
+                    continue;
+                }
+                block.forEach(this::apply);
+                height = h;
+            }
+        }
+        return getHeight();
+    }
+
+    /**
+     * Apply the transaction to the index.
+     *
+     * @param tx the tx
+     */
+    public synchronized void apply(UtxoTransaction tx) {
+        for (String outpoint : tx.getSpent()) {
+            utxos.remove(outpoint);
+            reserved.remove(outpoint);
+            recentlySpent.add(outpoint);
+        }
+        while (recentlySpent.size() > RECENTLY_SPENT_LIMIT) {
+            var it = recentlySpent.iterator();
+            it.next();
+            it.remove();
+        }
+        for (Utxo output : tx.getOutputs()) {
+            if (output.getAddress() != null && addresses.contains(output.getAddress())
+                    && !recentlySpent.contains(output.outpoint())) {
+                Utxo known = utxos.get(output.outpoint());
+                if (known == null || known.getHeight() < output.getHeight()) {
+                    utxos.put(output.outpoint(), output);
+                }
+            }
+        }
+    }
+
+    /**
+     * Apply the signed transaction broadcast by this process.
+     *
+     * @param txData the serialized transaction in hex
+     */
+    public void apply(String txData) {
+        apply(parse(txData));
+    }
+
+    /**
+     * Release the outputs spent by the signed transaction, e.g. when it could not be broadcast.
+     *
+     * @param txData the serialized transaction in hex
+     */
+    public void release(String txData) {
+        release(parse(txData).getSpent());
+    }
+
+    /**
+     * Unspent and unreserved outputs of the addresses, in the order they were discovered.
+     *
+     * @param addresses the addresses
+     * @return the list
+     */
+    public synchronized List<Utxo> spendable(Collection<String> addresses) {
+        Set<String> filter = new HashSet<>(addresses);
+        long now = System.currentTimeMillis();
+        List<Utxo> result = new ArrayList<>();
+        for (Utxo utxo : utxos.values()) {
+            if (filter.contains(utxo.getAddress()) && !isReserved(utxo.outpoint(), now)) {
+                result.add(utxo);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Reserve the outputs. Either all outputs are reserved or none.
+     *
+     * @param outputs the outputs
+     * @return false if any of the outputs is already reserved or spent
+     */
+    public synchronized boolean reserve(Collection<Utxo> outputs) {
+        long now = System.currentTimeMillis();
+        for (Utxo utxo : outputs) {
+            if (!utxos.containsKey(utxo.outpoint()) || isReserved(utxo.outpoint(), now)) {
+                return false;
+            }
+        }
+        outputs.forEach(utxo -> reserved.put(utxo.outpoint(), now + reservationMillis));
+        return true;
+    }
+
+    /**
+     * Release the reservation of the outpoints.
+     *
+     * @param outpoints the outpoints
+     */
+    public synchronized void release(Collection<String> outpoints) {
+        outpoints.forEach(reserved::remove);
+    }
+
+    /**
+     * Is the output unspent, whether it is reserved or not.
+     *
+     * @param outpoint the outpoint
+     * @return the boolean
+     */
+    public synchronized boolean contains(String outpoint) {
+        return utxos.containsKey(outpoint);
+    }
+
+    /**
+     * Sum of the unspent outputs of the address in satoshis, including reserved ones.
+     *
+     * @param address the address
+     * @return the long
+     */
+    public synchronized long balance(String address) {
+        return utxos.values().stream().filter(u -> address.equals(u.getAddress())).mapToLong(Utxo::getValue).sum();
+    }
+
+    /**
+     * Gets the height of the last applied block.
+     *
+     * @return the height
+     */
+    public synchronized long getHeight() {
+        return height;
+    }
+
+    /**
+     * Gets network.
+     *
+     * @return the network
+     */
+    public NetworkParameters getNetwork() {
+        return network;
+    }
+
+    /**
+     * Is the address tracked.
+     *
+     * @param address the address
+     * @return the boolean
+     */
+    public boolean isRegistered(String address) {
+        return addresses.contains(address);
+    }
+
+    private boolean isReserved(String outpoint, long now) {
+        Long expiry = reserved.get(outpoint);
+        if (expiry == null) {
+            return false;
+        }
+        if (expiry < now) {
+            reserved.remove(outpoint);
+            return false;
+        }
+        return true;
+    }
+
+    private UtxoTransaction parse(String txData) {
+        RawTransaction tx = RawTransaction.fromHex(txData);
+        String hash = tx.getTxId();
+
+        List<String> spent = new ArrayList<>(tx.getInputCount());
+        for (int i = 0; i < tx.getInputCount(); i++) {
+            spent.add(Utxo.outpoint(Utils.HEX.encode(tx.getInputHash(i)), tx.getInputIndex(i)));
+        }
+        List<Utxo> outputs = new ArrayList<>(tx.getOutputCount());
+        for (int i = 0; i < tx.getOutputCount(); i++) {
+            String address = null;
+            try {
+                address = new Script(tx.getOutputScript(i)).getToAddress(network).toString();
+            } catch (ScriptException e) {
+                log.debug("Output {} of {} has no address.", i, hash);
+            }
+            outputs.add(new Utxo(hash, i, address, tx.getOutputValue(i), -1));
+        }
+        return new UtxoTransaction(hash, -1, spent, outputs);
+    }
+}
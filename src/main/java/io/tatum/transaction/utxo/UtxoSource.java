@@ -0,0 +1,50 @@
+package io.tatum.transaction.utxo;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Source of blockchain data for the {@link UtxoIndex}.
+ */
+public interface UtxoSource {
+
+    /**
+     * Current block height.
+     *
+     * @return the long
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    long currentHeight() throws ExecutionException, InterruptedException;
+
+    /**
+     * Transactions of the block.
+     *
+     * @param height the height
+     * @return the list
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    List<UtxoTransaction> block(long height) throws ExecutionException, InterruptedException;
+
+    /**
+     * Full transaction history of the address.
+     *
+     * @param address the address
+     * @return the list
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    List<UtxoTransaction> history(String address) throws ExecutionException, InterruptedException;
+
+    /**
+     * Check that the output was not spent yet.
+     *
+     * @param txHash the tx hash
+     * @param index  the index
+     * @return the boolean, false only when the output is known to be spent or missing
+     * @throws ExecutionException   when the check itself failed
+     * @throws InterruptedException the interrupted exception
+     */
+    boolean isUnspent(String txHash, long index) throws ExecutionException, InterruptedException;
+}
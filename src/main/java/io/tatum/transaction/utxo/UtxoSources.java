@@ -0,0 +1,200 @@
+package io.tatum.transaction.utxo;
+
+import io.tatum.blockchain.Bitcoin;
+import io.tatum.blockchain.Litecoin;
+import io.tatum.model.response.btc.BtcBlock;
+import io.tatum.model.response.btc.BtcInfo;
+import io.tatum.model.response.btc.BtcTx;
+import io.tatum.model.response.btc.BtcTxInputs;
+import io.tatum.model.response.btc.BtcTxOutputs;
+import io.tatum.model.response.common.BlockHash;
+import io.tatum.model.response.ltc.LtcBlock;
+import io.tatum.model.response.ltc.LtcInfo;
+import io.tatum.model.response.ltc.LtcTx;
+import io.tatum.model.response.ltc.LtcTxInputs;
+import io.tatum.model.response.ltc.LtcTxOutputs;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * {@link UtxoSource} implementations backed by the Tatum API.
+ */
+public final class UtxoSources {
+
+    /**
+     * The constant PAGE_SIZE. Maximum page size of the transaction history endpoints.
+     */
+    public static final int PAGE_SIZE = 50;
+
+    private UtxoSources() {
+    }
+
+    /**
+     * Bitcoin utxo source.
+     *
+     * @param bitcoin the bitcoin
+     * @return the utxo source
+     */
+    public static UtxoSource btc(Bitcoin bitcoin) {
+        return new UtxoSource() {
+            @Override
+            public long currentHeight() throws ExecutionException, InterruptedException {
+                BtcInfo info = bitcoin.btcGetCurrentBlock();
+                if (info == null) {
+                    throw new ExecutionException(new IllegalStateException("Unable to get current BTC block."));
+                }
+                return info.getBlocks();
+            }
+
+            @Override
+            public List<UtxoTransaction> block(long height) throws ExecutionException, InterruptedException {
+                BlockHash hash = bitcoin.btcGetBlockHash(height);
+                BtcBlock block = hash != null ? bitcoin.btcGetBlock(hash.getHash()) : null;
+                if (block == null) {
+                    throw new ExecutionException(new IllegalStateException("Unable to get BTC block " + height));
+                }
+                return btc(block.getTxs(), height);
+            }
+
+            @Override
+            public List<UtxoTransaction> history(String address) throws ExecutionException, InterruptedException {
+                List<UtxoTransaction> result = new ArrayList<>();
+                for (int offset = 0; ; offset += PAGE_SIZE) {
+                    BtcTx[] page = bitcoin.btcGetTxForAccount(address, PAGE_SIZE, offset);
+                    if (page == null) {
+                        throw new ExecutionException(new IllegalStateException("Unable to get BTC transactions of " + address));
+                    }
+                    result.addAll(btc(page, -1));
+                    if (page.length < PAGE_SIZE) {
+                        return result;
+                    }
+                }
+            }
+
+            @Override
+            public boolean isUnspent(String txHash, long index) throws ExecutionException, InterruptedException {
+                return bitcoin.btcIsUTXOUnspent(txHash, index);
+            }
+        };
+    }
+
+    /**
+     * Litecoin utxo source.
+     *
+     * @param litecoin the litecoin
+     * @return the utxo source
+     */
+    public static UtxoSource ltc(Litecoin litecoin) {
+        return new UtxoSource() {
+            @Override
+            public long currentHeight() throws ExecutionException, InterruptedException {
+                LtcInfo info = litecoin.ltcGetCurrentBlock();
+                if (info == null || info.getBlocks() == null) {
+                    throw new ExecutionException(new IllegalStateException("Unable to get current LTC block."));
+                }
+                return info.getBlocks().longValue();
+            }
+
+            @Override
+            public List<UtxoTransaction> block(long height) throws ExecutionException, InterruptedException {
+                BlockHash hash = litecoin.ltcGetBlockHash(BigDecimal.valueOf(height));
+                LtcBlock block = hash != null ? litecoin.ltcGetBlock(hash.getHash()) : null;
+                if (block == null) {
+                    throw new ExecutionException(new IllegalStateException("Unable to get LTC block " + height));
+                }
+                return ltc(block.getTxs(), height);
+            }
+
+            @Override
+            public List<UtxoTransaction> history(String address) throws ExecutionException, InterruptedException {
+                List<UtxoTransaction> result = new ArrayList<>();
+                for (int offset = 0; ; offset += PAGE_SIZE) {
+                    LtcTx[] page = litecoin.ltcGetTxForAccount(address, PAGE_SIZE, offset);
+                    if (page == null) {
+                        throw new ExecutionException(new IllegalStateException("Unable to get LTC transactions of " + address));
+                    }
+                    result.addAll(ltc(page, -1));
+                    if (page.length < PAGE_SIZE) {
+                        return result;
+                    }
+                }
+            }
+
+            @Override
+            public boolean isUnspent(String txHash, long index) throws ExecutionException, InterruptedException {
+                return litecoin.ltcIsUTXOUnspent(txHash, BigDecimal.valueOf(index));
+            }
+        };
+    }
+
+    /**
+     * Convert Bitcoin transactions.
+     *
+     * @param txs    the txs
+     * @param height the height of the block, -1 to take it from the transaction
+     * @return the list
+     */
+    static List<UtxoTransaction> btc(BtcTx[] txs, long height) {
+        List<UtxoTransaction> result = new ArrayList<>();
+        if (txs == null) {
+            return result;
+        }
+        for (BtcTx tx : txs) {
+            long txHeight = height >= 0 ? height : (tx.getHeight() > 0 ? tx.getHeight() : -1);
+            List<String> spent = new ArrayList<>();
+            if (tx.getInputs() != null) {
+                for (BtcTxInputs input : tx.getInputs()) {
+                    if (input.getPrevout() != null) {
+                        spent.add(Utxo.outpoint(input.getPrevout().getHash(), input.getPrevout().getIndex()));
+                    }
+                }
+            }
+            List<Utxo> outputs = new ArrayList<>();
+            BtcTxOutputs[] txOutputs = tx.getOutputs() != null ? tx.getOutputs() : new BtcTxOutputs[0];
+            for (int i = 0; i < txOutputs.length; i++) {
+                outputs.add(new Utxo(tx.getHash(), i, txOutputs[i].getAddress(), txOutputs[i].getValue(), txHeight));
+            }
+            result.add(new UtxoTransaction(tx.getHash(), txHeight, spent, outputs));
+        }
+        return result;
+    }
+
+    /**
+     * Convert Litecoin transactions.
+     *
+     * @param txs    the txs
+     * @param height the height of the block, -1 to take it from the transaction
+     * @return the list
+     */
+    static List<UtxoTransaction> ltc(LtcTx[] txs, long height) {
+        List<UtxoTransaction> result = new ArrayList<>();
+        if (txs == null) {
+            return result;
+        }
+        for (LtcTx tx : txs) {
+            long txHeight = height >= 0 ? height
+                    : (tx.getHeight() != null && tx.getHeight().signum() > 0 ? tx.getHeight().longValue() : -1);
+            List<String> spent = new ArrayList<>();
+            if (tx.getInputs() != null) {
+                for (LtcTxInputs input : tx.getInputs()) {
+                    if (input.getPrevout() != null && input.getPrevout().getIndex() != null) {
+                        spent.add(Utxo.outpoint(input.getPrevout().getHash(), input.getPrevout().getIndex().longValue()));
+                    }
+                }
+            }
+            List<Utxo> outputs = new ArrayList<>();
+            List<LtcTxOutputs> txOutputs = tx.getOutputs() != null ? Arrays.asList(tx.getOutputs()) : List.of();
+            for (int i = 0; i < txOutputs.size(); i++) {
+                LtcTxOutputs output = txOutputs.get(i);
+                long value = output.getValue() != null ? output.getValue().longValue() : 0;
+                outputs.add(new Utxo(tx.getHash(), i, output.getAddress(), value, txHeight));
+            }
+            result.add(new UtxoTransaction(tx.getHash(), txHeight, spent, outputs));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,29 @@
+package io.tatum.transaction.utxo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The type Utxo transaction. Chain independent view of a transaction: which outputs it spends and which it creates.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@EqualsAndHashCode
+public class UtxoTransaction {
+
+    private String hash;
+    private long height;
+
+    /**
+     * Outpoints spent by the inputs, see {@link Utxo#outpoint(String, long)}.
+     */
+    private List<String> spent;
+
+    private List<Utxo> outputs;
+
+}
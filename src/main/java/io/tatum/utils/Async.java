@@ -11,6 +11,7 @@ import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 /**
@@ -80,6 +81,19 @@ public class Async implements Serializable {
      * @throws InterruptedException the interrupted exception
      */
     public static <T> T post(String uri, String requestBody, Class<T> valueType) throws ExecutionException, InterruptedException {
+        return postAsync(uri, requestBody, valueType).get();
+    }
+
+    /**
+     * Post without waiting for the response. The request is issued before the method returns.
+     *
+     * @param <T>         the type parameter
+     * @param uri         the uri
+     * @param requestBody the request body
+     * @param valueType   the value type
+     * @return the response, completed with null if the status is not 200
+     */
+    public static <T> CompletableFuture<T> postAsync(String uri, String requestBody, Class<T> valueType) {
         var request = HttpRequest.newBuilder()
                 .uri(URI.create(uri))
                 .timeout(Duration.ofSeconds(20))
@@ -102,7 +116,7 @@ public class Async implements Serializable {
                         }
                     }
                     return null;
-                }).get();
+                });
     }
 
     /**
@@ -270,6 +284,45 @@ public class Async implements Serializable {
                 }).get();
     }
 
+    /**
+     * Whether the resource exists. Not found responses and forbidden responses with one of the error codes
+     * mean it does not. Any other response fails, so an outage or a rate limit is not mistaken for a missing resource.
+     *
+     * @param uri          the uri
+     * @param missingCodes the error codes of forbidden responses which mean the resource does not exist
+     * @return the boolean
+     * @throws ExecutionException   the execution exception
+     * @throws InterruptedException the interrupted exception
+     */
+    public static boolean exists(String uri, String... missingCodes) throws ExecutionException, InterruptedException {
+        var request = HttpRequest.newBuilder()
+                .uri(URI.create(uri))
+                .timeout(Duration.ofSeconds(20))
+                .header("Content-Type", "application/json")
+                .headers("x-api-key", apiKey)
+                .GET()
+                .build();
+
+        var client = HttpClient.newHttpClient();
+        HttpResponse<String> response = client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).get();
+        if (response.statusCode() == 200) {
+            return true;
+        }
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        if (response.statusCode() == 403 && response.body() != null) {
+            for (String code : missingCodes) {
+                if (response.body().contains(code)) {
+                    return false;
+                }
+            }
+        }
+        log.info(response.statusCode());
+        log.info(response.body());
+        throw new ExecutionException(new IllegalStateException("Request failed with status " + response.statusCode()));
+    }
+
     /**
      * Gets json.
      *
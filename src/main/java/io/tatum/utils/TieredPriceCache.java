@@ -0,0 +1,129 @@
+package io.tatum.utils;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.log4j.Log4j2;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices of ordered tiers, e.g. fee rates from fast to slow, cached and refreshed in the background.
+ * <p>
+ * Tiers are declared from the most to the least expensive. A fetched price replaces the cached price of its tier,
+ * then every tier is capped at the price of the tier declared before it. Reads never fetch and never wait
+ * for a refresh, the initial prices are returned until the first refresh succeeds.
+ *
+ * @param <K> the type of the tiers
+ * @param <V> the type of the prices
+ */
+@Log4j2
+public class TieredPriceCache<K extends Enum<K>, V extends Comparable<V>> implements AutoCloseable {
+
+    /**
+     * Source of the prices.
+     *
+     * @param <K> the type of the tiers
+     * @param <V> the type of the prices
+     */
+    public interface Fetcher<K, V> {
+
+        /**
+         * Fetch prices.
+         *
+         * @return the prices by tier, null if they are not available
+         * @throws IOException          the io exception
+         * @throws ExecutionException   the execution exception
+         * @throws InterruptedException the interrupted exception
+         */
+        Map<K, V> fetch() throws IOException, ExecutionException, InterruptedException;
+    }
+
+    private final String name;
+    private final Fetcher<K, V> fetcher;
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledFuture<?> refresh;
+
+    private volatile Map<K, V> prices;
+    private volatile long updated;
+
+    /**
+     * Instantiates a new Tiered price cache.
+     *
+     * @param name          the name used for the refresh thread and in logs
+     * @param initial       the prices of all tiers used until the first refresh succeeds
+     * @param fetcher       the fetcher
+     * @param refreshMillis how often the prices are refreshed
+     */
+    public TieredPriceCache(String name, Map<K, V> initial, Fetcher<K, V> fetcher, long refreshMillis) {
+        this.name = name;
+        this.fetcher = fetcher;
+        this.prices = new EnumMap<>(initial);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat(name + "-%d").setDaemon(true).build());
+        this.refresh = scheduler.scheduleWithFixedDelay(this::refresh, 0, refreshMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Price of the tier.
+     *
+     * @param tier the tier
+     * @return the price
+     */
+    public V get(K tier) {
+        return prices.get(tier);
+    }
+
+    /**
+     * Time of the last successful refresh in milliseconds, 0 if the initial prices are used.
+     *
+     * @return the updated
+     */
+    public long getUpdated() {
+        return updated;
+    }
+
+    /**
+     * Refresh the prices now.
+     */
+    public synchronized void refresh() {
+        try {
+            Map<K, V> fetched = fetcher.fetch();
+            if (fetched == null) {
+                log.warn("Unable to refresh {}.", name);
+                return;
+            }
+            Map<K, V> next = new EnumMap<>(prices);
+            fetched.forEach((tier, price) -> {
+                if (price != null) {
+                    next.put(tier, price);
+                }
+            });
+            // a cheaper tier must never cost more than a more expensive one, the map iterates in declaration order
+            V cap = null;
+            for (Map.Entry<K, V> price : next.entrySet()) {
+                if (cap != null && price.getValue().compareTo(cap) > 0) {
+                    price.setValue(cap);
+                }
+                cap = price.getValue();
+            }
+            prices = next;
+            updated = System.currentTimeMillis();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        refresh.cancel(false);
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,124 @@
+package io.tatum.blockchain;
+
+import io.tatum.model.request.Currency;
+import io.tatum.model.response.common.Confirmation;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConfirmationTrackerTest {
+
+    /**
+     * In-memory chain which counts lookups of single transactions.
+     */
+    private static class MemoryChain implements ConfirmationTracker.ChainSource {
+        private long height = 100;
+        private final Map<Long, List<String>> blocks = new HashMap<>();
+        private final Map<String, Long> included = new HashMap<>();
+        private int lookups;
+
+        void mine(String... hashes) {
+            height++;
+            List<String> txs = new ArrayList<>(List.of(hashes));
+            blocks.put(height, txs);
+            for (String hash : hashes) {
+                included.put(hash, height);
+            }
+        }
+
+        void orphan(long h) {
+            for (String hash : blocks.put(h, List.of())) {
+                included.remove(hash);
+            }
+        }
+
+        @Override
+        public long currentHeight() {
+            return height;
+        }
+
+        @Override
+        public Collection<String> blockTransactions(long h) {
+            return blocks.getOrDefault(h, List.of());
+        }
+
+        @Override
+        public Long transactionHeight(String hash) {
+            lookups++;
+            return included.get(hash);
+        }
+    }
+
+    @Test
+    public void should_complete_at_requested_depth_from_block_contents() throws Exception {
+        MemoryChain chain = new MemoryChain();
+        try (ConfirmationTracker tracker = new ConfirmationTracker(60_000, 10)) {
+            tracker.register(Currency.ETH, chain);
+            CompletableFuture<Confirmation> future = tracker.track(Currency.ETH, "0xAB", 3);
+
+            tracker.tick();
+            assertEquals(1, chain.lookups);
+
+            chain.mine("0xab");
+            tracker.tick();
+            chain.mine();
+            tracker.tick();
+            assertFalse(future.isDone());
+
+            chain.mine();
+            tracker.tick();
+            assertTrue(future.isDone());
+            assertEquals(101, future.get().getBlockNumber());
+            assertEquals(3, future.get().getConfirmations());
+            // found in the block, no more lookups after the first one
+            assertEquals(1, chain.lookups);
+            assertEquals(0, tracker.size());
+        }
+    }
+
+    @Test
+    public void should_back_off_lookups_of_unknown_transactions() {
+        MemoryChain chain = new MemoryChain();
+        try (ConfirmationTracker tracker = new ConfirmationTracker(60_000, 10)) {
+            tracker.register(Currency.BTC, chain);
+            tracker.track(Currency.BTC, "ff00", 1);
+            for (int i = 0; i < 5; i++) {
+                tracker.tick();
+            }
+            assertEquals(1, chain.lookups);
+        }
+    }
+
+    @Test
+    public void should_find_transaction_again_after_reorganization() throws Exception {
+        MemoryChain chain = new MemoryChain();
+        try (ConfirmationTracker tracker = new ConfirmationTracker(60_000, 10)) {
+            tracker.register(Currency.ETH, chain);
+            CompletableFuture<Confirmation> future = tracker.track(Currency.ETH, "0xab", 2);
+            tracker.tick();
+
+            chain.mine("0xab");
+            tracker.tick();
+            chain.orphan(101);
+            chain.mine();
+            tracker.tick();
+            assertFalse(future.isDone());
+
+            chain.mine("0xab");
+            tracker.tick();
+            chain.mine();
+            tracker.tick();
+            assertTrue(future.isDone());
+            assertEquals(103, future.get().getBlockNumber());
+        }
+    }
+}
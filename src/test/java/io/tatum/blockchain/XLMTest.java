@@ -1,6 +1,8 @@
 package io.tatum.blockchain;
 
 import io.tatum.model.response.xlm.Account;
+import io.tatum.model.response.xlm.XlmLedger;
+import io.tatum.model.response.xlm.XlmTx;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -39,7 +41,7 @@ public class XLMTest {
     @Test
     public void xlmGetLedgerTest() throws ExecutionException, InterruptedException {
         XLM xlm = new XLM();
-        String ledger = xlm.xlmGetLedger(new BigInteger("1466790"));
+        XlmLedger ledger = xlm.xlmGetLedger(new BigInteger("1466790"));
         System.out.println(ledger);
     }
 
@@ -53,7 +55,7 @@ public class XLMTest {
     @Test
     public void xlmGetLedgerTxTest() throws ExecutionException, InterruptedException {
         XLM xlm = new XLM();
-        String ledger = xlm.xlmGetLedgerTx(new BigDecimal(33073186));
+        XlmTx[] ledger = xlm.xlmGetLedgerTx(new BigDecimal(33073186));
         System.out.println(ledger);
     }
 
@@ -61,7 +63,7 @@ public class XLMTest {
     public void xlmGetTransactionTest() throws ExecutionException, InterruptedException {
         XLM xlm = new XLM();
         // https://stellarchain.io/tx/2ef820fdf7dcae4c308c9642ca29023b327f6b9c5468de4cd30452df21c2b4bf
-        String ledger = xlm.xlmGetTransaction("2ef820fdf7dcae4c308c9642ca29023b327f6b9c5468de4cd30452df21c2b4bf");
+        XlmTx ledger = xlm.xlmGetTransaction("2ef820fdf7dcae4c308c9642ca29023b327f6b9c5468de4cd30452df21c2b4bf");
         System.out.println(ledger);
     }
 
@@ -70,7 +72,7 @@ public class XLMTest {
         XLM xlm = new XLM();
         // https://stellarchain.io/address/GBLFABRSRFIH3LKC2ZDZBJQPC5INGW3MUUTNCZOEHUC2V4U3U4YHOZ34
         String address = "GBLFABRSRFIH3LKC2ZDZBJQPC5INGW3MUUTNCZOEHUC2V4U3U4YHOZ34";
-        String transaction = xlm.xlmGetAccountTransactions(address);
+        XlmTx[] transaction = xlm.xlmGetAccountTransactions(address);
         System.out.println(transaction);
     }
 }
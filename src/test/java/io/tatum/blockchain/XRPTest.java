@@ -1,6 +1,9 @@
 package io.tatum.blockchain;
 
 import io.tatum.model.response.xrp.AccountData;
+import io.tatum.model.response.xrp.XrpAccountTransactions;
+import io.tatum.model.response.xrp.XrpLedger;
+import io.tatum.model.response.xrp.XrpTx;
 import org.junit.Test;
 
 import java.io.IOException;
@@ -40,7 +43,7 @@ public class XRPTest {
     @Test
     public void xrpGetLedgerTest() throws ExecutionException, InterruptedException {
         XRP xrp = new XRP();
-        String ledger = xrp.xrpGetLedger(new BigInteger("14374504"));
+        XrpLedger ledger = xrp.xrpGetLedger(new BigInteger("14374504"));
         System.out.println(ledger);
     }
 
@@ -59,7 +62,7 @@ public class XRPTest {
         XRP xrp = new XRP();
         // https://xrpscan.com/tx/7999663E9B35C124AA6BE4748AEDED9A66DB21BC9EF5367AC7C194BA03D84F5C
         String tx = "7999663E9B35C124AA6BE4748AEDED9A66DB21BC9EF5367AC7C194BA03D84F5C";
-        String transaction = xrp.xrpGetTransaction(tx);
+        XrpTx transaction = xrp.xrpGetTransaction(tx);
         System.out.println(transaction);
     }
 
@@ -70,7 +73,7 @@ public class XRPTest {
         String address = "rHb9CJAWyB4rj91VRWn96DkukG4bwdtyTh";
         BigInteger min = BigInteger.ZERO;
         String marker = "{\"ledger\": 60208452,\"seq\": 60208452}";
-        String transaction = xrp.xrpGetAccountTransactions(address, min, marker);
+        XrpAccountTransactions transaction = xrp.xrpGetAccountTransactions(address, min, marker);
         System.out.println(transaction);
     }
 }
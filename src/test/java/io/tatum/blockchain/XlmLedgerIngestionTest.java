@@ -0,0 +1,56 @@
+package io.tatum.blockchain;
+
+import io.tatum.model.response.xlm.XlmLedger;
+import io.tatum.model.response.xlm.XlmTx;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.Assert.assertEquals;
+
+public class XlmLedgerIngestionTest {
+
+    /**
+     * Serves ledgers from memory with random latency, so downloads finish out of order.
+     */
+    private static class SlowXLM extends XLM {
+        @Override
+        public XlmLedger xlmGetLedger(BigInteger sequence) throws InterruptedException {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(20));
+            XlmLedger ledger = new XlmLedger();
+            ledger.setSequence(sequence.longValue());
+            return ledger;
+        }
+
+        @Override
+        public XlmTx[] xlmGetLedgerTx(BigDecimal sequence) throws InterruptedException {
+            Thread.sleep(ThreadLocalRandom.current().nextInt(20));
+            XlmTx tx = new XlmTx();
+            tx.setHash("TX" + sequence);
+            tx.setLedger(sequence.longValue());
+            return new XlmTx[]{tx};
+        }
+    }
+
+    @Test
+    public void should_hand_ledgers_over_in_sequence_order() {
+        List<Long> consumed = new ArrayList<>();
+        List<Long> checkpoints = new ArrayList<>();
+
+        try (XlmLedgerIngestion ingestion = new XlmLedgerIngestion(new SlowXLM(), 8,
+                data -> consumed.add(data.getLedger().getSequence()), checkpoints::add)) {
+            long next = ingestion.ingest(1000, 1049);
+            assertEquals(1050, next);
+        }
+
+        assertEquals(50, consumed.size());
+        for (int i = 0; i < consumed.size(); i++) {
+            assertEquals(1000L + i, consumed.get(i).longValue());
+        }
+        assertEquals(consumed, checkpoints);
+    }
+}
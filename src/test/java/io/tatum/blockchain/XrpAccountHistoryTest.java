@@ -0,0 +1,66 @@
+package io.tatum.blockchain;
+
+import io.tatum.model.response.xrp.XrpAccountTransactions;
+import io.tatum.model.response.xrp.XrpAccountTx;
+import io.tatum.model.response.xrp.XrpMarker;
+import io.tatum.model.response.xrp.XrpTx;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class XrpAccountHistoryTest {
+
+    /**
+     * Three pages of two transactions, served from memory.
+     */
+    private static class PagedXRP extends XRP {
+        private final List<XrpMarker> requested = new ArrayList<>();
+
+        @Override
+        public synchronized XrpAccountTransactions xrpGetAccountTransactionsAfter(String address, BigInteger min, XrpMarker marker) {
+            requested.add(marker);
+            int page = marker == null ? 0 : (int) marker.getSeq();
+            XrpAccountTx[] txs = new XrpAccountTx[2];
+            for (int i = 0; i < txs.length; i++) {
+                XrpTx tx = new XrpTx();
+                tx.setHash("TX" + (page * 2 + i));
+                txs[i] = new XrpAccountTx(tx, null, true);
+            }
+            XrpMarker next = page < 2 ? new XrpMarker(100, page + 1) : null;
+            return new XrpAccountTransactions(address, 0L, 100L, 2, next, txs);
+        }
+    }
+
+    @Test
+    public void should_follow_markers_through_whole_history() {
+        PagedXRP xrp = new PagedXRP();
+        List<String> hashes = xrp.xrpGetAccountHistory("rHb9CJAWyB4rj91VRWn96DkukG4bwdtyTh", BigInteger.ZERO, null)
+                .stream()
+                .map(tx -> tx.getTx().getHash())
+                .collect(Collectors.toList());
+
+        assertEquals(List.of("TX0", "TX1", "TX2", "TX3", "TX4", "TX5"), hashes);
+        assertEquals(3, xrp.requested.size());
+    }
+
+    @Test
+    public void should_resume_from_checkpoint() {
+        PagedXRP xrp = new PagedXRP();
+        XrpAccountHistory history = xrp.xrpGetAccountHistory("rHb9CJAWyB4rj91VRWn96DkukG4bwdtyTh", BigInteger.ZERO, null);
+        history.next();
+        assertNull(history.getCheckpoint());
+        history.next();
+        history.next();
+        XrpMarker checkpoint = history.getCheckpoint();
+        assertEquals(new XrpMarker(100, 1), checkpoint);
+
+        XrpAccountHistory resumed = xrp.xrpGetAccountHistory("rHb9CJAWyB4rj91VRWn96DkukG4bwdtyTh", BigInteger.ZERO, checkpoint);
+        assertEquals("TX2", resumed.next().getTx().getHash());
+    }
+}
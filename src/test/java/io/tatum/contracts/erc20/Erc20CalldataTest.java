@@ -0,0 +1,51 @@
+package io.tatum.contracts.erc20;
+
+import org.junit.Test;
+import org.web3j.abi.FunctionEncoder;
+import org.web3j.abi.datatypes.Address;
+import org.web3j.abi.datatypes.Function;
+import org.web3j.abi.datatypes.Type;
+import org.web3j.abi.datatypes.generated.Uint256;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class Erc20CalldataTest {
+
+    private static final String FROM = "0x8cb76aed9c5e336ef961265c6079c14e9cd3d2ea";
+    private static final String TO = "0xdac17f958d2ee523a2206206994597c13d831ec7";
+
+    @Test
+    public void should_match_web3j_encoding() {
+        for (BigInteger amount : Arrays.asList(BigInteger.ZERO, BigInteger.valueOf(1_500_000),
+                BigInteger.valueOf(Long.MAX_VALUE), BigInteger.TEN.pow(30), BigInteger.TWO.pow(256).subtract(BigInteger.ONE))) {
+            assertEquals(encode("transfer", new Address(TO), new Uint256(amount)), Erc20Calldata.transfer(TO, amount));
+            assertEquals(encode("approve", new Address(TO), new Uint256(amount)), Erc20Calldata.approve(TO, amount));
+            assertEquals(encode("transferFrom", new Address(FROM), new Address(TO), new Uint256(amount)),
+                    Erc20Calldata.transferFrom(FROM, TO, amount));
+        }
+        assertEquals(encode("balanceOf", new Address(FROM)), Erc20Calldata.balanceOf(FROM));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_negative_amount() {
+        Erc20Calldata.transfer(TO, BigInteger.ONE.negate());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_amount_over_uint256() {
+        Erc20Calldata.transfer(TO, BigInteger.TWO.pow(256));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_invalid_address() {
+        Erc20Calldata.transfer("0xdac17f958d2ee523a2206206994597c13d831ec", BigInteger.ONE);
+    }
+
+    private static String encode(String name, Type... arguments) {
+        return FunctionEncoder.encode(new Function(name, Arrays.asList(arguments), Collections.emptyList()));
+    }
+}
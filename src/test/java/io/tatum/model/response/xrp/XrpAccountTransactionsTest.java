@@ -0,0 +1,60 @@
+package io.tatum.model.response.xrp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.tatum.utils.MapperFactory;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class XrpAccountTransactionsTest {
+
+    private static final String PAGE = "{" +
+            "\"account\":\"rHb9CJAWyB4rj91VRWn96DkukG4bwdtyTh\"," +
+            "\"ledger_index_min\":32570,\"ledger_index_max\":60208452,\"limit\":2," +
+            "\"marker\":{\"ledger\":60208451,\"seq\":17}," +
+            "\"transactions\":[" +
+            "{\"meta\":{\"AffectedNodes\":[{\"ModifiedNode\":{\"LedgerEntryType\":\"AccountRoot\"}}],\"TransactionResult\":\"tesSUCCESS\"}," +
+            "\"tx\":{\"Account\":\"rHb9CJAWyB4rj91VRWn96DkukG4bwdtyTh\",\"Amount\":\"1000000\",\"Destination\":\"rQ3fNyLjbvcDaPNS4EAJY8aT9zR3uGk17c\"," +
+            "\"Fee\":\"12\",\"Sequence\":5,\"TransactionType\":\"Payment\",\"hash\":\"7999663E\",\"ledger_index\":60208452,\"Unknown\":1}," +
+            "\"validated\":true}," +
+            "{\"meta\":{\"TransactionResult\":\"tesSUCCESS\"}," +
+            "\"tx\":{\"Account\":\"rHb9CJAWyB4rj91VRWn96DkukG4bwdtyTh\",\"Amount\":{\"currency\":\"USD\",\"issuer\":\"rvYAfWj5gh67oV6fW32ZzP3Aw4Eubs59B\",\"value\":\"1.5\"}," +
+            "\"TransactionType\":\"Payment\",\"hash\":\"8A99663E\"}," +
+            "\"validated\":true}" +
+            "]}";
+
+    @Test
+    public void should_decode_account_transactions_page() throws IOException {
+        XrpAccountTransactions page = MapperFactory.get().readValue(PAGE, XrpAccountTransactions.class);
+
+        assertEquals(new XrpMarker(60208451, 17), page.getMarker());
+        assertEquals(2, page.getTransactions().length);
+
+        XrpTx payment = page.getTransactions()[0].getTx();
+        assertEquals("Payment", payment.getTransactionType());
+        assertEquals(Long.valueOf(5), payment.getSequence());
+        assertTrue(payment.getAmount().isXrp());
+        assertEquals(new BigDecimal("1000000"), payment.getAmount().getValue());
+
+        XrpAmount issued = page.getTransactions()[1].getTx().getAmount();
+        assertFalse(issued.isXrp());
+        assertEquals("USD", issued.getCurrency());
+        assertEquals(new BigDecimal("1.5"), issued.getValue());
+        assertNull(page.getTransactions()[1].getTx().getMeta());
+    }
+
+    @Test
+    public void should_decode_meta_on_access() throws IOException {
+        XrpAccountTransactions page = MapperFactory.get().readValue(PAGE, XrpAccountTransactions.class);
+
+        JsonNode meta = page.getTransactions()[0].getMeta().toTree();
+        assertEquals("tesSUCCESS", meta.get("TransactionResult").asText());
+        assertEquals("AccountRoot", meta.at("/AffectedNodes/0/ModifiedNode/LedgerEntryType").asText());
+    }
+}
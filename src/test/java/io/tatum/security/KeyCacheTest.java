@@ -0,0 +1,46 @@
+package io.tatum.security;
+
+import org.junit.Test;
+import org.tron.common.crypto.ECKey;
+import org.tron.common.utils.ByteArray;
+import org.web3j.crypto.Credentials;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class KeyCacheTest {
+
+    private static final String PRIVATE_KEY = "4cd266de48d8cdd0e0a3cd4cf3f2cd18eaa0bbc0b0a8b1fba4b0e9fdf51f7a3c";
+
+    @Test
+    public void should_derive_keys_once() {
+        KeyCache cache = new KeyCache(10);
+
+        Credentials credentials = cache.credentials("0x" + PRIVATE_KEY);
+        assertEquals(Credentials.create(PRIVATE_KEY).getAddress(), credentials.getAddress());
+        assertSame(credentials, cache.credentials(PRIVATE_KEY));
+
+        ECKey tronKey = cache.tronKey(PRIVATE_KEY);
+        assertArrayEquals(ECKey.fromPrivate(ByteArray.fromHexString(PRIVATE_KEY)).getAddress(), tronKey.getAddress());
+        assertSame(tronKey, cache.tronKey(PRIVATE_KEY.toUpperCase()));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void should_evict_keys() {
+        KeyCache cache = new KeyCache(2);
+        Credentials credentials = cache.credentials(PRIVATE_KEY);
+
+        cache.evict(PRIVATE_KEY);
+        assertEquals(0, cache.size());
+        assertNotSame(credentials, cache.credentials(PRIVATE_KEY));
+
+        cache.credentials(PRIVATE_KEY.replace('4', '5'));
+        cache.credentials(PRIVATE_KEY.replace('4', '6'));
+        assertEquals(2, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,67 @@
+package io.tatum.transaction.bcash;
+
+import org.bitcoincashj.core.Address;
+import org.bitcoincashj.core.Coin;
+import org.bitcoincashj.core.ECKey;
+import org.bitcoincashj.core.Sha256Hash;
+import org.bitcoincashj.core.Transaction;
+import org.bitcoincashj.crypto.TransactionSignature;
+import org.bitcoincashj.script.Script;
+import org.bitcoincashj.script.ScriptBuilder;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.tatum.constants.Constant.BCH_TESTNET;
+import static org.bitcoincashj.core.Utils.HEX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionBuilderSigningTest {
+
+    private static final int INPUTS = 40;
+
+    private final ECKey key = new ECKey();
+    private final String wif = key.getPrivateKeyAsWiF(BCH_TESTNET);
+    private final String address = Address.fromKey(BCH_TESTNET, key).toBase58();
+
+    @Test
+    public void should_produce_valid_signatures() {
+        Transaction transaction = new Transaction(BCH_TESTNET, HEX.decode(build(null)));
+        Script scriptPubKey = ScriptBuilder.createP2PKHOutputScript(key);
+
+        for (int i = 0; i < INPUTS; i++) {
+            byte[] signature = transaction.getInput(i).getScriptSig().getChunks().get(0).data;
+            TransactionSignature txSignature = TransactionSignature.decodeFromBitcoin(signature, true, true);
+            assertEquals(0x41, txSignature.sighashFlags);
+            Sha256Hash hash = transaction.hashForSignatureWitness(i, scriptPubKey, Coin.valueOf(amount(i)), Transaction.SigHash.ALL, false);
+            assertTrue(key.verify(hash, txSignature));
+        }
+    }
+
+    @Test
+    public void should_sign_in_parallel_deterministically() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertEquals(build(null), build(executor));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String build(ExecutorService executor) {
+        TransactionBuilder builder = new TransactionBuilder(BCH_TESTNET);
+        builder.setSigningExecutor(executor);
+        builder.addOutput(address, "0.5");
+        for (int i = 0; i < INPUTS; i++) {
+            builder.addInput(Sha256Hash.of(new byte[]{(byte) i}).toString(), i, wif, amount(i));
+        }
+        return builder.build().toHex();
+    }
+
+    // every input spends a different value, so a signature over the wrong value does not verify
+    private static long amount(int input) {
+        return 100_000L + input;
+    }
+}
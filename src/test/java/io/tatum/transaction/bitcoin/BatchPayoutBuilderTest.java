@@ -0,0 +1,83 @@
+package io.tatum.transaction.bitcoin;
+
+import io.tatum.transaction.utxo.Utxo;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.LegacyAddress;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.TransactionInput;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static io.tatum.constants.Constant.BITCOIN_TESTNET;
+import static org.bitcoinj.core.Utils.HEX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchPayoutBuilderTest {
+
+    private final ECKey key = new ECKey();
+    private final String address = LegacyAddress.fromKey(BITCOIN_TESTNET, key).toBase58();
+    private final Map<String, String> keys = Map.of(address, key.getPrivateKeyAsWiF(BITCOIN_TESTNET));
+
+    @Test
+    public void should_split_payouts_by_size_limit() {
+        List<Payout> payouts = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            payouts.add(new Payout(address, 10_000 + i));
+        }
+        BatchPayoutBuilder builder = new BatchPayoutBuilder(BITCOIN_TESTNET, new CoinSelector(2));
+        builder.setMaxVirtualSize(1_500);
+
+        List<PayoutBatch> batches = builder.build(payouts, utxos(40, 100_000), keys, address);
+
+        assertTrue(batches.size() > 1);
+        List<Payout> paid = new ArrayList<>();
+        Set<String> spent = new HashSet<>();
+        for (PayoutBatch batch : batches) {
+            assertTrue(batch.getVirtualSize() <= 1_500);
+            paid.addAll(batch.getPayouts());
+            Transaction tx = new Transaction(BITCOIN_TESTNET, HEX.decode(batch.getTxData()));
+            assertTrue(tx.getVsize() <= 1_500);
+            for (TransactionInput input : tx.getInputs()) {
+                assertTrue(spent.add(input.getOutpoint().toString()));
+            }
+        }
+        assertEquals(payouts, paid);
+    }
+
+    @Test
+    public void should_split_payouts_by_fee_budget() {
+        List<Payout> payouts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            payouts.add(new Payout(address, 20_000));
+        }
+        BatchPayoutBuilder builder = new BatchPayoutBuilder(BITCOIN_TESTNET, new CoinSelector(10));
+        builder.setMaxFee(5_000);
+
+        List<PayoutBatch> batches = builder.build(payouts, utxos(10, 200_000), keys, address);
+
+        assertTrue(batches.size() > 1);
+        batches.forEach(batch -> assertTrue(batch.getSelection().getFee() <= 5_000));
+        assertEquals(20, batches.stream().mapToInt(batch -> batch.getPayouts().size()).sum());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_dust_payout() {
+        new BatchPayoutBuilder(BITCOIN_TESTNET, new CoinSelector(1))
+                .build(List.of(new Payout(address, 100)), utxos(1, 100_000), keys, address);
+    }
+
+    private List<Utxo> utxos(int count, long value) {
+        List<Utxo> utxos = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            utxos.add(new Utxo(Sha256Hash.of(new byte[]{(byte) i}).toString(), 0, address, value, 1));
+        }
+        return utxos;
+    }
+}
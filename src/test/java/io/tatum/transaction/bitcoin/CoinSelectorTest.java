@@ -0,0 +1,55 @@
+package io.tatum.transaction.bitcoin;
+
+import io.tatum.transaction.utxo.Utxo;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CoinSelectorTest {
+
+    private final CoinSelector selector = new CoinSelector(1);
+
+    @Test
+    public void should_find_changeless_solution() {
+        CoinSelection selection = selector.select(List.of(utxo("a", 50_000), utxo("b", 10_200), utxo("c", 4_000)), List.of(10_000L));
+
+        assertEquals("bnb", selection.getAlgorithm());
+        assertEquals(List.of(utxo("b", 10_200)), selection.getInputs());
+        assertEquals(0, selection.getChange());
+        assertEquals(200, selection.getFee());
+    }
+
+    @Test
+    public void should_create_change() {
+        CoinSelection selection = selector.select(List.of(utxo("a", 40_000), utxo("b", 30_000)), List.of(10_000L));
+
+        assertEquals(List.of(utxo("b", 30_000)), selection.getInputs());
+        assertEquals(selector.fee(1, 2), selection.getFee());
+        assertEquals(30_000 - 10_000 - selector.fee(1, 2), selection.getChange());
+    }
+
+    @Test
+    public void should_skip_inputs_worth_less_than_their_fee() {
+        CoinSelector expensive = new CoinSelector(10);
+        CoinSelection selection = expensive.select(List.of(utxo("a", 1_400), utxo("b", 20_000)), List.of(15_000L));
+
+        assertEquals(List.of(utxo("b", 20_000)), selection.getInputs());
+    }
+
+    @Test
+    public void should_return_null_on_insufficient_funds() {
+        assertNull(selector.select(List.of(utxo("a", 1_000), utxo("b", 2_000)), List.of(5_000L)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_dust_output() {
+        selector.select(List.of(utxo("a", 100_000)), List.of(100L));
+    }
+
+    private static Utxo utxo(String hash, long value) {
+        return new Utxo(hash, 0, "mjJotvHmzEuyXZJGJXXknS6N3PWQnw6jf5", value, 1);
+    }
+}
@@ -0,0 +1,170 @@
+package io.tatum.transaction.bitcoin;
+
+import io.tatum.model.request.Currency;
+import io.tatum.model.response.common.BlockchainFee;
+import io.tatum.model.response.common.TransactionHash;
+import io.tatum.transaction.utxo.FeeRateOracle;
+import io.tatum.transaction.utxo.Utxo;
+import io.tatum.transaction.utxo.UtxoIndex;
+import io.tatum.transaction.utxo.UtxoSource;
+import io.tatum.transaction.utxo.UtxoTransaction;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.SegwitAddress;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.tatum.constants.Constant.BITCOIN_TESTNET;
+import static org.bitcoinj.core.Utils.HEX;
+import static org.junit.Assert.assertEquals;
+
+public class ConsolidationSchedulerTest {
+
+    private final ECKey key = new ECKey();
+    private final String address = SegwitAddress.fromKey(BITCOIN_TESTNET, key).toBech32();
+    private final Map<String, String> keys = Map.of(address, key.getPrivateKeyAsWiF(BITCOIN_TESTNET));
+    private final List<String> broadcast = new ArrayList<>();
+
+    @Test
+    public void should_sweep_small_outputs_in_capped_transactions() throws Exception {
+        UtxoIndex index = index(25, 5_000);
+        try (FeeRateOracle oracle = oracle(2)) {
+            ConsolidationScheduler scheduler = scheduler(index, oracle, 5);
+            scheduler.setMaxInputs(10);
+
+            assertEquals(2, scheduler.runOnce());
+            assertEquals(2, broadcast.size());
+            assertEquals(20, scheduler.getProgress().getSpent().size());
+            assertEquals(10, new Transaction(BITCOIN_TESTNET, HEX.decode(broadcast.get(0))).getInputs().size());
+            // the five remaining outputs are not worth a transaction
+            assertEquals(0, scheduler.runOnce());
+        }
+    }
+
+    @Test
+    public void should_wait_for_low_fee_rates() throws Exception {
+        try (FeeRateOracle oracle = oracle(50)) {
+            assertEquals(0, scheduler(index(20, 5_000), oracle, 10).runOnce());
+            assertEquals(0, broadcast.size());
+        }
+    }
+
+    @Test
+    public void should_wait_for_known_fee_rates() throws Exception {
+        try (FeeRateOracle oracle = new FeeRateOracle(Currency.BTC, chain -> null, 3_600_000)) {
+            assertEquals(0, scheduler(index(20, 5_000), oracle, 100).runOnce());
+            assertEquals(0, broadcast.size());
+        }
+    }
+
+    @Test
+    public void should_drop_batch_with_dust_output() throws Exception {
+        UtxoIndex index = index(10, 150);
+        try (FeeRateOracle oracle = oracle(2)) {
+            assertEquals(0, scheduler(index, oracle, 5).runOnce());
+            assertEquals(0, broadcast.size());
+        }
+    }
+
+    @Test
+    public void should_not_spend_outputs_of_resumed_progress() throws Exception {
+        UtxoIndex index = index(12, 5_000);
+        ConsolidationProgress resumed = new ConsolidationProgress();
+        resumed.getSpent().add(Utxo.outpoint(hash(0), 0));
+        resumed.getSpent().add(Utxo.outpoint(hash(1), 0));
+        try (FeeRateOracle oracle = oracle(2)) {
+            ConsolidationScheduler scheduler = new ConsolidationScheduler(index, keys, address, oracle, 5, 10_000,
+                    this::broadcast, null, resumed);
+            scheduler.setMinInputs(10);
+
+            assertEquals(1, scheduler.runOnce());
+            assertEquals(10, new Transaction(BITCOIN_TESTNET, HEX.decode(broadcast.get(0))).getInputs().size());
+        }
+    }
+
+    @Test
+    public void should_prune_outpoints_no_longer_held_by_index() throws Exception {
+        UtxoIndex index = index(12, 5_000);
+        ConsolidationProgress resumed = new ConsolidationProgress();
+        resumed.getTransactions().add(hash(100));
+        resumed.getSpent().add(Utxo.outpoint(hash(99), 0));
+        List<ConsolidationProgress> checkpoints = new ArrayList<>();
+        try (FeeRateOracle oracle = oracle(2)) {
+            ConsolidationScheduler scheduler = new ConsolidationScheduler(index, keys, address, oracle, 5, 10_000,
+                    this::broadcast, checkpoints::add, resumed);
+            scheduler.setMinInputs(10);
+
+            assertEquals(1, scheduler.runOnce());
+            assertEquals(12, scheduler.getProgress().getSpent().size());
+            assertEquals(List.of(broadcastHash(0)), scheduler.getProgress().getTransactions());
+
+            // the index applied the consolidation, so the next round forgets its inputs
+            assertEquals(0, scheduler.runOnce());
+            assertEquals(0, scheduler.getProgress().getSpent().size());
+            assertEquals(0, scheduler.getProgress().getTransactions().size());
+            assertEquals(3, checkpoints.size());
+        }
+    }
+
+    private String broadcastHash(int i) {
+        return new Transaction(BITCOIN_TESTNET, HEX.decode(broadcast.get(i))).getTxId().toString();
+    }
+
+    private ConsolidationScheduler scheduler(UtxoIndex index, FeeRateOracle oracle, long maxFeeRate) {
+        ConsolidationScheduler scheduler = new ConsolidationScheduler(index, keys, address, oracle, maxFeeRate, 10_000,
+                this::broadcast, null, null);
+        scheduler.setMinInputs(10);
+        return scheduler;
+    }
+
+    private TransactionHash broadcast(String txData) {
+        broadcast.add(txData);
+        return new TransactionHash(new Transaction(BITCOIN_TESTNET, HEX.decode(txData)).getTxId().toString());
+    }
+
+    private UtxoIndex index(int count, long value) {
+        List<UtxoTransaction> history = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            history.add(new UtxoTransaction(hash(i), 1, List.of(), List.of(new Utxo(hash(i), 0, address, value, 1))));
+        }
+        UtxoIndex index = new UtxoIndex(new UtxoSource() {
+            @Override
+            public long currentHeight() {
+                return 1;
+            }
+
+            @Override
+            public List<UtxoTransaction> block(long height) {
+                return List.of();
+            }
+
+            @Override
+            public List<UtxoTransaction> history(String address) {
+                return List.of();
+            }
+
+            @Override
+            public boolean isUnspent(String txHash, long index) {
+                return true;
+            }
+        }, BITCOIN_TESTNET);
+        index.seed(address, history, 1);
+        return index;
+    }
+
+    private static FeeRateOracle oracle(long rate) {
+        BlockchainFee fee = new BlockchainFee(BigDecimal.valueOf(rate * 4), BigDecimal.valueOf(rate * 2), BigDecimal.valueOf(rate), 1L, null);
+        FeeRateOracle oracle = new FeeRateOracle(Currency.BTC, chain -> fee, 3_600_000);
+        oracle.refresh();
+        return oracle;
+    }
+
+    private static String hash(int i) {
+        return Sha256Hash.of(new byte[]{(byte) i}).toString();
+    }
+}
@@ -0,0 +1,81 @@
+package io.tatum.transaction.bitcoin;
+
+import io.tatum.transaction.utxo.Utxo;
+import org.bitcoinj.core.Coin;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.LegacyAddress;
+import org.bitcoinj.core.SegwitAddress;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.core.Utils;
+import org.bitcoinj.crypto.TransactionSignature;
+import org.bitcoinj.script.Script;
+import org.bitcoinj.script.ScriptBuilder;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static io.tatum.constants.Constant.BITCOIN_TESTNET;
+import static org.bitcoinj.core.Utils.HEX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SegwitTransactionBuilderTest {
+
+    private final ECKey key = new ECKey();
+    private final String wif = key.getPrivateKeyAsWiF(BITCOIN_TESTNET);
+    private final String legacy = LegacyAddress.fromKey(BITCOIN_TESTNET, key).toString();
+    private final String bech32 = SegwitAddress.fromKey(BITCOIN_TESTNET, key).toBech32();
+    private final String nested = LegacyAddress.fromScriptHash(BITCOIN_TESTNET,
+            Utils.sha256hash160(ScriptBuilder.createP2WPKHOutputScript(key).getProgram())).toString();
+
+    @Test
+    public void should_sign_p2wpkh_and_p2sh_p2wpkh_inputs() {
+        TransactionBuilder builder = new TransactionBuilder(BITCOIN_TESTNET);
+        builder.addOutput(bech32, "0.001");
+        builder.addInput(new Utxo(hash(0), 0, bech32, 100_000, 1), wif);
+        builder.addInput(new Utxo(hash(1), 1, nested, 200_000, 1), wif);
+        builder.addInput(new Utxo(hash(2), 2, legacy, 300_000, 1), wif);
+
+        long estimate = builder.estimateVirtualSize();
+        Transaction transaction = new Transaction(BITCOIN_TESTNET, HEX.decode(builder.build().toHex()));
+        Script scriptCode = ScriptBuilder.createP2PKHOutputScript(key);
+
+        assertTrue(transaction.hasWitnesses());
+        verifyWitness(transaction, 0, scriptCode, 100_000);
+        verifyWitness(transaction, 1, scriptCode, 200_000);
+        assertEquals(0, transaction.getInput(0).getScriptSig().getProgram().length);
+        assertEquals(23, transaction.getInput(1).getScriptSig().getProgram().length);
+
+        byte[] signature = transaction.getInput(2).getScriptSig().getChunks().get(0).data;
+        Sha256Hash hash = transaction.hashForSignature(2, scriptCode, Transaction.SigHash.ALL, false);
+        assertTrue(key.verify(hash, TransactionSignature.decodeFromBitcoin(signature, true, true)));
+
+        assertTrue(estimate >= transaction.getVsize());
+        assertTrue(estimate - transaction.getVsize() <= 5);
+    }
+
+    @Test
+    public void should_send_change_to_bech32_address() {
+        TransactionBuilder builder = new TransactionBuilder(BITCOIN_TESTNET);
+        builder.addOutput(legacy, "0.0005");
+        CoinSelection selection = builder.addInputs(List.of(new Utxo(hash(0), 0, bech32, 1_000_000, 1)),
+                Map.of(bech32, wif), CoinSelector.p2wpkh(2), bech32);
+
+        Transaction transaction = new Transaction(BITCOIN_TESTNET, HEX.decode(builder.build().toHex()));
+        assertEquals(2, transaction.getOutputs().size());
+        assertEquals(Script.ScriptType.P2WPKH, transaction.getOutput(1).getScriptPubKey().getScriptType());
+        assertEquals(selection.getChange(), transaction.getOutput(1).getValue().value);
+    }
+
+    private void verifyWitness(Transaction transaction, int index, Script scriptCode, long value) {
+        byte[] signature = transaction.getInput(index).getWitness().getPush(0);
+        Sha256Hash hash = transaction.hashForWitnessSignature(index, scriptCode, Coin.valueOf(value), Transaction.SigHash.ALL, false);
+        assertTrue(key.verify(hash, TransactionSignature.decodeFromBitcoin(signature, true, true)));
+    }
+
+    private static String hash(int i) {
+        return Sha256Hash.of(new byte[]{(byte) i}).toString();
+    }
+}
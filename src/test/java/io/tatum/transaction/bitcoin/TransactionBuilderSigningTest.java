@@ -0,0 +1,60 @@
+package io.tatum.transaction.bitcoin;
+
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.LegacyAddress;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.bitcoinj.crypto.TransactionSignature;
+import org.bitcoinj.script.Script;
+import org.bitcoinj.script.ScriptBuilder;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.tatum.constants.Constant.BITCOIN_TESTNET;
+import static org.bitcoinj.core.Utils.HEX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TransactionBuilderSigningTest {
+
+    private static final int INPUTS = 40;
+
+    private final ECKey key = new ECKey();
+    private final String wif = key.getPrivateKeyAsWiF(BITCOIN_TESTNET);
+    private final String address = LegacyAddress.fromKey(BITCOIN_TESTNET, key).toString();
+
+    @Test
+    public void should_produce_valid_signatures() {
+        Transaction transaction = new Transaction(BITCOIN_TESTNET, HEX.decode(build(null)));
+        Script scriptPubKey = ScriptBuilder.createP2PKHOutputScript(key);
+
+        for (int i = 0; i < INPUTS; i++) {
+            byte[] signature = transaction.getInput(i).getScriptSig().getChunks().get(0).data;
+            TransactionSignature txSignature = TransactionSignature.decodeFromBitcoin(signature, true, true);
+            Sha256Hash hash = transaction.hashForSignature(i, scriptPubKey, Transaction.SigHash.ALL, false);
+            assertTrue(key.verify(hash, txSignature));
+        }
+    }
+
+    @Test
+    public void should_sign_in_parallel_deterministically() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertEquals(build(null), build(executor));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String build(ExecutorService executor) {
+        TransactionBuilder builder = new TransactionBuilder(BITCOIN_TESTNET);
+        builder.setSigningExecutor(executor);
+        builder.addOutput(address, "0.5");
+        for (int i = 0; i < INPUTS; i++) {
+            builder.addInput(Sha256Hash.of(new byte[]{(byte) i}).toString(), i, wif);
+        }
+        return builder.build().toHex();
+    }
+}
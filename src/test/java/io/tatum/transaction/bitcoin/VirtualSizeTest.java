@@ -0,0 +1,33 @@
+package io.tatum.transaction.bitcoin;
+
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.LegacyAddress;
+import org.bitcoinj.core.Sha256Hash;
+import org.junit.Test;
+
+import static io.tatum.constants.Constant.BITCOIN_TESTNET;
+import static org.junit.Assert.assertTrue;
+
+public class VirtualSizeTest {
+
+    @Test
+    public void should_not_undershoot_signed_p2pkh_transaction() {
+        ECKey key = new ECKey();
+        String wif = key.getPrivateKeyAsWiF(BITCOIN_TESTNET);
+        String address = LegacyAddress.fromKey(BITCOIN_TESTNET, key).toString();
+
+        TransactionBuilder builder = new TransactionBuilder(BITCOIN_TESTNET);
+        builder.addOutput(address, "0.001");
+        builder.addOutput(address, "0.002");
+        for (int i = 0; i < 5; i++) {
+            builder.addInput(Sha256Hash.of(new byte[]{(byte) i}).toString(), i, wif);
+        }
+
+        long estimate = builder.estimateVirtualSize();
+        long actual = builder.build().toHex().length() / 2;
+
+        assertTrue(estimate >= actual);
+        // signatures are sometimes a byte or two shorter
+        assertTrue(estimate - actual <= 10);
+    }
+}
@@ -0,0 +1,109 @@
+package io.tatum.transaction.eth;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthGetBalance;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class BatchHttpServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger posts = new AtomicInteger();
+    private final AtomicInteger batchPosts = new AtomicInteger();
+    private HttpServer server;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            posts.incrementAndGet();
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+            JsonNode answer;
+            if (body.isArray()) {
+                batchPosts.incrementAndGet();
+                ArrayNode result = objectMapper.createArrayNode();
+                // answer in reverse order, responses must be matched by id
+                for (int i = body.size() - 1; i >= 0; i--) {
+                    result.add(answer(body.get(i)));
+                }
+                answer = result;
+            } else {
+                answer = answer(body);
+            }
+            byte[] response = objectMapper.writeValueAsString(answer).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    public void should_send_concurrent_requests_in_one_batch() throws Exception {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort();
+        BatchHttpService service = new BatchHttpService(url, 50, 100);
+        Web3j web3j = Web3j.build(service);
+
+        List<CompletableFuture<EthGetBalance>> futures = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            var request = web3j.ethGetBalance("0x68075d7d281300F3486aaA5C4b7E43F38afA3b72", DefaultBlockParameterName.LATEST);
+            ids.add(request.getId());
+            futures.add(request.sendAsync());
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(ids.get(i).longValue(), futures.get(i).get().getBalance().longValue());
+        }
+        assertEquals(1, posts.get());
+        assertEquals(1, batchPosts.get());
+        service.close();
+    }
+
+    @Test
+    public void should_send_single_request_without_batch() throws Exception {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort();
+        BatchHttpService service = new BatchHttpService(url, 50, 100);
+        Web3j web3j = Web3j.build(service);
+
+        var request = web3j.ethGetBalance("0x68075d7d281300F3486aaA5C4b7E43F38afA3b72", DefaultBlockParameterName.LATEST);
+        EthGetBalance balance = request.sendAsync().get();
+
+        assertEquals(request.getId(), balance.getBalance().longValue());
+        assertEquals(1, posts.get());
+        assertEquals(0, batchPosts.get());
+        service.close();
+    }
+
+    private ObjectNode answer(JsonNode request) {
+        long id = request.get("id").asLong();
+        return objectMapper.createObjectNode()
+                .put("jsonrpc", "2.0")
+                .put("id", id)
+                .put("result", "0x" + Long.toHexString(id));
+    }
+}
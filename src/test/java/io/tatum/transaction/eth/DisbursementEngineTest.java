@@ -0,0 +1,167 @@
+package io.tatum.transaction.eth;
+
+import io.tatum.model.request.Currency;
+import io.tatum.model.request.transaction.Fee;
+import io.tatum.model.response.common.TransactionHash;
+import org.junit.Before;
+import org.junit.Test;
+import org.web3j.crypto.TransactionDecoder;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DisbursementEngineTest {
+
+    private static final String PRIVATE_KEY = "0x4cd266de48d8cdd0e0a3cd4cf3f2cd18eaa0bbc0b0a8b1fba4b0e9fdf51f7a3c";
+    private static final String TO = "0x8cb76aed9c5e336ef961265c6079c14e9cd3d2ea";
+
+    private final List<BigInteger> broadcast = Collections.synchronizedList(new ArrayList<>());
+    private final Set<BigInteger> rejected = ConcurrentHashMap.newKeySet();
+    private DisbursementEngine engine;
+
+    @Before
+    public void setUp() {
+        NonceManager nonces = new NonceManager(address -> BigInteger.valueOf(10));
+        engine = new DisbursementEngine(PRIVATE_KEY, null, nonces, txData -> {
+            BigInteger nonce = TransactionDecoder.decode("0x" + txData).getNonce();
+            if (rejected.remove(nonce)) {
+                return CompletableFuture.completedFuture(null);
+            }
+            broadcast.add(nonce);
+            return CompletableFuture.completedFuture(new TransactionHash("0x" + nonce));
+        });
+        engine.setFee(new Fee("60000", "20000000000"));
+        engine.setMaxInFlight(1);
+    }
+
+    @Test
+    public void should_broadcast_in_nonce_order() throws Exception {
+        List<DisbursementItem> items = engine.disburse(disbursements(20));
+
+        assertEquals(20, engine.getSent());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(DisbursementItem.Status.SENT, items.get(i).getStatus());
+            assertEquals(BigInteger.valueOf(10 + i), items.get(i).getNonce());
+            assertEquals(BigInteger.valueOf(10 + i), broadcast.get(i));
+        }
+    }
+
+    @Test
+    public void should_issue_in_nonce_order_while_waiting_for_responses() throws Exception {
+        List<CompletableFuture<TransactionHash>> responses = Collections.synchronizedList(new ArrayList<>());
+        DisbursementEngine overlapping = new DisbursementEngine(PRIVATE_KEY, null, new NonceManager(address -> BigInteger.valueOf(10)), txData -> {
+            broadcast.add(TransactionDecoder.decode("0x" + txData).getNonce());
+            CompletableFuture<TransactionHash> response = new CompletableFuture<>();
+            responses.add(response);
+            return response;
+        });
+        overlapping.setFee(new Fee("60000", "20000000000"));
+        overlapping.setMaxInFlight(4);
+
+        CompletableFuture<List<DisbursementItem>> run = CompletableFuture.supplyAsync(() -> {
+            try {
+                return overlapping.disburse(disbursements(4));
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, runnable -> new Thread(runnable).start());
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (responses.size() < 4 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(4, responses.size());
+        // the responses arrive in reverse order
+        for (int i = 3; i >= 0; i--) {
+            responses.get(i).complete(new TransactionHash("0x" + i));
+        }
+        List<DisbursementItem> items = run.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of(BigInteger.valueOf(10), BigInteger.valueOf(11), BigInteger.valueOf(12), BigInteger.valueOf(13)), broadcast);
+        assertEquals(4, overlapping.getSent());
+        for (DisbursementItem item : items) {
+            assertEquals(DisbursementItem.Status.SENT, item.getStatus());
+        }
+    }
+
+    @Test
+    public void should_resume_with_the_same_transaction_after_failed_broadcast() throws Exception {
+        rejected.add(BigInteger.valueOf(13));
+        List<DisbursementItem> items = engine.disburse(disbursements(6));
+
+        assertEquals(3, engine.getSent());
+        assertEquals(DisbursementItem.Status.SIGNED, items.get(3).getStatus());
+        String txData = items.get(3).getTxData();
+        for (int i = 4; i < 6; i++) {
+            assertEquals(DisbursementItem.Status.PENDING, items.get(i).getStatus());
+            assertNull(items.get(i).getNonce());
+        }
+
+        engine.resume(items);
+
+        assertEquals(3, engine.getSent());
+        assertEquals(txData, items.get(3).getTxData());
+        for (int i = 0; i < 6; i++) {
+            assertEquals(DisbursementItem.Status.SENT, items.get(i).getStatus());
+            assertEquals(BigInteger.valueOf(10 + i), items.get(i).getNonce());
+        }
+    }
+
+    @Test
+    public void should_not_reuse_nonce_of_signed_item_after_restart() throws Exception {
+        rejected.add(BigInteger.valueOf(13));
+        List<DisbursementItem> items = engine.disburse(disbursements(6));
+        String signedTx = items.get(3).getTxData();
+        broadcast.clear();
+
+        // the node has seen the sent transactions only, the new nonce manager knows nothing of the signed one
+        DisbursementEngine restarted = new DisbursementEngine(PRIVATE_KEY, null, new NonceManager(address -> BigInteger.valueOf(13)), txData -> {
+            BigInteger nonce = TransactionDecoder.decode("0x" + txData).getNonce();
+            broadcast.add(nonce);
+            return CompletableFuture.completedFuture(new TransactionHash("0x" + nonce));
+        });
+        restarted.setFee(new Fee("60000", "20000000000"));
+        restarted.setMaxInFlight(1);
+        restarted.resume(items);
+
+        assertEquals(signedTx, items.get(3).getTxData());
+        assertEquals(BigInteger.valueOf(14), items.get(4).getNonce());
+        assertEquals(BigInteger.valueOf(15), items.get(5).getNonce());
+        assertEquals(List.of(BigInteger.valueOf(13), BigInteger.valueOf(14), BigInteger.valueOf(15)), broadcast);
+    }
+
+    @Test
+    public void should_fail_invalid_disbursement_and_keep_nonces_contiguous() throws Exception {
+        List<Disbursement> disbursements = disbursements(4);
+        disbursements.get(1).setCurrency(Currency.BTC);
+        List<DisbursementItem> items = engine.disburse(disbursements);
+
+        assertEquals(DisbursementItem.Status.SENT, items.get(0).getStatus());
+        assertEquals(DisbursementItem.Status.FAILED, items.get(1).getStatus());
+        assertTrue(items.get(1).getError().contains("BTC"));
+
+        engine.resume(items);
+
+        assertEquals(BigInteger.valueOf(11), items.get(2).getNonce());
+        assertEquals(BigInteger.valueOf(12), items.get(3).getNonce());
+        assertEquals(List.of(BigInteger.valueOf(10), BigInteger.valueOf(11), BigInteger.valueOf(12)), broadcast);
+    }
+
+    private static List<Disbursement> disbursements(int count) {
+        List<Disbursement> disbursements = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            disbursements.add(new Disbursement(TO, "1", i % 2 == 0 ? Currency.ETH : Currency.USDT));
+        }
+        return disbursements;
+    }
+}
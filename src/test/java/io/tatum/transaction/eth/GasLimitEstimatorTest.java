@@ -0,0 +1,92 @@
+package io.tatum.transaction.eth;
+
+import org.junit.Test;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.Transaction;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class GasLimitEstimatorTest {
+
+    private static final String FROM = "0x8cb76aed9c5e336ef961265c6079c14e9cd3d2ea";
+    private static final String TOKEN = "0xdac17f958d2ee523a2206206994597c13d831ec7";
+    private static final String TRANSFER = "0xa9059cbb" + word("8cb76aed9c5e336ef961265c6079c14e9cd3d2ea");
+
+    private final AtomicInteger remoteCalls = new AtomicInteger();
+
+    @Test
+    public void should_cache_contract_method_estimates_with_margin() throws Exception {
+        GasLimitEstimator estimator = new GasLimitEstimator(60_000, new BigDecimal("0.5"), this::remote, this::code);
+
+        assertEquals(BigInteger.valueOf(40_000), estimator.estimate(null, call(TOKEN, TRANSFER + word("01"))));
+        assertEquals(BigInteger.valueOf(60_000), estimator.estimate(null, call(TOKEN, TRANSFER + word("02"))));
+        assertEquals(BigInteger.valueOf(60_000), estimator.estimate(null, call(TOKEN.toUpperCase().replace("0X", "0x"), TRANSFER + word("03"))));
+        assertEquals(1, remoteCalls.get());
+
+        estimator.estimate(null, call(TOKEN, "0x095ea7b3"));
+        assertEquals(2, remoteCalls.get());
+    }
+
+    @Test
+    public void should_refresh_stale_estimates() throws Exception {
+        GasLimitEstimator estimator = new GasLimitEstimator(0, new BigDecimal("0.5"), this::remote, this::code);
+
+        estimator.estimate(null, call(TOKEN, TRANSFER));
+        assertEquals(BigInteger.valueOf(40_000), estimator.estimate(null, call(TOKEN, TRANSFER)));
+        assertEquals(2, remoteCalls.get());
+    }
+
+    @Test
+    public void should_always_estimate_deployments() throws Exception {
+        GasLimitEstimator estimator = new GasLimitEstimator(60_000, new BigDecimal("0.5"), this::remote, this::code);
+
+        estimator.estimate(null, call(null, "0x6080"));
+        estimator.estimate(null, call(null, "0x6080"));
+        assertEquals(2, remoteCalls.get());
+    }
+
+    @Test
+    public void should_estimate_calldata_of_other_length_separately() throws Exception {
+        GasLimitEstimator estimator = new GasLimitEstimator(60_000, new BigDecimal("0.5"), this::remote, this::code);
+
+        estimator.estimate(null, call(TOKEN, TRANSFER + word("01")));
+        estimator.estimate(null, call(TOKEN, TRANSFER + word("01") + word("02")));
+        assertEquals(2, remoteCalls.get());
+
+        // not a selector followed by whole words
+        estimator.estimate(null, call(TOKEN, TRANSFER + "01"));
+        estimator.estimate(null, call(TOKEN, TRANSFER + "01"));
+        assertEquals(4, remoteCalls.get());
+    }
+
+    @Test
+    public void should_always_estimate_data_sent_to_addresses_without_code() throws Exception {
+        GasLimitEstimator estimator = new GasLimitEstimator(60_000, new BigDecimal("0.5"), this::remote, this::code);
+
+        assertEquals(GasLimitEstimator.TRANSFER_GAS_LIMIT, estimator.estimate(null, call(FROM, null)));
+        estimator.estimate(null, call(FROM, TRANSFER + word("01")));
+        estimator.estimate(null, call(FROM, TRANSFER + word("01")));
+        assertEquals(2, remoteCalls.get());
+    }
+
+    private BigInteger remote(Web3j web3j, Transaction transaction) {
+        remoteCalls.incrementAndGet();
+        return BigInteger.valueOf(40_000);
+    }
+
+    private String code(Web3j web3j, String address) {
+        return address.equals(TOKEN) ? "0x6080" : "0x";
+    }
+
+    private static String word(String hex) {
+        return "0".repeat(64 - hex.length()) + hex;
+    }
+
+    private static Transaction call(String to, String data) {
+        return new Transaction(FROM, BigInteger.ONE, BigInteger.ONE, null, to, BigInteger.ZERO, data);
+    }
+}
@@ -0,0 +1,72 @@
+package io.tatum.transaction.eth;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GasPriceOracleTest {
+
+    private static final Map<GasPriceOracle.Speed, BigInteger> FALLBACK = GasPriceOracle.fallback(BigInteger.valueOf(100));
+
+    @Test
+    public void should_use_fetched_prices_and_keep_tiers_ordered() {
+        Map<GasPriceOracle.Speed, BigInteger> fetched = new EnumMap<>(GasPriceOracle.Speed.class);
+        fetched.put(GasPriceOracle.Speed.FAST, BigInteger.valueOf(40));
+        fetched.put(GasPriceOracle.Speed.STANDARD, BigInteger.valueOf(50));
+        fetched.put(GasPriceOracle.Speed.SLOW, BigInteger.valueOf(10));
+
+        try (GasPriceOracle oracle = new GasPriceOracle(() -> fetched, 3_600_000, 60_000, FALLBACK)) {
+            oracle.refresh();
+
+            assertEquals(BigInteger.valueOf(40), oracle.getGasPrice(GasPriceOracle.Speed.FAST));
+            assertEquals(BigInteger.valueOf(40), oracle.getGasPrice(GasPriceOracle.Speed.STANDARD));
+            assertEquals(BigInteger.valueOf(10), oracle.getGasPrice(GasPriceOracle.Speed.SLOW));
+            assertTrue(oracle.getUpdated() > 0);
+        }
+    }
+
+    @Test
+    public void should_fall_back_when_prices_are_missing_or_stale() throws Exception {
+        try (GasPriceOracle failing = new GasPriceOracle(() -> null, 3_600_000, 60_000, FALLBACK)) {
+            failing.refresh();
+
+            assertEquals(BigInteger.valueOf(150), failing.getGasPrice(GasPriceOracle.Speed.FAST));
+            assertEquals(0, failing.getUpdated());
+        }
+
+        try (GasPriceOracle stale = new GasPriceOracle(GasPriceOracle.fixed(BigInteger.ONE), 3_600_000, 1, FALLBACK)) {
+            stale.refresh();
+            Thread.sleep(5);
+
+            assertEquals(BigInteger.valueOf(100), stale.getGasPrice(GasPriceOracle.Speed.STANDARD));
+        }
+    }
+
+    @Test
+    public void should_not_wait_for_first_refresh() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        GasPriceOracle.Source source = () -> {
+            fetching.countDown();
+            done.await();
+            return GasPriceOracle.fixed(BigInteger.TEN).fetch();
+        };
+
+        try (GasPriceOracle oracle = new GasPriceOracle(source, 3_600_000, 60_000, FALLBACK)) {
+            assertTrue(fetching.await(5, TimeUnit.SECONDS));
+
+            assertEquals(BigInteger.valueOf(100), oracle.getGasPrice(GasPriceOracle.Speed.STANDARD));
+            assertFalse(oracle.isFresh());
+        } finally {
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.tatum.transaction.eth;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+public class NonceManagerTest {
+
+    private static final String ADDRESS = "0x8cb76aed9c5e336ef961265c6079c14e9cd3d2ea";
+
+    private final AtomicLong chain = new AtomicLong(5);
+    private final AtomicInteger fetches = new AtomicInteger();
+    private final NonceManager nonces = new NonceManager(address -> {
+        fetches.incrementAndGet();
+        return BigInteger.valueOf(chain.get());
+    });
+
+    @Test
+    public void should_hand_out_unique_nonces_concurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<BigInteger>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> nonces.acquire(ADDRESS)));
+            }
+            Set<BigInteger> allocated = ConcurrentHashMap.newKeySet();
+            for (Future<BigInteger> future : futures) {
+                allocated.add(future.get());
+            }
+
+            assertEquals(200, allocated.size());
+            assertEquals(BigInteger.valueOf(5), allocated.stream().min(BigInteger::compareTo).get());
+            assertEquals(BigInteger.valueOf(204), allocated.stream().max(BigInteger::compareTo).get());
+            assertEquals(1, fetches.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void should_reuse_nonce_of_failed_broadcast() throws Exception {
+        BigInteger first = nonces.acquire(ADDRESS);
+        BigInteger second = nonces.acquire(ADDRESS);
+        BigInteger third = nonces.acquire(ADDRESS);
+        nonces.sent(ADDRESS, first);
+        nonces.release(ADDRESS, second);
+        nonces.sent(ADDRESS, third);
+
+        assertEquals(second, nonces.acquire(ADDRESS));
+        assertEquals(BigInteger.valueOf(8), nonces.acquire(ADDRESS));
+    }
+
+    @Test
+    public void should_move_counter_back_when_last_nonce_is_released() throws Exception {
+        BigInteger nonce = nonces.acquire(ADDRESS);
+        nonces.release(ADDRESS, nonce);
+
+        assertEquals(nonce, nonces.acquire(ADDRESS.toUpperCase().replace("0X", "0x")));
+    }
+
+    @Test
+    public void should_follow_node_when_address_was_used_elsewhere() throws Exception {
+        nonces.sent(ADDRESS, nonces.acquire(ADDRESS));
+        chain.set(20);
+        nonces.resync(ADDRESS);
+
+        assertEquals(0, nonces.getInFlight(ADDRESS));
+        assertEquals(BigInteger.valueOf(20), nonces.acquire(ADDRESS));
+    }
+
+    @Test
+    public void should_refill_nonces_of_dropped_transactions() throws Exception {
+        nonces.setDropGraceMillis(0);
+        for (int i = 0; i < 3; i++) {
+            nonces.sent(ADDRESS, nonces.acquire(ADDRESS));
+        }
+        chain.set(6);
+        Thread.sleep(2);
+        nonces.resync(ADDRESS);
+
+        assertEquals(0, nonces.getInFlight(ADDRESS));
+        assertEquals(BigInteger.valueOf(6), nonces.acquire(ADDRESS));
+        assertEquals(BigInteger.valueOf(7), nonces.acquire(ADDRESS));
+    }
+
+    @Test
+    public void should_keep_recent_transactions_in_flight() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            nonces.sent(ADDRESS, nonces.acquire(ADDRESS));
+        }
+        chain.set(6);
+        nonces.resync(ADDRESS);
+
+        assertEquals(2, nonces.getInFlight(ADDRESS));
+        assertEquals(BigInteger.valueOf(8), nonces.acquire(ADDRESS));
+    }
+
+    @Test
+    public void should_not_hand_out_reserved_nonces() throws Exception {
+        nonces.reserve(ADDRESS, BigInteger.valueOf(7));
+
+        assertEquals(1, nonces.getInFlight(ADDRESS));
+        assertEquals(BigInteger.valueOf(5), nonces.acquire(ADDRESS));
+        assertEquals(BigInteger.valueOf(6), nonces.acquire(ADDRESS));
+        assertEquals(BigInteger.valueOf(8), nonces.acquire(ADDRESS));
+    }
+
+    @Test
+    public void should_take_back_reserved_nonce_freed_as_dropped() throws Exception {
+        nonces.setDropGraceMillis(0);
+        BigInteger nonce = nonces.acquire(ADDRESS);
+        nonces.sent(ADDRESS, nonce);
+        Thread.sleep(2);
+        nonces.resync(ADDRESS);
+        nonces.reserve(ADDRESS, nonce);
+
+        assertEquals(BigInteger.valueOf(6), nonces.acquire(ADDRESS));
+    }
+}
@@ -0,0 +1,94 @@
+package io.tatum.transaction.eth;
+
+import io.tatum.model.response.common.TransactionHash;
+import org.junit.Test;
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.crypto.TransactionEncoder;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.bitcoinj.core.Utils.HEX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StuckTransactionMonitorTest {
+
+    private static final String PRIVATE_KEY = "0x4cd266de48d8cdd0e0a3cd4cf3f2cd18eaa0bbc0b0a8b1fba4b0e9fdf51f7a3c";
+    private static final String TO = "0x8cb76aed9c5e336ef961265c6079c14e9cd3d2ea";
+    private static final BigInteger GAS_PRICE = BigInteger.valueOf(20_000_000_000L);
+
+    private final AtomicLong minedCount = new AtomicLong(5);
+    private final Set<String> mined = new HashSet<>();
+    private final List<RawTransaction> broadcast = new ArrayList<>();
+
+    private final StuckTransactionMonitor.Chain chain = new StuckTransactionMonitor.Chain() {
+        @Override
+        public BigInteger minedCount(String address) {
+            return BigInteger.valueOf(minedCount.get());
+        }
+
+        @Override
+        public boolean isMined(String txId) {
+            return mined.contains(txId);
+        }
+    };
+
+    @Test
+    public void should_replace_stuck_transaction_and_report_mined_replacement() throws Exception {
+        StuckTransactionMonitor monitor = monitor(null);
+        List<TrackedTransaction> reported = new ArrayList<>();
+        monitor.setListener(reported::add);
+        monitor.track(PRIVATE_KEY, sign(5), "0xoriginal");
+
+        monitor.check();
+        monitor.check();
+
+        assertEquals(2, broadcast.size());
+        assertEquals(BigInteger.valueOf(5), broadcast.get(0).getNonce());
+        assertEquals(BigInteger.valueOf(22_500_000_000L), broadcast.get(0).getGasPrice());
+        assertEquals(BigInteger.valueOf(25_312_500_000L), broadcast.get(1).getGasPrice());
+        assertEquals(TO, broadcast.get(1).getTo());
+        assertEquals(BigInteger.TEN, broadcast.get(1).getValue());
+
+        minedCount.set(6);
+        mined.add("0x1");
+        monitor.check();
+
+        assertEquals(1, reported.size());
+        assertEquals("0x1", reported.get(0).getMinedTxId());
+        assertEquals(List.of("0xoriginal", "0x0", "0x1"), reported.get(0).getTxIds());
+        assertTrue(monitor.getTracked().isEmpty());
+    }
+
+    @Test
+    public void should_not_replace_above_max_gas_price() throws Exception {
+        StuckTransactionMonitor monitor = monitor(BigInteger.valueOf(21_000_000_000L));
+        monitor.track(PRIVATE_KEY, sign(5), "0xoriginal");
+
+        monitor.check();
+
+        assertTrue(broadcast.isEmpty());
+        assertEquals(1, monitor.getTracked().size());
+    }
+
+    private StuckTransactionMonitor monitor(BigInteger maxGasPrice) {
+        return new StuckTransactionMonitor(chain, this::broadcast, null, -1, StuckTransactionMonitor.DEFAULT_BUMP, maxGasPrice);
+    }
+
+    private TransactionHash broadcast(String txData) {
+        broadcast.add(TransactionDecoder.decode("0x" + txData));
+        return new TransactionHash("0x" + (broadcast.size() - 1));
+    }
+
+    private static String sign(long nonce) {
+        RawTransaction raw = RawTransaction.createEtherTransaction(BigInteger.valueOf(nonce), GAS_PRICE, BigInteger.valueOf(21_000), TO, BigInteger.TEN);
+        return HEX.encode(TransactionEncoder.signMessage(raw, Credentials.create(PRIVATE_KEY)));
+    }
+}
@@ -0,0 +1,95 @@
+package io.tatum.transaction.eth;
+
+import org.junit.Test;
+import org.web3j.protocol.core.methods.response.Log;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TransferLogIndexerTest {
+
+    private static final String TOKEN = "0xdac17f958d2ee523a2206206994597c13d831ec7";
+    private static final String OURS = "0x8cb76aed9c5e336ef961265c6079c14e9cd3d2ea";
+    private static final String OTHER = "0x2f141ce366a2462f02cea3d12cf93e4dca49e4fd";
+
+    private final List<long[]> requests = new ArrayList<>();
+    private final List<Erc20Transfer> found = new ArrayList<>();
+
+    @Test
+    public void should_shrink_range_and_find_transfers_to_indexed_addresses() throws Exception {
+        TransferLogIndexer.Source source = new TransferLogIndexer.Source() {
+            @Override
+            public long head() {
+                return 1_012;
+            }
+
+            @Override
+            public List<Log> transferLogs(List<String> tokens, long fromBlock, long toBlock) throws TransferLogIndexer.RangeTooLargeException {
+                requests.add(new long[]{fromBlock, toBlock});
+                if (toBlock - fromBlock >= 300) {
+                    throw new TransferLogIndexer.RangeTooLargeException("query returned more than 10000 results");
+                }
+                List<Log> logs = new ArrayList<>();
+                if (fromBlock <= 700 && 700 <= toBlock) {
+                    logs.add(log(OTHER, OURS, 700, "0x0f4240"));
+                    logs.add(log(OTHER, OTHER, 700, "0x01"));
+                }
+                return logs;
+            }
+        };
+        TransferLogIndexer indexer = new TransferLogIndexer(source, List.of(TOKEN), TransferLogIndexer.inMemory(0), found::addAll);
+        indexer.addAddress(OURS.toUpperCase().replace("0X", "0x"));
+
+        assertEquals(1, indexer.poll());
+
+        assertEquals(1, found.size());
+        Erc20Transfer transfer = found.get(0);
+        assertEquals(TOKEN, transfer.getToken());
+        assertEquals(OTHER, transfer.getFrom());
+        assertEquals(OURS, transfer.getTo());
+        assertEquals(BigInteger.valueOf(1_000_000), transfer.getValue());
+        assertEquals(700, transfer.getBlockNumber());
+
+        // the ranges cover every block up to the confirmed head exactly once
+        long next = 1;
+        for (long[] request : requests) {
+            if (request[1] - request[0] < 300) {
+                assertEquals(next, request[0]);
+                next = request[1] + 1;
+            }
+        }
+        assertEquals(1_001, next);
+        assertTrue(requests.stream().anyMatch(request -> request[1] - request[0] >= 300));
+    }
+
+    private static Log log(String from, String to, long block, String data) {
+        Log log = new Log();
+        log.setAddress(TOKEN);
+        log.setTopics(List.of(TransferLogIndexer.TRANSFER_TOPIC, topic(from), topic(to)));
+        log.setData(data);
+        log.setBlockNumber("0x" + Long.toHexString(block));
+        log.setLogIndex("0x0");
+        log.setTransactionHash("0x01");
+        return log;
+    }
+
+    private static String topic(String address) {
+        return "0x000000000000000000000000" + address.substring(2);
+    }
+
+    @Test
+    public void should_shrink_only_for_range_errors() {
+        assertTrue(TransferLogIndexer.isRangeTooLarge("query returned more than 10000 results"));
+        assertTrue(TransferLogIndexer.isRangeTooLarge("Log response size exceeded."));
+        assertTrue(TransferLogIndexer.isRangeTooLarge("exceed maximum block range: 5000"));
+        assertTrue(TransferLogIndexer.isRangeTooLarge("block range is too wide"));
+        assertFalse(TransferLogIndexer.isRangeTooLarge("rate limit exceeded"));
+        assertFalse(TransferLogIndexer.isRangeTooLarge("Too Many Requests"));
+        assertFalse(TransferLogIndexer.isRangeTooLarge("header not found"));
+    }
+}
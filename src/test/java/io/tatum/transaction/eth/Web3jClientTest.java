@@ -0,0 +1,36 @@
+package io.tatum.transaction.eth;
+
+import org.junit.After;
+import org.junit.Test;
+import org.web3j.protocol.Web3j;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class Web3jClientTest {
+
+    private static final String PROVIDER = "http://localhost:8545";
+
+    @After
+    public void shutdown() {
+        Web3jClient.shutdown();
+    }
+
+    @Test
+    public void should_reuse_client_of_provider() throws Exception {
+        Web3j web3j = Web3jClient.get(PROVIDER);
+
+        assertSame(web3j, Web3jClient.get(PROVIDER));
+        assertNotSame(web3j, Web3jClient.get("http://localhost:8546"));
+        assertNotSame(web3j, Web3jClient.getBatched(PROVIDER));
+        assertSame(Web3jClient.getBatched(PROVIDER), Web3jClient.getBatched(PROVIDER));
+    }
+
+    @Test
+    public void should_create_new_client_after_shutdown() throws Exception {
+        Web3j web3j = Web3jClient.get(PROVIDER);
+        Web3jClient.shutdown();
+
+        assertNotSame(web3j, Web3jClient.get(PROVIDER));
+    }
+}
@@ -0,0 +1,75 @@
+package io.tatum.transaction.eth;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.processors.PublishProcessor;
+import org.junit.Test;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.websocket.events.PendingTransactionNotification;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class Web3jSubscriptionsTest {
+
+    private final List<PublishProcessor<PendingTransactionNotification>> connections = new CopyOnWriteArrayList<>();
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+
+    @Test
+    public void should_resubscribe_after_connection_loss() throws Exception {
+        try (Web3jSubscriptions subscriptions = new Web3jSubscriptions("test", this::connect)) {
+            subscriptions.setMinReconnectMillis(10);
+            subscriptions.pendingTransactions(received::add);
+
+            awaitConnections(1);
+            connections.get(0).onNext(notification("0x01"));
+            assertEquals("0x01", received.poll(5, TimeUnit.SECONDS));
+
+            connections.get(0).onError(new IOException("Connection was closed"));
+            awaitConnections(2);
+            connections.get(1).onNext(notification("0x02"));
+            assertEquals("0x02", received.poll(5, TimeUnit.SECONDS));
+            assertTrue(subscriptions.isConnected());
+        }
+    }
+
+    private Web3j connect() {
+        PublishProcessor<PendingTransactionNotification> processor = PublishProcessor.create();
+        connections.add(processor);
+        return (Web3j) Proxy.newProxyInstance(Web3j.class.getClassLoader(), new Class<?>[]{Web3j.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "newPendingTransactionsNotifications":
+                    return processor;
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                default:
+                    return null;
+            }
+        });
+    }
+
+    private void awaitConnections(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (System.currentTimeMillis() < deadline) {
+            if (connections.size() >= count && connections.get(count - 1).hasSubscribers()) {
+                return;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("Not connected " + count + " times.");
+    }
+
+    private static PendingTransactionNotification notification(String txId) throws Exception {
+        String json = "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscription\",\"params\":{\"subscription\":\"0x1\",\"result\":\"" + txId + "\"}}";
+        return new ObjectMapper().readValue(json, PendingTransactionNotification.class);
+    }
+}
@@ -0,0 +1,75 @@
+package io.tatum.transaction.utxo;
+
+import io.tatum.model.request.Currency;
+import io.tatum.model.response.common.BlockchainFee;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FeeRateOracleTest {
+
+    @Test
+    public void should_round_rates_up_and_keep_tiers_ordered() {
+        FeeRateOracle.Source source = chain -> new BlockchainFee(new BigDecimal("12.3"), new BigDecimal("15"), new BigDecimal("0.2"), 1L, null);
+
+        try (FeeRateOracle oracle = new FeeRateOracle(Currency.BTC, source, 3_600_000)) {
+            oracle.refresh();
+
+            assertEquals(13, oracle.getFeeRate(FeeRateOracle.Urgency.FAST));
+            assertEquals(13, oracle.getFeeRate(FeeRateOracle.Urgency.MEDIUM));
+            assertEquals(FeeRateOracle.MIN_FEE_RATE, oracle.getFeeRate(FeeRateOracle.Urgency.SLOW));
+            assertEquals(new BigDecimal("0.0000273"), oracle.getFeeInCoins(210, FeeRateOracle.Urgency.FAST));
+            assertTrue(oracle.getUpdated() > 0);
+        }
+    }
+
+    @Test
+    public void should_keep_last_rates_when_refresh_fails() {
+        FeeRateOracle.Source source = chain -> null;
+
+        try (FeeRateOracle oracle = new FeeRateOracle(Currency.LTC, source, 3_600_000)) {
+            long rate = oracle.getFeeRate(FeeRateOracle.Urgency.MEDIUM);
+            oracle.refresh();
+
+            assertEquals(rate, oracle.getFeeRate(FeeRateOracle.Urgency.MEDIUM));
+            assertEquals(0, oracle.getUpdated());
+        }
+    }
+
+    @Test
+    public void should_not_wait_for_first_refresh() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        FeeRateOracle.Source source = chain -> {
+            fetching.countDown();
+            done.await();
+            return new BlockchainFee(new BigDecimal("40"), new BigDecimal("30"), new BigDecimal("20"), 1L, null);
+        };
+
+        try (FeeRateOracle oracle = new FeeRateOracle(Currency.BTC, source, 3_600_000)) {
+            assertTrue(fetching.await(5, TimeUnit.SECONDS));
+
+            assertEquals(20, oracle.getFeeRate(FeeRateOracle.Urgency.MEDIUM));
+            assertEquals(0, oracle.getUpdated());
+        } finally {
+            done.countDown();
+        }
+    }
+
+    @Test
+    public void should_not_go_below_min_relay_fee_of_litecoin() {
+        FeeRateOracle.Source source = chain -> new BlockchainFee(new BigDecimal("3"), new BigDecimal("2"), new BigDecimal("1"), 1L, null);
+
+        try (FeeRateOracle oracle = new FeeRateOracle(Currency.LTC, source, 3_600_000)) {
+            oracle.refresh();
+
+            assertEquals(FeeRateOracle.LTC_MIN_FEE_RATE, oracle.getFeeRate(FeeRateOracle.Urgency.FAST));
+            assertEquals(FeeRateOracle.LTC_MIN_FEE_RATE, oracle.getFeeRate(FeeRateOracle.Urgency.SLOW));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package io.tatum.transaction.utxo;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class OutputValueCacheTest {
+
+    private final List<String> loaded = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void should_load_each_transaction_once() throws Exception {
+        OutputValueCache cache = new OutputValueCache(this::load, 10);
+
+        assertArrayEquals(new long[]{1_000, 1_002, 2_001}, cache.get(new String[]{"a", "a", "b"}, new long[]{0, 2, 1}));
+        assertArrayEquals(new long[]{2_000}, cache.get(new String[]{"b"}, new long[]{0}));
+        assertEquals(2, loaded.size());
+    }
+
+    @Test
+    public void should_return_null_for_missing_output() throws Exception {
+        OutputValueCache cache = new OutputValueCache(this::load, 10);
+
+        assertNull(cache.get(new String[]{"a", "missing"}, new long[]{0, 0}));
+        assertNull(cache.get(new String[]{"a"}, new long[]{5}));
+    }
+
+    @Test
+    public void should_evict_least_recently_used() throws Exception {
+        OutputValueCache cache = new OutputValueCache(this::load, 2);
+        cache.get(new String[]{"a"}, new long[]{0});
+        cache.get(new String[]{"b"}, new long[]{0});
+        cache.get(new String[]{"a"}, new long[]{0});
+        cache.get(new String[]{"c"}, new long[]{0});
+        cache.get(new String[]{"a"}, new long[]{0});
+
+        assertEquals(2, cache.size());
+        assertEquals(List.of("a", "b", "c"), loaded);
+    }
+
+    private long[] load(String txHash) {
+        if (txHash.equals("missing")) {
+            return null;
+        }
+        loaded.add(txHash);
+        long base = (txHash.charAt(0) - 'a' + 1) * 1_000L;
+        return new long[]{base, base + 1, base + 2};
+    }
+}
@@ -0,0 +1,104 @@
+package io.tatum.transaction.utxo;
+
+import io.tatum.transaction.bitcoin.TransactionBuilder;
+import org.bitcoinj.core.ECKey;
+import org.bitcoinj.core.LegacyAddress;
+import org.bitcoinj.core.SegwitAddress;
+import org.bitcoinj.core.Sha256Hash;
+import org.bitcoinj.core.Transaction;
+import org.junit.Test;
+
+import static io.tatum.constants.Constant.BITCOIN_TESTNET;
+import static org.bitcoinj.core.Utils.HEX;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RawTransactionTest {
+
+    private final ECKey key = new ECKey();
+    private final String wif = key.getPrivateKeyAsWiF(BITCOIN_TESTNET);
+    private final String legacy = LegacyAddress.fromKey(BITCOIN_TESTNET, key).toString();
+    private final String bech32 = SegwitAddress.fromKey(BITCOIN_TESTNET, key).toBech32();
+
+    @Test
+    public void should_serialize_like_bitcoinj() {
+        String hex = signed(bech32);
+        Transaction transaction = new Transaction(BITCOIN_TESTNET, HEX.decode(hex));
+
+        assertEquals(HEX.encode(transaction.bitcoinSerialize()), hex);
+        assertTrue(transaction.hasWitnesses());
+    }
+
+    @Test
+    public void should_read_fields_lazily() {
+        for (String address : new String[]{legacy, bech32}) {
+            String hex = signed(address);
+            Transaction transaction = new Transaction(BITCOIN_TESTNET, HEX.decode(hex));
+            RawTransaction raw = RawTransaction.fromHex(hex);
+
+            assertEquals(transaction.hasWitnesses(), raw.hasWitness());
+            assertEquals(transaction.getTxId().toString(), raw.getTxId());
+            assertEquals(transaction.getVersion(), raw.getVersion());
+            assertEquals(transaction.getLockTime(), raw.getLockTime());
+            assertEquals(2, raw.getInputCount());
+            for (int i = 0; i < raw.getInputCount(); i++) {
+                assertEquals(transaction.getInput(i).getOutpoint().getHash(), Sha256Hash.wrap(raw.getInputHash(i)));
+                assertEquals(transaction.getInput(i).getOutpoint().getIndex(), raw.getInputIndex(i));
+                assertArrayEquals(transaction.getInput(i).getScriptBytes(), raw.getInputScript(i));
+                assertEquals(transaction.getInput(i).getSequenceNumber(), raw.getInputSequence(i));
+            }
+            assertEquals(2, raw.getOutputCount());
+            for (int i = 0; i < raw.getOutputCount(); i++) {
+                assertEquals(transaction.getOutput(i).getValue().value, raw.getOutputValue(i));
+                assertArrayEquals(transaction.getOutput(i).getScriptBytes(), raw.getOutputScript(i));
+            }
+        }
+    }
+
+    @Test
+    public void should_rebuild_from_raw_transaction() {
+        TransactionBuilder unsigned = new TransactionBuilder(BITCOIN_TESTNET);
+        unsigned.addOutput(legacy, 50_000L);
+        unsigned.addInput(Sha256Hash.of(new byte[]{1}).toString(), 3, wif);
+        String hex = unsigned.toHex();
+
+        TransactionBuilder builder = new TransactionBuilder(BITCOIN_TESTNET);
+        builder.fromRawTransaction(RawTransaction.fromHex(hex), new String[]{wif});
+        Transaction signed = new Transaction(BITCOIN_TESTNET, HEX.decode(builder.build().toHex()));
+
+        assertEquals(Sha256Hash.of(new byte[]{1}), signed.getInput(0).getOutpoint().getHash());
+        assertEquals(3, signed.getInput(0).getOutpoint().getIndex());
+        assertFalse(signed.getInput(0).getScriptSig().getChunks().isEmpty());
+        assertEquals(50_000, signed.getOutput(0).getValue().value);
+    }
+
+    @Test
+    public void should_hex_encode_in_place_past_initial_capacity() {
+        RawTransactionWriter writer = RawTransactionWriter.get();
+        byte[] data = new byte[3000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        writer.bytes(data);
+
+        assertEquals(HEX.encode(data), writer.toHex());
+        assertEquals(0, writer.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void should_reject_truncated_transaction() {
+        String hex = signed(legacy);
+        RawTransaction.fromHex(hex.substring(0, hex.length() - 10));
+    }
+
+    private String signed(String address) {
+        TransactionBuilder builder = new TransactionBuilder(BITCOIN_TESTNET);
+        builder.addOutput(legacy, 50_000L);
+        builder.addOutput(bech32, 40_000L);
+        builder.addInput(new Utxo(Sha256Hash.of(new byte[]{1}).toString(), 0, address, 60_000, 1), wif);
+        builder.addInput(new Utxo(Sha256Hash.of(new byte[]{2}).toString(), 1, address, 60_000, 1), wif);
+        return builder.build().toHex();
+    }
+}
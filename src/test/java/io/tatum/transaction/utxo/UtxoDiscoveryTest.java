@@ -0,0 +1,84 @@
+package io.tatum.transaction.utxo;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class UtxoDiscoveryTest {
+
+    @Test
+    public void should_return_unspent_outputs_in_deterministic_order() throws Exception {
+        Map<String, List<UtxoTransaction>> histories = Map.of(
+                "A", List.of(
+                        new UtxoTransaction("b", -1, List.of(), List.of(new Utxo("b", 0, "A", 10, -1), new Utxo("b", 1, "X", 5, -1))),
+                        new UtxoTransaction("a", -1, List.of("b:0"), List.of(new Utxo("a", 1, "A", 20, -1), new Utxo("a", 0, "A", 30, -1)))),
+                "B", List.of(
+                        new UtxoTransaction("c", -1, List.of(), List.of(new Utxo("c", 0, "B", 40, -1), new Utxo("c", 1, "B", 50, -1)))));
+        Set<String> spentOnChain = Set.of("c:1");
+
+        UtxoSource source = new UtxoSource() {
+            @Override
+            public long currentHeight() {
+                return 0;
+            }
+
+            @Override
+            public List<UtxoTransaction> block(long height) {
+                return List.of();
+            }
+
+            @Override
+            public List<UtxoTransaction> history(String address) {
+                return histories.get(address);
+            }
+
+            @Override
+            public boolean isUnspent(String txHash, long index) {
+                return !spentOnChain.contains(Utxo.outpoint(txHash, index));
+            }
+        };
+
+        try (UtxoDiscovery discovery = new UtxoDiscovery(source, 4)) {
+            List<String> result = discovery.discover(List.of("B", "A")).stream().map(Utxo::outpoint).collect(Collectors.toList());
+            assertEquals(List.of("c:0", "a:0", "a:1"), result);
+        }
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void should_fail_when_spent_check_fails() throws Exception {
+        UtxoSource source = new UtxoSource() {
+            @Override
+            public long currentHeight() {
+                return 0;
+            }
+
+            @Override
+            public List<UtxoTransaction> block(long height) {
+                return List.of();
+            }
+
+            @Override
+            public List<UtxoTransaction> history(String address) {
+                return List.of(new UtxoTransaction("a", -1, List.of(), List.of(new Utxo("a", 0, "A", 10, -1), new Utxo("a", 1, "A", 20, -1))));
+            }
+
+            @Override
+            public boolean isUnspent(String txHash, long index) throws ExecutionException {
+                if (index == 1) {
+                    throw new ExecutionException(new IllegalStateException("Request failed with status 429"));
+                }
+                return true;
+            }
+        };
+
+        try (UtxoDiscovery discovery = new UtxoDiscovery(source, 4)) {
+            discovery.discover(List.of("A"));
+        }
+    }
+}
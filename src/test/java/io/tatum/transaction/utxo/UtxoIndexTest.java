@@ -0,0 +1,108 @@
+package io.tatum.transaction.utxo;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.tatum.constants.Constant.BITCOIN_TESTNET;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UtxoIndexTest {
+
+    private static final String ADDRESS = "mjJotvHmzEuyXZJGJXXknS6N3PWQnw6jf5";
+
+    private final Map<Long, List<UtxoTransaction>> blocks = new HashMap<>();
+    private final List<UtxoTransaction> history = new ArrayList<>();
+    private long tip = 100;
+    private int historyCalls;
+
+    private final UtxoSource source = new UtxoSource() {
+        @Override
+        public long currentHeight() {
+            return tip;
+        }
+
+        @Override
+        public List<UtxoTransaction> block(long height) {
+            return blocks.getOrDefault(height, List.of());
+        }
+
+        @Override
+        public List<UtxoTransaction> history(String address) {
+            historyCalls++;
+            return history;
+        }
+
+        @Override
+        public boolean isUnspent(String txHash, long index) {
+            return true;
+        }
+    };
+
+    @Test
+    public void should_seed_unspent_outputs_from_history() throws Exception {
+        history.add(tx("a", List.of(), out("a", 0, 1000), out("a", 1, 2000)));
+        history.add(tx("b", List.of("a:0"), out("b", 0, 500)));
+
+        UtxoIndex index = new UtxoIndex(source, BITCOIN_TESTNET);
+        index.register(ADDRESS);
+        index.register(ADDRESS);
+
+        assertEquals(1, historyCalls);
+        assertEquals(2500, index.balance(ADDRESS));
+        assertEquals(2, index.spendable(List.of(ADDRESS)).size());
+    }
+
+    @Test
+    public void should_apply_new_blocks_only() throws Exception {
+        history.add(tx("a", List.of(), out("a", 0, 1000)));
+        UtxoIndex index = new UtxoIndex(source, BITCOIN_TESTNET);
+        index.register(ADDRESS);
+
+        blocks.put(101L, List.of(tx("c", List.of("a:0"), out("c", 0, 900))));
+        blocks.put(102L, List.of(tx("d", List.of(), out("d", 0, 100))));
+        tip = 102;
+
+        assertEquals(102, index.sync());
+        assertEquals(1000, index.balance(ADDRESS));
+        assertEquals(1, historyCalls);
+    }
+
+    @Test
+    public void should_not_hand_out_reserved_outputs() throws Exception {
+        history.add(tx("a", List.of(), out("a", 0, 1000), out("a", 1, 2000)));
+        UtxoIndex index = new UtxoIndex(source, BITCOIN_TESTNET);
+        index.register(ADDRESS);
+
+        List<Utxo> first = index.spendable(List.of(ADDRESS)).subList(0, 1);
+        assertTrue(index.reserve(first));
+        assertFalse(index.reserve(first));
+        assertEquals(1, index.spendable(List.of(ADDRESS)).size());
+
+        index.release(List.of(first.get(0).outpoint()));
+        assertEquals(2, index.spendable(List.of(ADDRESS)).size());
+    }
+
+    @Test
+    public void should_expire_reservations() throws Exception {
+        history.add(tx("a", List.of(), out("a", 0, 1000)));
+        UtxoIndex index = new UtxoIndex(source, BITCOIN_TESTNET, -1);
+        index.register(ADDRESS);
+
+        assertTrue(index.reserve(index.spendable(List.of(ADDRESS))));
+        assertEquals(1, index.spendable(List.of(ADDRESS)).size());
+    }
+
+    private static Utxo out(String hash, long index, long value) {
+        return new Utxo(hash, index, ADDRESS, value, -1);
+    }
+
+    private static UtxoTransaction tx(String hash, List<String> spent, Utxo... outputs) {
+        return new UtxoTransaction(hash, -1, spent, List.of(outputs));
+    }
+}